@@ -0,0 +1,119 @@
+/**
+ * @class	anibal.ingenieroenfurecido.utilidades.OperacionesSIMD
+ * @brief	Implementación con instrucciones SIMD de las operaciones en bloque de BufferVectores.
+ * @author	Aníbal García García
+ * @date	17/10/2026
+ * @see		OperacionesVectores
+ * @see		OperacionesEscalares
+ * @note	Utiliza la API Vector de Java (jdk.incubator.vector), que no existe en Android, por lo que está en src-jvm y solo se compila para la
+				máquina virtual de escritorio: javac --add-modules jdk.incubator.vector, y java --add-modules jdk.incubator.vector al ejecutar.
+				BufferVectores la carga por su nombre al arrancar y, si no está o la máquina no tiene SIMD, utiliza OperacionesEscalares.
+ * @note	Las operaciones coordenada a coordenada (sumar, restar, trasladar y multiplicar) recorren el array con vectores del tamaño preferido
+				de la máquina (8 floats con AVX2, 16 con AVX-512); el resto del rango que no llena un vector SIMD se hace con la implementación escalar.
+ * @note	Las que combinan las coordenadas de cada vector (normalizar, renormalizar, módulo, productos y rotaciones) se heredan de OperacionesEscalares:
+				con las x, y y z seguidas hay que separarlas antes de operar, y en el JDK 17 tanto los gather de paso 3 como los rearrange o una copia
+				a arrays separados cuestan más que lo que se gana (entre 2 y 10 veces más lentas que el bucle escalar).
+ * @note	Las operaciones se hacen en el mismo orden que en OperacionesEscalares, por lo que los resultados son idénticos.
+ * @note	Copyright 2014 Aníbal García García <anibal_garcia_garcia@outlook.com>
+ * @note	This program is free software: you can redistribute it and/or modify
+			it under the terms of the GNU General Public License as published by
+			the Free Software Foundation, either version 3 of the License, or
+			(at your option) any later version.
+ * @note	This program is distributed in the hope that it will be useful,
+			but WITHOUT ANY WARRANTY; without even the implied warranty of
+			MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+			GNU General Public License for more details.
+ * @note	You should have received a copy of the GNU General Public License
+			along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package utilidades;
+
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorSpecies;
+
+
+final class OperacionesSIMD extends OperacionesEscalares {
+
+	/// Tamaño de los vectores SIMD.
+	private static final VectorSpecies <Float> especie = FloatVector.SPECIES_PREFERRED;
+
+	/// Número de floats de cada vector SIMD.
+	private static final int longitud = especie.length();
+
+
+
+	/**
+	 * @brief	Constructor.
+	 * @note	Lo llama BufferVectores por reflexión; falla si la máquina no tiene SIMD para que se utilice la implementación escalar.
+	 */
+
+	OperacionesSIMD(){
+		if (longitud < 4)
+			throw new UnsupportedOperationException("Vectores SIMD de " + longitud + " floats: no compensa.");
+	}
+
+
+	@Override
+	public void sumar (float[] datos, float[] otros, int desde, int hasta){
+		int i = desde;
+
+
+		for (int fin = desde + especie.loopBound(hasta - desde); i < fin; i += longitud)
+			FloatVector.fromArray(especie, datos, i).add(FloatVector.fromArray(especie, otros, i)).intoArray(datos, i);
+
+		super.sumar(datos, otros, i, hasta);
+	}
+
+
+	@Override
+	public void restar (float[] datos, float[] otros, int desde, int hasta){
+		int i = desde;
+
+
+		for (int fin = desde + especie.loopBound(hasta - desde); i < fin; i += longitud)
+			FloatVector.fromArray(especie, datos, i).sub(FloatVector.fromArray(especie, otros, i)).intoArray(datos, i);
+
+		super.restar(datos, otros, i, hasta);
+	}
+
+
+	@Override
+	public void trasladar (float[] datos, float x, float y, float z, int desde, int hasta){
+		float[] patron = new float[longitud * 3];  // x, y, z repetidos: 3 vectores SIMD que empiezan en x
+		int i = desde;
+
+
+		for (int j = 0; j < patron.length; j += 3){
+			patron[j] = x;
+			patron[j + 1] = y;
+			patron[j + 2] = z;
+		}
+
+		FloatVector t0 = FloatVector.fromArray(especie, patron, 0);
+		FloatVector t1 = FloatVector.fromArray(especie, patron, longitud);
+		FloatVector t2 = FloatVector.fromArray(especie, patron, 2 * longitud);
+
+		for (int fin = hasta - 3 * longitud; i <= fin; i += 3 * longitud){
+			FloatVector.fromArray(especie, datos, i).add(t0).intoArray(datos, i);
+			FloatVector.fromArray(especie, datos, i + longitud).add(t1).intoArray(datos, i + longitud);
+			FloatVector.fromArray(especie, datos, i + 2 * longitud).add(t2).intoArray(datos, i + 2 * longitud);
+		}
+
+		super.trasladar(datos, x, y, z, i, hasta);
+	}
+
+
+	@Override
+	public void multiplicar (float[] datos, float factor, int desde, int hasta){
+		int i = desde;
+
+
+		for (int fin = desde + especie.loopBound(hasta - desde); i < fin; i += longitud)
+			FloatVector.fromArray(especie, datos, i).mul(factor).intoArray(datos, i);
+
+		super.multiplicar(datos, factor, i, hasta);
+	}
+
+}
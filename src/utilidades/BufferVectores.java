@@ -0,0 +1,447 @@
+/**
+ * @class	anibal.ingenieroenfurecido.utilidades.BufferVectores
+ * @brief	Guarda muchos vectores de 3 elementos seguidos en un array de floats.
+ * @author	Aníbal García García
+ * @date	17/10/2026
+ * @see		Vector
+ * @see		Vertice
+ * @note	Las coordenadas x, y y z de cada vector van seguidas (x0, y0, z0, x1, y1, z1...), como los vértices que devuelve LectorPLY.leer(),
+				por lo que se puede envolver ese array sin copiarlo y transformar el modelo entero sin crear un Vector por vértice.
+ * @note	Las operaciones trabajan sobre un rango de vectores (inicio y número), con bucles sobre el array sin crear objetos,
+				y hacen lo mismo que los métodos del mismo nombre de Vector aplicados a cada vector del rango.
+ * @note	En la máquina virtual de escritorio las operaciones coordenada a coordenada utilizan instrucciones SIMD (API Vector de Java) si se ha compilado src-jvm
+				y se ejecuta con --add-modules jdk.incubator.vector; si no, y siempre en Android, utilizan bucles escalares. Los resultados son los mismos.
+ * @note	No es seguro entre hilos, pero varios hilos pueden operar a la vez sobre rangos distintos.
+ * @note	Copyright 2014 Aníbal García García <anibal_garcia_garcia@outlook.com>
+ * @note	This program is free software: you can redistribute it and/or modify
+			it under the terms of the GNU General Public License as published by
+			the Free Software Foundation, either version 3 of the License, or
+			(at your option) any later version.
+ * @note	This program is distributed in the hope that it will be useful,
+			but WITHOUT ANY WARRANTY; without even the implied warranty of
+			MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+			GNU General Public License for more details.
+ * @note	You should have received a copy of the GNU General Public License
+			along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package utilidades;
+
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+
+public final class BufferVectores {
+
+	/// Tag para el log.
+	private static final String TAG = "BufferVectores";
+
+	/// Nombre de la implementación con instrucciones SIMD (en src-jvm), que se carga si está disponible.
+	private static final String claseSIMD = "utilidades.OperacionesSIMD";
+
+	/// Propiedad del sistema que, con el valor false, obliga a utilizar la implementación escalar.
+	public static final String propiedadSIMD = "utilidades.simd";
+
+	/// Implementación de las operaciones, elegida al cargar la clase.
+	private static final OperacionesVectores operaciones = cargarOperaciones();
+
+	/// Coordenadas x, y y z de cada vector, seguidas.
+	private final float[] datos;
+
+	/// Número de vectores.
+	private final int numero;
+
+
+
+	/**
+	 * @brief	Constructor.
+	 * @param	in	numero Número de vectores, que tendrán el valor 0.
+	 * @see		BufferVectores(float[])
+	 */
+
+	public BufferVectores (int numero){
+		this(new float[numero * 3]);  // BufferVectores(float[])
+	}
+
+
+	/**
+	 * @brief	Constructor.
+	 * @param	in	datos Coordenadas x, y y z de cada vector, seguidas (por ejemplo, los vértices de LectorPLY.leer()).
+	 * @note	El array no se copia: las operaciones lo cambian directamente.
+	 * @see		BufferVectores(int)
+	 */
+
+	public BufferVectores (float[] datos){
+		if (datos.length % 3 != 0)
+			throw new IllegalArgumentException("El tamaño del array (" + datos.length + ") no es múltiplo de 3.");
+
+		this.datos = datos;
+		numero = datos.length / 3;
+	}
+
+
+	/**
+	 * @brief	Indica si las operaciones se hacen con instrucciones SIMD.
+	 * @return	true si se utiliza la API Vector de Java; false si se utiliza la implementación escalar.
+	 */
+
+	public static boolean simd(){
+		return operaciones.getClass() != OperacionesEscalares.class;
+	}
+
+
+	/**
+	 * @brief	Suma a cada vector de un rango el vector de la misma posición de otro buffer.
+	 * @param	in	buffer Buffer con los vectores a sumar (puede ser este mismo).
+	 * @param	in	inicio 1º vector del rango.
+	 * @param	in	numero Número de vectores del rango.
+	 * @see		Vector.sumar(Vector)
+	 */
+
+	public void sumar (BufferVectores buffer, int inicio, int numero){
+		comprobar(buffer, inicio, numero);
+		operaciones.sumar(datos, buffer.datos, inicio * 3, (inicio + numero) * 3);
+	}
+
+
+	/**
+	 * @brief	Suma a cada vector de un rango un mismo vector.
+	 * @param	in	vector Vector a sumar (por ejemplo, una traslación).
+	 * @param	in	inicio 1º vector del rango.
+	 * @param	in	numero Número de vectores del rango.
+	 * @see		Vector.sumar(Vector)
+	 */
+
+	public void sumar (Vector vector, int inicio, int numero){
+		comprobar(this, inicio, numero);
+		operaciones.trasladar(datos, vector.x(), vector.y(), vector.z(), inicio * 3, (inicio + numero) * 3);
+	}
+
+
+	/**
+	 * @brief	Resta a cada vector de un rango el vector de la misma posición de otro buffer.
+	 * @param	in	buffer Buffer con los vectores a restar (puede ser este mismo).
+	 * @param	in	inicio 1º vector del rango.
+	 * @param	in	numero Número de vectores del rango.
+	 * @see		Vector.restar(Vector)
+	 */
+
+	public void restar (BufferVectores buffer, int inicio, int numero){
+		comprobar(buffer, inicio, numero);
+		operaciones.restar(datos, buffer.datos, inicio * 3, (inicio + numero) * 3);
+	}
+
+
+	/**
+	 * @brief	Resta a cada vector de un rango un mismo vector.
+	 * @param	in	vector Vector a restar (por ejemplo, el centro del modelo).
+	 * @param	in	inicio 1º vector del rango.
+	 * @param	in	numero Número de vectores del rango.
+	 * @see		Vector.restar(Vector)
+	 */
+
+	public void restar (Vector vector, int inicio, int numero){
+		comprobar(this, inicio, numero);
+		operaciones.trasladar(datos, - vector.x(), - vector.y(), - vector.z(), inicio * 3, (inicio + numero) * 3);  // Restar es sumar el opuesto, con el mismo redondeo
+	}
+
+
+	/**
+	 * @brief	Multiplica cada vector de un rango por un número.
+	 * @param	in	numero Número por el cual multiplicar.
+	 * @param	in	inicio 1º vector del rango.
+	 * @param	in	cantidad Número de vectores del rango.
+	 * @see		Vector.multiplicar(double)
+	 */
+
+	public void multiplicar (double numero, int inicio, int cantidad){
+		comprobar(this, inicio, cantidad);
+		operaciones.multiplicar(datos, (float) numero, inicio * 3, (inicio + cantidad) * 3);
+	}
+
+
+	/**
+	 * @brief	Normaliza cada vector de un rango.
+	 * @param	in	inicio 1º vector del rango.
+	 * @param	in	numero Número de vectores del rango.
+	 * @note	Los vectores de módulo 0 se quedan igual, en vez de convertirse en NaN.
+	 * @see		Vector.normalizarSeguro()
+	 * @see		renormalizar(int, int)
+	 */
+
+	public void normalizar (int inicio, int numero){
+		comprobar(this, inicio, numero);
+		operaciones.normalizar(datos, inicio * 3, (inicio + numero) * 3);
+	}
+
+
+	/**
+	 * @brief	Vuelve a normalizar cada vector de un rango de vectores casi unitarios, de forma aproximada.
+	 * @param	in	inicio 1º vector del rango.
+	 * @param	in	numero Número de vectores del rango.
+	 * @note	Para normales que se han desviado poco de módulo 1 (al rotarlas o interpolarlas muchas veces): aproxima 1 / sqrt(m) con un paso
+				de Newton-Raphson desde 1, (3 - m) / 2 siendo m el cuadrado del módulo, sin raíces ni divisiones.
+	 * @note	El error relativo del módulo resultante es 3 / 8 * (m - 1)^2: menor que 0.00004 si el módulo estaba entre 0.995 y 1.005.
+				Con vectores lejos de módulo 1 el resultado no es unitario; para ellos, utilizar normalizar().
+	 */
+
+	public void renormalizar (int inicio, int numero){
+		comprobar(this, inicio, numero);
+		operaciones.renormalizar(datos, inicio * 3, (inicio + numero) * 3);
+	}
+
+
+	/**
+	 * @brief	Calcula el módulo de cada vector de un rango.
+	 * @param	in	inicio 1º vector del rango.
+	 * @param	in	numero Número de vectores del rango.
+	 * @param	out	modulos Array donde se guarda el módulo de cada vector, desde la posición 0.
+	 * @see		Vector.modulo()
+	 */
+
+	public void modulo (int inicio, int numero, float[] modulos){
+		comprobar(this, inicio, numero);
+		operaciones.modulo(datos, inicio * 3, (inicio + numero) * 3, modulos, 0);
+	}
+
+
+	/**
+	 * @brief	Calcula el producto escalar de cada vector de un rango con el vector de la misma posición de otro buffer.
+	 * @param	in	buffer Buffer con los otros vectores (puede ser este mismo).
+	 * @param	in	inicio 1º vector del rango.
+	 * @param	in	numero Número de vectores del rango.
+	 * @param	out	productos Array donde se guarda cada producto escalar, desde la posición 0.
+	 */
+
+	public void productoEscalar (BufferVectores buffer, int inicio, int numero, float[] productos){
+		comprobar(buffer, inicio, numero);
+		operaciones.productoEscalar(datos, buffer.datos, inicio * 3, (inicio + numero) * 3, productos, 0);
+	}
+
+
+	/**
+	 * @brief	Calcula el producto vectorial de cada vector de un rango con el vector de la misma posición de otro buffer, almacenando el resultado en este buffer.
+	 * @param	in	buffer Buffer con los otros vectores.
+	 * @param	in	inicio 1º vector del rango.
+	 * @param	in	numero Número de vectores del rango.
+	 * @see		Vector.productoVectorial(Vector)
+	 */
+
+	public void productoVectorial (BufferVectores buffer, int inicio, int numero){
+		comprobar(buffer, inicio, numero);
+		operaciones.productoVectorial(datos, buffer.datos, inicio * 3, (inicio + numero) * 3);
+	}
+
+
+	/**
+	 * @brief	Rota cada vector de un rango en el eje X.
+	 * @param	in	angulo Ángulo a rotar en grados sexagesimales.
+	 * @param	in	inicio 1º vector del rango.
+	 * @param	in	numero Número de vectores del rango.
+	 * @note	El seno y el coseno se calculan una sola vez para todo el rango.
+	 * @see		Vector.rotarEjeX(double)
+	 */
+
+	public void rotarEjeX (double angulo, int inicio, int numero){
+		comprobar(this, inicio, numero);
+
+		double radianes = Math.toRadians(angulo);
+
+		// [x, y * cos(angulo) - z * sin(angulo), y * sin(angulo) + z * cos(angulo)]
+		operaciones.rotar(datos, 1, 2, (float) Math.sin(radianes), (float) Math.cos(radianes), inicio * 3, (inicio + numero) * 3);
+	}
+
+
+	/**
+	 * @brief	Rota cada vector de un rango en el eje Y.
+	 * @param	in	angulo Ángulo a rotar en grados sexagesimales.
+	 * @param	in	inicio 1º vector del rango.
+	 * @param	in	numero Número de vectores del rango.
+	 * @note	El seno y el coseno se calculan una sola vez para todo el rango.
+	 * @see		Vector.rotarEjeY(double)
+	 */
+
+	public void rotarEjeY (double angulo, int inicio, int numero){
+		comprobar(this, inicio, numero);
+
+		double radianes = Math.toRadians(angulo);
+
+		// [x * cos(angulo) + z * sin(angulo), y, -x * sin(angulo) + z * cos(angulo)]
+		operaciones.rotar(datos, 2, 0, (float) Math.sin(radianes), (float) Math.cos(radianes), inicio * 3, (inicio + numero) * 3);
+	}
+
+
+	/**
+	 * @brief	Rota cada vector de un rango en el eje Z.
+	 * @param	in	angulo Ángulo a rotar en grados sexagesimales.
+	 * @param	in	inicio 1º vector del rango.
+	 * @param	in	numero Número de vectores del rango.
+	 * @note	El seno y el coseno se calculan una sola vez para todo el rango.
+	 * @see		Vector.rotarEjeZ(double)
+	 */
+
+	public void rotarEjeZ (double angulo, int inicio, int numero){
+		comprobar(this, inicio, numero);
+
+		double radianes = Math.toRadians(angulo);
+
+		// [x * cos(angulo) - y * sin(angulo), x * sin(angulo) + y * cos(angulo), z]
+		operaciones.rotar(datos, 0, 1, (float) Math.sin(radianes), (float) Math.cos(radianes), inicio * 3, (inicio + numero) * 3);
+	}
+
+
+	/**
+	 * @brief	Aplica una matriz a cada vector de un rango.
+	 * @param	in	matriz Matriz de rotación o escala.
+	 * @param	in	inicio 1º vector del rango.
+	 * @param	in	numero Número de vectores del rango.
+	 * @note	Para girar muchos vectores con el mismo ángulo en varios ejes, componer las rotaciones en una matriz y aplicarla una sola vez.
+	 * @see		Matriz3.aplicar(float[], int, int)
+	 */
+
+	public void transformar (Matriz3 matriz, int inicio, int numero){
+		comprobar(this, inicio, numero);
+		matriz.aplicar(datos, inicio, numero);
+	}
+
+
+	/**
+	 * @brief	Aplica una matriz a cada vector de un rango, como si fueran vértices (con la traslación).
+	 * @param	in	matriz Matriz de transformación.
+	 * @param	in	inicio 1º vector del rango.
+	 * @param	in	numero Número de vectores del rango.
+	 * @see		Matriz4.aplicar(float[], int, int)
+	 */
+
+	public void transformar (Matriz4 matriz, int inicio, int numero){
+		comprobar(this, inicio, numero);
+		matriz.aplicar(datos, inicio, numero);
+	}
+
+
+	/**
+	 * @brief	Rota cada vector de un rango con un cuaternión.
+	 * @param	in	cuaternion Rotación.
+	 * @param	in	inicio 1º vector del rango.
+	 * @param	in	numero Número de vectores del rango.
+	 * @see		Cuaternion.aplicar(float[], int, int)
+	 */
+
+	public void transformar (Cuaternion cuaternion, int inicio, int numero){
+		comprobar(this, inicio, numero);
+		cuaternion.aplicar(datos, inicio, numero);
+	}
+
+
+	/**
+	 * @brief	Introduce un vector del buffer.
+	 * @param	in	indice Posición del vector.
+	 * @param	in	vector Nuevo vector.
+	 */
+
+	public void vector (int indice, Vector vector){
+		datos[indice * 3] = vector.x();
+		datos[indice * 3 + 1] = vector.y();
+		datos[indice * 3 + 2] = vector.z();
+	}
+
+
+	/**
+	 * @brief	Devuelve un vector del buffer.
+	 * @param	in	indice Posición del vector.
+	 * @return	Un vector nuevo con las coordenadas del vector del buffer.
+	 */
+
+	public Vector vector (int indice){
+		return new Vector(datos[indice * 3], datos[indice * 3 + 1], datos[indice * 3 + 2]);
+	}
+
+
+	/**
+	 * @brief	Introduce un vértice en el buffer.
+	 * @param	in	indice Posición del vértice.
+	 * @param	in	vertice Nuevo vértice.
+	 */
+
+	public void vertice (int indice, Vertice vertice){
+		datos[indice * 3] = vertice.x();
+		datos[indice * 3 + 1] = vertice.y();
+		datos[indice * 3 + 2] = vertice.z();
+	}
+
+
+	/**
+	 * @brief	Devuelve un vértice del buffer.
+	 * @param	in	indice Posición del vértice.
+	 * @return	Un vértice nuevo con las coordenadas del vector del buffer.
+	 */
+
+	public Vertice vertice (int indice){
+		return new Vertice(datos[indice * 3], datos[indice * 3 + 1], datos[indice * 3 + 2]);
+	}
+
+
+	/**
+	 * @brief	Devuelve las coordenadas de los vectores.
+	 * @return	El array con las coordenadas x, y y z de cada vector, seguidas (no es una copia).
+	 */
+
+	public float[] datos(){
+		return datos;
+	}
+
+
+	/**
+	 * @brief	Devuelve el número de vectores.
+	 * @return	El número de vectores.
+	 */
+
+	public int numero(){
+		return numero;
+	}
+
+
+	/**
+	 * @brief	Elige la implementación de las operaciones.
+	 * @return	OperacionesSIMD si está compilada, la máquina virtual tiene el módulo jdk.incubator.vector y la máquina tiene SIMD;
+				OperacionesEscalares en caso contrario o si la propiedad del sistema "utilidades.simd" vale false.
+	 */
+
+	private static OperacionesVectores cargarOperaciones(){
+		if (!Boolean.parseBoolean(System.getProperty(propiedadSIMD, "true")))
+			return new OperacionesEscalares();
+
+		try{
+			OperacionesVectores simd = (OperacionesVectores) Class.forName(claseSIMD).getDeclaredConstructor().newInstance();
+
+			Logger.getLogger(TAG).log(Level.FINE, "Operaciones en bloque con instrucciones SIMD");
+
+
+			return simd;
+		}
+
+		catch (ReflectiveOperationException | LinkageError | RuntimeException e){  // No está compilada, falta el módulo o no hay SIMD
+			Logger.getLogger(TAG).log(Level.FINE, "Operaciones en bloque escalares: " + e);
+
+
+			return new OperacionesEscalares();
+		}
+	}
+
+
+	/**
+	 * @brief	Comprueba que un rango de vectores está dentro de este buffer y de otro.
+	 * @param	in	buffer Otro buffer que se opera con este.
+	 * @param	in	inicio 1º vector del rango.
+	 * @param	in	numero Número de vectores del rango.
+	 * @note	Comprobarlo una vez antes del bucle evita que falle a mitad, con el rango cambiado solo en parte.
+	 */
+
+	private void comprobar (BufferVectores buffer, int inicio, int numero){
+		if (inicio < 0  ||  numero < 0  ||  inicio + numero > Math.min(this.numero, buffer.numero))
+			throw new IndexOutOfBoundsException("Rango de vectores [" + inicio + ", " + (inicio + numero) + ") fuera del buffer de "
+					+ Math.min(this.numero, buffer.numero) + " vectores.");
+	}
+
+}
@@ -0,0 +1,545 @@
+/**
+ * @class	anibal.ingenieroenfurecido.utilidades.CachePLY
+ * @brief	Caché binaria de los modelos leídos de ficheros ply.
+ * @author	Aníbal García García
+ * @date	17/10/2026
+ * @see		LectorPLY
+ * @see		OpcionesPLY
+ * @note	Cada modelo se guarda en un fichero ".plyc" con una cabecera (identificador "PLYC", versión, tamaño, fecha y ruta resumida del fichero ply,
+				firma de las opciones de lectura, CRC32 de los datos, disposición de los atributos, envolvente y comentario) seguida de los bloques
+				de vértices, normales, colores, coordenadas de textura e índices tal cual, en little endian.
+ * @note	La caché solo se utiliza si el fichero ply tiene la misma ruta, el mismo tamaño y la misma fecha que cuando se guardó, se ha leído
+				con las mismas opciones y los datos no están dañados; si no, se vuelve a leer el fichero ply y se guarda de nuevo.
+ * @note	Con buffers directos, sin buffers de destino y en un dispositivo little endian (todos los Android), los buffers del modelo
+				son vistas de la proyección en memoria del fichero, sin copiar ni convertir nada. La proyección es privada: los cambios
+				en los buffers no llegan al fichero. Si el fichero de la caché no se puede abrir para escritura (por ejemplo, si está en un
+				directorio de solo lectura o es de otro usuario), se proyecta de solo lectura y los bloques se copian, de modo que la caché
+				se sigue utilizando y los buffers del modelo se pueden modificar.
+ * @note	Copyright 2014 Aníbal García García <anibal_garcia_garcia@outlook.com>
+ * @note	This program is free software: you can redistribute it and/or modify
+			it under the terms of the GNU General Public License as published by
+			the Free Software Foundation, either version 3 of the License, or
+			(at your option) any later version.
+ * @note	This program is distributed in the hope that it will be useful,
+			but WITHOUT ANY WARRANTY; without even the implied warranty of
+			MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+			GNU General Public License for more details.
+ * @note	You should have received a copy of the GNU General Public License
+			along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package utilidades;
+
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+
+final class CachePLY {
+
+	/// Etiqueta con el nombre de la clase.
+	private static final String TAG = "CachePLY";
+
+	/// Extensión de los ficheros de la caché.
+	static final String extensionCache = ".plyc";
+
+	/// Identificador del formato.
+	private static final int identificador = 0x43594C50;  // "PLYC" en little endian
+
+	/// Versión del formato; los ficheros de otras versiones se descartan.
+	private static final int version = 3;
+
+	/// Tamaño de la cabecera sin el comentario.
+	private static final int tamanoCabecera = 104 + 4 * Envolvente.numValores;
+
+	/// Posición del CRC32 de los datos en la cabecera.
+	private static final int posicionCrc = 36;
+
+	/// Tamaño del buffer de escritura.
+	private static final int tamanoBufferEscritura = 64 * 1024;
+
+
+
+	/**
+	 * @brief	Constructor.
+	 * @note	No se instancia: todos sus métodos son estáticos.
+	 */
+
+	private CachePLY(){
+	}
+
+
+	/**
+	 * @brief	Devuelve la ruta del fichero de la caché de un fichero ply.
+	 * @param	in	fichero Ruta del fichero ply.
+	 * @param	in	opciones Opciones de lectura (directorio de la caché).
+	 * @return	"fichero.ply.plyc" junto al fichero ply o, con OpcionesPLY.directorioCache(), en ese directorio con la ruta resumida en el nombre.
+	 */
+
+	static Path ruta (Path fichero, OpcionesPLY opciones){
+		Path absoluta = fichero.toAbsolutePath();
+
+
+		if (opciones.directorioCache() == null)  // Junto al fichero ply
+			return absoluta.resolveSibling(absoluta.getFileName() + extensionCache);
+
+
+		return opciones.directorioCache().resolve(absoluta.getFileName() + "-" + Long.toHexString(huella(fichero)) + extensionCache);  // Ficheros con el mismo nombre en distintos directorios
+	}
+
+
+	/**
+	 * @brief	Resume la ruta absoluta de un fichero ply.
+	 * @param	in	fichero Ruta del fichero ply.
+	 * @return	Los 64 primeros bits del SHA-256 de la ruta absoluta.
+	 * @note	Va en el nombre del fichero de la caché y en su cabecera, con lo que una caché de otro fichero ply con el mismo nombre nunca
+				se carga, aunque coincidan los nombres de los ficheros de la caché.
+	 */
+
+	private static long huella (Path fichero){
+		byte[] ruta = fichero.toAbsolutePath().normalize().toString().getBytes(StandardCharsets.UTF_8);
+
+
+		try{
+			return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(ruta)).getLong();
+		}
+
+		catch (NoSuchAlgorithmException e){  // Todas las plataformas Java tienen SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+
+	/**
+	 * @brief	Carga un modelo de la caché.
+	 * @param	in	fichero Ruta del fichero ply.
+	 * @param	in	opciones Opciones de lectura.
+	 * @return	El modelo guardado; null si no está en la caché o la caché no es válida.
+	 * @note	Nunca lanza excepciones: una caché que no se puede leer equivale a no tenerla.
+	 */
+
+	static ModeloPLY cargar (Path fichero, OpcionesPLY opciones){
+		Path cache = ruta(fichero, opciones);
+
+
+		if (!Files.isRegularFile(cache))  // Si aún no se ha guardado
+			return null;
+
+		try{
+			ByteBuffer mapa = proyectar(cache);
+
+			if (mapa == null)
+				return descartar(cache, "tamaño incorrecto");
+
+			// Cabecera
+			if (mapa.getInt() != identificador  ||  mapa.getInt() != version)
+				return descartar(cache, "formato o versión distintos");
+
+			if (mapa.getLong() != Files.size(fichero)  ||  mapa.getLong() != Files.getLastModifiedTime(fichero).toMillis())
+				return descartar(cache, "el fichero ply ha cambiado");
+
+			if (mapa.getLong() != huella(fichero))
+				return descartar(cache, "es de otro fichero ply");
+
+			if (mapa.getInt() != firma(opciones))
+				return descartar(cache, "opciones de lectura distintas");
+
+			int crc = mapa.getInt();
+			int num_vertices = mapa.getInt(), num_caras = mapa.getInt(), vertices_por_cara = mapa.getInt();
+			int paso = mapa.getInt(), desplazamiento_normales = mapa.getInt(), desplazamiento_colores = mapa.getInt(), desplazamiento_texturas = mapa.getInt();
+			int componentes_color = mapa.getInt();
+			boolean intercalado = (mapa.getInt() != 0), largos = (mapa.getInt() != 0);
+			int num_vertices_buffer = mapa.getInt(), num_normales = mapa.getInt(), num_colores = mapa.getInt(), num_texturas = mapa.getInt();
+			int num_indices = mapa.getInt();
+			float[] valores_envolvente = new float[Envolvente.numValores];
+
+			for (int i = 0; i < valores_envolvente.length; i++)
+				valores_envolvente[i] = mapa.getFloat();
+
+			int longitud_comentario = mapa.getInt();
+			String comentario = null;
+
+			if (longitud_comentario > mapa.remaining())
+				return descartar(cache, "cabecera incorrecta");
+
+			if (longitud_comentario >= 0){  // Si el modelo tiene comentario
+				byte[] bytes = new byte[longitud_comentario];
+
+				mapa.get(bytes);
+				comentario = new String(bytes, StandardCharsets.UTF_8);
+			}
+
+			// Datos
+			int inicio = alinear(tamanoCabecera + Math.max(longitud_comentario, 0));
+			long fin = inicio + 4L * ((long) num_vertices_buffer + Math.max(num_normales, 0) + Math.max(num_colores, 0) + Math.max(num_texturas, 0)) + (long) num_indices * (largos ? 4 : 2);
+
+			if (fin != mapa.capacity())  // Fichero truncado o cabecera incorrecta
+				return descartar(cache, "tamaño incorrecto");
+
+			CRC32 crc32 = new CRC32();
+
+			mapa.position(inicio);
+			crc32.update(mapa);
+
+			if ((int) crc32.getValue() != crc)
+				return descartar(cache, "datos dañados");
+
+			// Buffers del modelo
+			boolean proyectar = !mapa.isReadOnly()  &&  opciones.directos()  &&  opciones.destinoVertices() == null  &&  opciones.destinoIndices() == null  &&  ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+
+			FloatBuffer vertices = floats(mapa, inicio, num_vertices_buffer, proyectar, opciones.directos(), opciones.destinoVertices());
+			inicio += 4 * num_vertices_buffer;
+			FloatBuffer normales = floats(mapa, inicio, num_normales, proyectar, opciones.directos(), null);
+			inicio += 4 * Math.max(num_normales, 0);
+			FloatBuffer colores = floats(mapa, inicio, num_colores, proyectar, opciones.directos(), null);
+			inicio += 4 * Math.max(num_colores, 0);
+			FloatBuffer texturas = floats(mapa, inicio, num_texturas, proyectar, opciones.directos(), null);
+			inicio += 4 * Math.max(num_texturas, 0);
+			Buffer indices = indices(mapa, inicio, num_indices, largos, proyectar, opciones);
+
+			Logger.getLogger(TAG).log(Level.INFO, "Modelo cargado de la caché " + cache);
+
+
+			return new ModeloPLY(vertices, normales, colores, texturas, intercalado, paso, desplazamiento_normales, desplazamiento_colores, desplazamiento_texturas,
+					componentes_color, indices, num_vertices, num_caras, vertices_por_cara, comentario, new Envolvente(valores_envolvente));
+		}
+
+		catch (IOException | RuntimeException e){  // Caché ilegible o cabecera incorrecta: se vuelve a leer el fichero ply
+			return descartar(cache, e.toString());
+		}
+	}
+
+
+	/**
+	 * @brief	Proyecta en memoria el fichero de la caché.
+	 * @param	in	cache Ruta del fichero de la caché.
+	 * @return	La proyección completa en little endian; null si el tamaño del fichero no es válido.
+	 * @throws	IOException Si no se puede abrir ni siquiera para lectura.
+	 * @note	La proyección es privada (se puede modificar sin cambiar el fichero) si el fichero se puede abrir para escritura, y de solo
+				lectura si no.
+	 */
+
+	private static ByteBuffer proyectar (Path cache) throws IOException{
+		FileChannel.MapMode modo = FileChannel.MapMode.PRIVATE;
+		FileChannel canal;
+
+
+		try{
+			canal = FileChannel.open(cache, StandardOpenOption.READ, StandardOpenOption.WRITE);  // La proyección privada necesita un canal de escritura, aunque no escribe en el fichero
+		}
+
+		catch (IOException | SecurityException e){  // Caché de solo lectura
+			canal = FileChannel.open(cache, StandardOpenOption.READ);
+			modo = FileChannel.MapMode.READ_ONLY;
+		}
+
+		try (FileChannel abierto = canal){
+			if (abierto.size() < tamanoCabecera  ||  abierto.size() > Integer.MAX_VALUE)
+				return null;
+
+
+			return abierto.map(modo, 0, abierto.size()).order(ByteOrder.LITTLE_ENDIAN);  // Sigue siendo válida después de cerrar el canal
+		}
+	}
+
+
+	/**
+	 * @brief	Guarda un modelo en la caché.
+	 * @param	in	fichero Ruta del fichero ply del que se ha leído el modelo.
+	 * @param	in	opciones Opciones con las que se ha leído el modelo.
+	 * @param	in	modelo Modelo leído.
+	 * @note	Se escribe en un fichero temporal que luego se renombra, de modo que nunca se carga una caché a medio escribir.
+	 * @note	Nunca lanza excepciones: si no se puede guardar (por ejemplo, por estar en un directorio de solo lectura), se avisa en el registro.
+	 */
+
+	static void guardar (Path fichero, OpcionesPLY opciones, ModeloPLY modelo){
+		Path cache = ruta(fichero, opciones);
+		Path temporal = null;
+
+
+		try{
+			Files.createDirectories(cache.getParent());
+			temporal = Files.createTempFile(cache.getParent(), cache.getFileName().toString(), ".tmp");
+
+			try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.WRITE)){
+				ByteBuffer cabecera = cabecera(fichero, opciones, modelo);
+				ByteBuffer escritura = ByteBuffer.allocate(tamanoBufferEscritura).order(ByteOrder.LITTLE_ENDIAN);
+				CRC32 crc = new CRC32();
+
+				// Datos, detrás de la cabecera
+				canal.position(cabecera.capacity());
+				escribir(canal, escritura, modelo.vertices(), crc);
+				escribir(canal, escritura, modelo.normales(), crc);
+				escribir(canal, escritura, modelo.colores(), crc);
+				escribir(canal, escritura, modelo.texturas(), crc);
+				escribir(canal, escritura, modelo.indices(), crc);
+
+				// Cabecera, con el CRC32 de los datos
+				cabecera.putInt(posicionCrc, (int) crc.getValue());
+
+				for (long posicion = 0; cabecera.hasRemaining(); )
+					posicion += canal.write(cabecera, posicion);
+			}
+
+			Files.move(temporal, cache, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+
+		catch (IOException e){  // Capturo la excepción
+			Logger.getLogger(TAG).log(Level.WARNING, "No se pudo guardar la caché " + cache + ": " + e);
+
+			try{
+				if (temporal != null)
+					Files.deleteIfExists(temporal);
+			}
+
+			catch (IOException e2){  // Capturo la excepción
+				Logger.getLogger(TAG).log(Level.WARNING, e2.toString());
+			}
+		}
+	}
+
+
+	/**
+	 * @brief	Construye la cabecera del fichero de la caché.
+	 * @param	in	fichero Ruta del fichero ply.
+	 * @param	in	opciones Opciones de lectura.
+	 * @param	in	modelo Modelo leído.
+	 * @return	La cabecera completa, con el comentario y el relleno hasta los datos, y el CRC32 a 0.
+	 * @throws	IOException Si no se puede consultar el tamaño o la fecha del fichero ply.
+	 */
+
+	private static ByteBuffer cabecera (Path fichero, OpcionesPLY opciones, ModeloPLY modelo) throws IOException{
+		byte[] comentario = (modelo.comentario() != null) ? modelo.comentario().getBytes(StandardCharsets.UTF_8) : null;
+		ByteBuffer cabecera = ByteBuffer.allocate(alinear(tamanoCabecera + ((comentario != null) ? comentario.length : 0))).order(ByteOrder.LITTLE_ENDIAN);
+
+
+		cabecera.putInt(identificador).putInt(version);
+		cabecera.putLong(Files.size(fichero)).putLong(Files.getLastModifiedTime(fichero).toMillis()).putLong(huella(fichero));
+		cabecera.putInt(firma(opciones)).putInt(0);  // El CRC32 se completa al terminar de escribir los datos
+		cabecera.putInt(modelo.numVertices()).putInt(modelo.numCaras()).putInt(modelo.verticesPorCara());
+		cabecera.putInt(modelo.paso()).putInt(modelo.desplazamientoNormales()).putInt(modelo.desplazamientoColores()).putInt(modelo.desplazamientoTexturas());
+		cabecera.putInt(modelo.componentesColor());
+		cabecera.putInt(modelo.intercalado() ? 1 : 0).putInt(modelo.indicesLargos() ? 1 : 0);
+		cabecera.putInt(numero(modelo.vertices())).putInt(numero(modelo.normales())).putInt(numero(modelo.colores())).putInt(numero(modelo.texturas()));
+		cabecera.putInt(modelo.numIndices());
+
+		for (float valor : modelo.envolvente().valores())
+			cabecera.putFloat(valor);
+
+		cabecera.putInt((comentario != null) ? comentario.length : -1);
+
+		if (comentario != null)
+			cabecera.put(comentario);
+
+		cabecera.clear();  // Toda la cabecera, con el relleno
+
+
+		return cabecera;
+	}
+
+
+	/**
+	 * @brief	Escribe un buffer del modelo en little endian.
+	 * @param	in,out	canal Canal del fichero de la caché.
+	 * @param	in,out	escritura Buffer intermedio de escritura, en little endian.
+	 * @param	in	datos FloatBuffer, ShortBuffer o IntBuffer con los datos hasta su límite; null si el modelo no lo tiene.
+	 * @param	in,out	crc CRC32 de los datos, que se actualiza con los escritos.
+	 * @throws	IOException Si no se puede escribir.
+	 */
+
+	private static void escribir (FileChannel canal, ByteBuffer escritura, Buffer datos, CRC32 crc) throws IOException{
+		if (datos == null)
+			return;
+
+		int tamano = (datos instanceof ShortBuffer) ? 2 : 4;  // Bytes por dato
+		int numero = datos.limit();
+
+
+		for (int i = 0; i < numero; ){  // Por trozos del tamaño del buffer intermedio
+			int n = Math.min(numero - i, escritura.capacity() / tamano);
+
+			escritura.clear();
+
+			if (datos instanceof FloatBuffer){
+				FloatBuffer origen = ((FloatBuffer) datos).duplicate();
+
+				origen.limit(i + n);
+				origen.position(i);
+				escritura.asFloatBuffer().put(origen);
+			}
+
+			else if (datos instanceof IntBuffer){
+				IntBuffer origen = ((IntBuffer) datos).duplicate();
+
+				origen.limit(i + n);
+				origen.position(i);
+				escritura.asIntBuffer().put(origen);
+			}
+
+			else{
+				ShortBuffer origen = ((ShortBuffer) datos).duplicate();
+
+				origen.limit(i + n);
+				origen.position(i);
+				escritura.asShortBuffer().put(origen);
+			}
+
+			escritura.limit(n * tamano);
+			crc.update(escritura);
+			escritura.position(0);
+
+			while (escritura.hasRemaining())
+				canal.write(escritura);
+
+			i += n;
+		}
+	}
+
+
+	/**
+	 * @brief	Obtiene un bloque de floats de la caché.
+	 * @param	in	mapa Proyección del fichero de la caché.
+	 * @param	in	inicio Posición del bloque.
+	 * @param	in	numero Número de floats; -1 si el modelo no tiene el bloque.
+	 * @param	in	proyectar true para devolver una vista de la proyección; false para copiar el bloque.
+	 * @param	in	directo true para copiar en un buffer directo en el orden nativo; false para copiar en un buffer respaldado por un array.
+	 * @param	in	destino Buffer a reutilizar para la copia; puede ser null.
+	 * @return	El bloque, con la posición a 0 y el límite al final; null si el modelo no lo tiene.
+	 */
+
+	private static FloatBuffer floats (ByteBuffer mapa, int inicio, int numero, boolean proyectar, boolean directo, FloatBuffer destino){
+		if (numero < 0)
+			return null;
+
+		FloatBuffer bloque = trozo(mapa, inicio, numero * 4).asFloatBuffer();
+
+		if (proyectar)
+			return bloque;
+
+		FloatBuffer copia = VerticesPLY.reservar(numero, directo, destino);
+
+		copia.put(bloque);
+		copia.flip();
+
+
+		return copia;
+	}
+
+
+	/**
+	 * @brief	Obtiene el bloque de índices de la caché.
+	 * @param	in	mapa Proyección del fichero de la caché.
+	 * @param	in	inicio Posición del bloque.
+	 * @param	in	numero Número de índices.
+	 * @param	in	largos true para índices de 32 bits; false para índices de 16 bits.
+	 * @param	in	proyectar true para devolver una vista de la proyección; false para copiar el bloque.
+	 * @param	in	opciones Opciones de lectura (buffers directos y buffer de destino para la copia).
+	 * @return	Un ShortBuffer o un IntBuffer con la posición a 0 y el límite al final de los índices.
+	 */
+
+	private static Buffer indices (ByteBuffer mapa, int inicio, int numero, boolean largos, boolean proyectar, OpcionesPLY opciones){
+		ByteBuffer bloque = trozo(mapa, inicio, numero * (largos ? 4 : 2));
+
+		if (proyectar)
+			return largos ? bloque.asIntBuffer() : bloque.asShortBuffer();
+
+		Buffer copia = new IndicesPLY(numero, largos, opciones.directos(), opciones.destinoIndices()).buffer();
+
+		if (largos)
+			((IntBuffer) copia).put(bloque.asIntBuffer());
+
+		else
+			((ShortBuffer) copia).put(bloque.asShortBuffer());
+
+		copia.position(0);
+
+
+		return copia;
+	}
+
+
+	/**
+	 * @brief	Obtiene un trozo de la proyección del fichero de la caché.
+	 * @param	in	mapa Proyección del fichero de la caché.
+	 * @param	in	inicio Posición del trozo.
+	 * @param	in	tamano Tamaño del trozo en bytes.
+	 * @return	Un ByteBuffer en little endian que comparte los bytes con la proyección.
+	 */
+
+	private static ByteBuffer trozo (ByteBuffer mapa, int inicio, int tamano){
+		ByteBuffer trozo = mapa.duplicate();
+
+
+		trozo.limit(inicio + tamano);
+		trozo.position(inicio);
+
+
+		return trozo.slice().order(ByteOrder.LITTLE_ENDIAN);  // slice() vuelve al orden big endian
+	}
+
+
+	/**
+	 * @brief	Calcula la firma de las opciones de lectura que cambian el modelo.
+	 * @param	in	opciones Opciones de lectura.
+	 * @return	Un entero con los atributos, la disposición, la triangulación y el tamaño de los índices.
+	 */
+
+	private static int firma (OpcionesPLY opciones){
+		return opciones.atributos() | (opciones.intercalado() ? 1 << 3 : 0) | (opciones.triangulacion() << 4) | (opciones.indices() << 6);
+	}
+
+
+	/**
+	 * @brief	Devuelve el número de datos de un buffer del modelo.
+	 * @param	in	buffer Buffer del modelo; puede ser null.
+	 * @return	El límite del buffer; -1 si es null.
+	 */
+
+	private static int numero (Buffer buffer){
+		return (buffer != null) ? buffer.limit() : -1;
+	}
+
+
+	/**
+	 * @brief	Redondea una posición al siguiente múltiplo de 8.
+	 * @param	in	posicion Posición en bytes.
+	 * @return	La posición alineada.
+	 */
+
+	private static int alinear (int posicion){
+		return (posicion + 7) & ~7;
+	}
+
+
+	/**
+	 * @brief	Descarta una caché que no es válida.
+	 * @param	in	cache Ruta del fichero de la caché.
+	 * @param	in	motivo Motivo por el que se descarta.
+	 * @return	null, para devolverlo directamente desde cargar().
+	 * @note	El fichero no se borra: se sobrescribe al guardar el modelo leído de nuevo.
+	 */
+
+	private static ModeloPLY descartar (Path cache, String motivo){
+		Logger.getLogger(TAG).log(Level.INFO, "Caché " + cache + " descartada: " + motivo);
+
+
+		return null;
+	}
+
+}
@@ -0,0 +1,211 @@
+/**
+ * @class	anibal.ingenieroenfurecido.utilidades.CargadorPLY
+ * @brief	Carga varios ficheros ply a la vez en segundo plano.
+ * @author	Aníbal García García
+ * @date	17/10/2026
+ * @see		LectorPLY
+ * @note	Cada fichero se lee con LectorPLY.leerModelo() en un hilo del ejecutor y se obtiene un CompletableFuture por modelo;
+				todos() los agrupa en un único CompletableFuture que termina cuando se han cargado todos.
+ * @note	Copyright 2014 Aníbal García García <anibal_garcia_garcia@outlook.com>
+ * @note	This program is free software: you can redistribute it and/or modify
+			it under the terms of the GNU General Public License as published by
+			the Free Software Foundation, either version 3 of the License, or
+			(at your option) any later version.
+ * @note	This program is distributed in the hope that it will be useful,
+			but WITHOUT ANY WARRANTY; without even the implied warranty of
+			MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+			GNU General Public License for more details.
+ * @note	You should have received a copy of the GNU General Public License
+			along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package utilidades;
+
+
+import android.content.Context;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+public final class CargadorPLY implements AutoCloseable {
+
+	/// Ejecutor en el que se leen los ficheros.
+	private final Executor ejecutor;
+
+	/// Ejecutor creado por el cargador, que se cierra con close(); null si el ejecutor es externo.
+	private final ExecutorService propio;
+
+	/// Opciones de lectura de todos los ficheros.
+	private final OpcionesPLY opciones;
+
+
+
+	/**
+	 * @brief	Constructor.
+	 * @param	in	paralelismo Número de ficheros que se leen a la vez.
+	 * @note	Crea su propio ejecutor, que se cierra con close(), y lee con las opciones por defecto.
+	 */
+
+	public CargadorPLY (int paralelismo){
+		this(paralelismo, new OpcionesPLY());  // CargadorPLY(int, OpcionesPLY)
+	}
+
+
+	/**
+	 * @brief	Constructor.
+	 * @param	in	paralelismo Número de ficheros que se leen a la vez.
+	 * @param	in	opciones Opciones de lectura de todos los ficheros.
+	 * @note	Crea su propio ejecutor, que se cierra con close().
+	 */
+
+	public CargadorPLY (int paralelismo, OpcionesPLY opciones){
+		final AtomicInteger numero_hilo = new AtomicInteger();
+
+
+		propio = Executors.newFixedThreadPool(paralelismo, tarea -> {
+			Thread hilo = new Thread(tarea, "CargadorPLY-" + numero_hilo.incrementAndGet());
+
+			hilo.setDaemon(true);  // No impide que termine la aplicación
+
+
+			return hilo;
+		});
+
+		ejecutor = propio;
+		this.opciones = copiar(opciones);
+	}
+
+
+	/**
+	 * @brief	Constructor.
+	 * @param	in	ejecutor Ejecutor externo en el que se leen los ficheros (por ejemplo, uno de hilos virtuales).
+	 * @param	in	opciones Opciones de lectura de todos los ficheros.
+	 * @note	El paralelismo lo decide el ejecutor, que no se cierra con close().
+	 */
+
+	public CargadorPLY (Executor ejecutor, OpcionesPLY opciones){
+		this.ejecutor = ejecutor;
+		propio = null;
+		this.opciones = copiar(opciones);
+	}
+
+
+	/**
+	 * @brief	Carga un fichero ply en segundo plano.
+	 * @param	in	fichero Ruta del fichero ply.
+	 * @return	Un CompletableFuture que termina con el modelo leído.
+	 */
+
+	public CompletableFuture <ModeloPLY> cargar (Path fichero){
+		return CompletableFuture.supplyAsync(() -> LectorPLY.leerModelo(fichero, opciones), ejecutor);
+	}
+
+
+	/**
+	 * @brief	Carga un fichero ply en segundo plano.
+	 * @param	in	contexto Contexto de la actividad principal.
+	 * @param	in	fichero Fichero ply.
+	 * @return	Un CompletableFuture que termina con el modelo leído.
+	 * @note	El fichero se recibe como identificador de los recursos.
+	 */
+
+	public CompletableFuture <ModeloPLY> cargar (Context contexto, int fichero){
+		return CompletableFuture.supplyAsync(() -> LectorPLY.leerModelo(contexto, fichero, opciones), ejecutor);
+	}
+
+
+	/**
+	 * @brief	Carga varios ficheros ply en segundo plano.
+	 * @param	in	ficheros Rutas de los ficheros ply.
+	 * @return	Un CompletableFuture por fichero, en el mismo orden.
+	 */
+
+	public List <CompletableFuture <ModeloPLY>> cargar (List <Path> ficheros){
+		ArrayList <CompletableFuture <ModeloPLY>> modelos = new ArrayList <>();
+
+
+		for (Path fichero : ficheros)
+			modelos.add(cargar(fichero));
+
+
+		return modelos;
+	}
+
+
+	/**
+	 * @brief	Carga varios ficheros ply en segundo plano.
+	 * @param	in	contexto Contexto de la actividad principal.
+	 * @param	in	ficheros Ficheros ply.
+	 * @return	Un CompletableFuture por fichero, en el mismo orden.
+	 * @note	Los ficheros se reciben como identificadores de los recursos.
+	 */
+
+	public List <CompletableFuture <ModeloPLY>> cargar (Context contexto, int... ficheros){
+		ArrayList <CompletableFuture <ModeloPLY>> modelos = new ArrayList <>();
+
+
+		for (int fichero : ficheros)
+			modelos.add(cargar(contexto, fichero));
+
+
+		return modelos;
+	}
+
+
+	/**
+	 * @brief	Agrupa las cargas de varios modelos.
+	 * @param	in	modelos CompletableFuture de cada modelo.
+	 * @return	Un CompletableFuture que termina con todos los modelos en el mismo orden, o con el error de alguno de los que fallen.
+	 */
+
+	public static CompletableFuture <List <ModeloPLY>> todos (List <CompletableFuture <ModeloPLY>> modelos){
+		return CompletableFuture.allOf(modelos.toArray(new CompletableFuture <?>[0])).thenApply(nada -> {
+			ArrayList <ModeloPLY> resultado = new ArrayList <>();
+
+			for (CompletableFuture <ModeloPLY> modelo : modelos)
+				resultado.add(modelo.join());  // Ya han terminado todos
+
+
+			return resultado;
+		});
+	}
+
+
+	/**
+	 * @brief	Cierra el ejecutor creado por el cargador.
+	 * @note	Las cargas ya pedidas terminan; no se admiten cargas nuevas. No hace nada si el ejecutor es externo.
+	 */
+
+	@Override
+	public void close(){
+		if (propio != null)
+			propio.shutdown();
+	}
+
+
+	/**
+	 * @brief	Copia las opciones de lectura para todos los ficheros.
+	 * @param	in	opciones Opciones de lectura.
+	 * @return	Una copia de las opciones sin buffers de destino.
+	 * @note	Los buffers de destino no se pueden compartir entre cargas simultáneas, por lo que cada modelo reserva los suyos.
+	 */
+
+	private static OpcionesPLY copiar (OpcionesPLY opciones){
+		OpcionesPLY copia = new OpcionesPLY(opciones);
+
+
+		copia.destinoVertices(null);
+		copia.destinoIndices(null);
+
+
+		return copia;
+	}
+
+}
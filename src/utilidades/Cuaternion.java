@@ -0,0 +1,496 @@
+/**
+ * @class	anibal.ingenieroenfurecido.utilidades.Cuaternion
+ * @brief	Cuaternión para guardar, componer e interpolar rotaciones.
+ * @author	Aníbal García García
+ * @date	17/10/2026
+ * @see		Matriz3
+ * @see		Matriz4
+ * @note	Una rotación de un ángulo alrededor de un eje es el cuaternión unitario [cos(angulo / 2), eje * sin(angulo / 2)].
+				Componer 2 rotaciones son 16 multiplicaciones, sin senos ni cosenos, y slerp() interpola entre 2 orientaciones con velocidad angular
+				constante, que no se puede hacer con los ángulos de Vector.rotarEjeX(), Vector.rotarEjeY() y Vector.rotarEjeZ().
+ * @note	multiplicar(a, b) compone las rotaciones como las matrices: al aplicar el resultado se aplica primero b y después a.
+ * @note	Los cuaterniones de rotación deben ser unitarios; después de componer muchas veces el mismo cuaternión conviene normalizarlo
+				para que no se acumule el error de redondeo. aplicar() sobre un array y matriz3() funcionan también con cuaterniones no unitarios.
+ * @note	Copyright 2014 Aníbal García García <anibal_garcia_garcia@outlook.com>
+ * @note	This program is free software: you can redistribute it and/or modify
+			it under the terms of the GNU General Public License as published by
+			the Free Software Foundation, either version 3 of the License, or
+			(at your option) any later version.
+ * @note	This program is distributed in the hope that it will be useful,
+			but WITHOUT ANY WARRANTY; without even the implied warranty of
+			MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+			GNU General Public License for more details.
+ * @note	You should have received a copy of the GNU General Public License
+			along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package utilidades;
+
+
+public final class Cuaternion {
+
+	/// Coseno del ángulo entre 2 cuaterniones a partir del cual slerp() interpola linealmente (el seno del ángulo es casi 0).
+	private static final double umbralLineal = 0.9995;
+
+	/// Parte real.
+	private float w;
+
+	/// Componente i.
+	private float x;
+
+	/// Componente j.
+	private float y;
+
+	/// Componente k.
+	private float z;
+
+
+
+	/**
+	 * @brief	Constructor por defecto.
+	 * @note	Crea el cuaternión identidad [1, 0, 0, 0] (sin rotación).
+	 */
+
+	public Cuaternion(){
+		w = 1;
+	}
+
+
+	/**
+	 * @brief	Constructor con parámetros.
+	 * @param	in	w Parte real.
+	 * @param	in	x Componente i.
+	 * @param	in	y Componente j.
+	 * @param	in	z Componente k.
+	 */
+
+	public Cuaternion (float w, float x, float y, float z){
+		this.w = w;
+		this.x = x;
+		this.y = y;
+		this.z = z;
+	}
+
+
+	/**
+	 * @brief	Constructor copia.
+	 * @param	in	cuaternion Cuaternión a copiar.
+	 */
+
+	public Cuaternion (Cuaternion cuaternion){
+		w = cuaternion.w;
+		x = cuaternion.x;
+		y = cuaternion.y;
+		z = cuaternion.z;
+	}
+
+
+	/**
+	 * @brief	Crea el cuaternión de una rotación alrededor de un eje cualquiera.
+	 * @param	in	angulo Ángulo a rotar en grados sexagesimales (en sentido antihorario mirando desde la punta del eje).
+	 * @param	in	eje Eje de rotación; no hace falta que esté normalizado.
+	 * @return	El cuaternión unitario de la rotación.
+	 * @see		Matriz3.rotacion(double, Vector)
+	 */
+
+	public static Cuaternion rotacion (double angulo, Vector eje){
+		double modulo = Math.sqrt(eje.x() * eje.x() + eje.y() * eje.y() + eje.z() * eje.z());
+
+		if (modulo == 0)
+			throw new IllegalArgumentException("El eje de rotación no puede tener módulo 0.");
+
+		double mitad = Math.toRadians(angulo) / 2;
+		double factor = Math.sin(mitad) / modulo;
+
+
+		return new Cuaternion((float) Math.cos(mitad), (float) (eje.x() * factor), (float) (eje.y() * factor), (float) (eje.z() * factor));
+	}
+
+
+	/**
+	 * @brief	Crea el cuaternión de una rotación en el eje X.
+	 * @param	in	angulo Ángulo a rotar en grados sexagesimales.
+	 * @return	El cuaternión unitario de la rotación.
+	 * @see		Vector.rotarEjeX(double)
+	 */
+
+	public static Cuaternion rotacionEjeX (double angulo){
+		double mitad = Math.toRadians(angulo) / 2;
+
+
+		return new Cuaternion((float) Math.cos(mitad), (float) Math.sin(mitad), 0, 0);
+	}
+
+
+	/**
+	 * @brief	Crea el cuaternión de una rotación en el eje Y.
+	 * @param	in	angulo Ángulo a rotar en grados sexagesimales.
+	 * @return	El cuaternión unitario de la rotación.
+	 * @see		Vector.rotarEjeY(double)
+	 */
+
+	public static Cuaternion rotacionEjeY (double angulo){
+		double mitad = Math.toRadians(angulo) / 2;
+
+
+		return new Cuaternion((float) Math.cos(mitad), 0, (float) Math.sin(mitad), 0);
+	}
+
+
+	/**
+	 * @brief	Crea el cuaternión de una rotación en el eje Z.
+	 * @param	in	angulo Ángulo a rotar en grados sexagesimales.
+	 * @return	El cuaternión unitario de la rotación.
+	 * @see		Vector.rotarEjeZ(double)
+	 */
+
+	public static Cuaternion rotacionEjeZ (double angulo){
+		double mitad = Math.toRadians(angulo) / 2;
+
+
+		return new Cuaternion((float) Math.cos(mitad), 0, 0, (float) Math.sin(mitad));
+	}
+
+
+	/**
+	 * @brief	Multiplica 2 cuaterniones.
+	 * @param	in	cuaternion1 1º cuaternión.
+	 * @param	in	cuaternion2 2º cuaternión.
+	 * @return	Un cuaternión nuevo con cuaternion1 * cuaternion2 (rota primero con cuaternion2 y después con cuaternion1).
+	 */
+
+	public static Cuaternion multiplicar (Cuaternion cuaternion1, Cuaternion cuaternion2){
+		return multiplicar(cuaternion1, cuaternion2, new Cuaternion());
+	}
+
+
+	/**
+	 * @brief	Multiplica 2 cuaterniones sin crear objetos.
+	 * @param	in	cuaternion1 1º cuaternión.
+	 * @param	in	cuaternion2 2º cuaternión.
+	 * @param	out	destino Cuaternión donde se guarda cuaternion1 * cuaternion2 (puede ser uno de los otros 2).
+	 * @return	El cuaternión destino.
+	 */
+
+	public static Cuaternion multiplicar (Cuaternion cuaternion1, Cuaternion cuaternion2, Cuaternion destino){
+		float w1 = cuaternion1.w, x1 = cuaternion1.x, y1 = cuaternion1.y, z1 = cuaternion1.z;
+		float w2 = cuaternion2.w, x2 = cuaternion2.x, y2 = cuaternion2.y, z2 = cuaternion2.z;
+
+
+		// Producto de Hamilton
+		destino.w = w1 * w2 - x1 * x2 - y1 * y2 - z1 * z2;
+		destino.x = w1 * x2 + x1 * w2 + y1 * z2 - z1 * y2;
+		destino.y = w1 * y2 - x1 * z2 + y1 * w2 + z1 * x2;
+		destino.z = w1 * z2 + x1 * y2 - y1 * x2 + z1 * w2;
+
+
+		return destino;
+	}
+
+
+	/**
+	 * @brief	Multiplica el cuaternión por otro.
+	 * @param	in	cuaternion Cuaternión por el cual multiplicar.
+	 * @note	El cuaternión pasa a ser this * cuaternion: rota primero con cuaternion y después con la rotación anterior.
+	 */
+
+	public void multiplicar (Cuaternion cuaternion){
+		multiplicar(this, cuaternion, this);
+	}
+
+
+	/**
+	 * @brief	Interpola esféricamente entre 2 rotaciones.
+	 * @param	in	cuaternion1 Rotación inicial (t = 0).
+	 * @param	in	cuaternion2 Rotación final (t = 1).
+	 * @param	in	t Posición de la interpolación, entre 0 y 1.
+	 * @return	Un cuaternión nuevo con la rotación interpolada.
+	 */
+
+	public static Cuaternion slerp (Cuaternion cuaternion1, Cuaternion cuaternion2, float t){
+		return slerp(cuaternion1, cuaternion2, t, new Cuaternion());
+	}
+
+
+	/**
+	 * @brief	Interpola esféricamente entre 2 rotaciones sin crear objetos.
+	 * @param	in	cuaternion1 Rotación inicial (t = 0).
+	 * @param	in	cuaternion2 Rotación final (t = 1).
+	 * @param	in	t Posición de la interpolación, entre 0 y 1.
+	 * @param	out	destino Cuaternión donde se guarda la rotación interpolada (puede ser uno de los otros 2).
+	 * @return	El cuaternión destino.
+	 * @note	Sigue el camino más corto (q y -q son la misma rotación). Si las rotaciones están muy cerca interpola linealmente
+				y normaliza, ya que el seno del ángulo entre ellas es casi 0.
+	 */
+
+	public static Cuaternion slerp (Cuaternion cuaternion1, Cuaternion cuaternion2, float t, Cuaternion destino){
+		float w2 = cuaternion2.w, x2 = cuaternion2.x, y2 = cuaternion2.y, z2 = cuaternion2.z;
+		double coseno = cuaternion1.w * w2 + cuaternion1.x * x2 + cuaternion1.y * y2 + cuaternion1.z * z2;
+		double peso1, peso2;
+
+
+		if (coseno < 0){  // Camino más corto
+			coseno = - coseno;
+			w2 = - w2;
+			x2 = - x2;
+			y2 = - y2;
+			z2 = - z2;
+		}
+
+		if (coseno > umbralLineal){
+			peso1 = 1 - t;
+			peso2 = t;
+		}
+
+		else{
+			double angulo = Math.acos(coseno);
+			double seno = Math.sin(angulo);
+
+			peso1 = Math.sin((1 - t) * angulo) / seno;
+			peso2 = Math.sin(t * angulo) / seno;
+		}
+
+		destino.w = (float) (peso1 * cuaternion1.w + peso2 * w2);
+		destino.x = (float) (peso1 * cuaternion1.x + peso2 * x2);
+		destino.y = (float) (peso1 * cuaternion1.y + peso2 * y2);
+		destino.z = (float) (peso1 * cuaternion1.z + peso2 * z2);
+
+		if (coseno > umbralLineal)
+			destino.normalizar();
+
+
+		return destino;
+	}
+
+
+	/**
+	 * @brief	Calcula el módulo del cuaternión.
+	 * @return	El módulo.
+	 */
+
+	public float modulo(){
+		return (float) Math.sqrt(w * w + x * x + y * y + z * z);
+	}
+
+
+	/**
+	 * @brief	Normaliza el cuaternión.
+	 * @note	Un cuaternión de módulo 0 no cambia.
+	 */
+
+	public void normalizar(){
+		float modulo2 = w * w + x * x + y * y + z * z;
+
+
+		if (modulo2 > 0){
+			float inverso = 1 / (float) Math.sqrt(modulo2);
+
+			w *= inverso;
+			x *= inverso;
+			y *= inverso;
+			z *= inverso;
+		}
+	}
+
+
+	/**
+	 * @brief	Conjuga el cuaternión.
+	 * @note	El conjugado de un cuaternión unitario es la rotación inversa.
+	 */
+
+	public void conjugar(){
+		x = - x;
+		y = - y;
+		z = - z;
+	}
+
+
+	/**
+	 * @brief	Devuelve el conjugado del cuaternión.
+	 * @return	Un cuaternión nuevo con el conjugado (la rotación inversa si es unitario).
+	 */
+
+	public Cuaternion conjugado(){
+		return new Cuaternion(w, - x, - y, - z);
+	}
+
+
+	/**
+	 * @brief	Devuelve la matriz de la rotación.
+	 * @return	Una matriz nueva de 3x3 con la rotación.
+	 */
+
+	public Matriz3 matriz3(){
+		Matriz3 matriz = new Matriz3();
+
+
+		coeficientes(matriz.valores(), 3);
+
+
+		return matriz;
+	}
+
+
+	/**
+	 * @brief	Devuelve la matriz de la rotación en coordenadas homogéneas.
+	 * @return	Una matriz nueva de 4x4 con la rotación y sin traslación.
+	 */
+
+	public Matriz4 matriz4(){
+		Matriz4 matriz = new Matriz4();
+
+
+		coeficientes(matriz.valores(), 4);
+
+
+		return matriz;
+	}
+
+
+	/**
+	 * @brief	Rota un vector.
+	 * @param	in,out	vector Vector a rotar.
+	 * @note	Calcula q * v * q' como v + 2 * w * (u x v) + 2 * u x (u x v), siendo u = [x, y, z]; el cuaternión debe ser unitario.
+	 */
+
+	public void aplicar (Vector vector){
+		float vx = vector.x(), vy = vector.y(), vz = vector.z();
+		float tx = 2 * (y * vz - z * vy);  // t = 2 * (u x v)
+		float ty = 2 * (z * vx - x * vz);
+		float tz = 2 * (x * vy - y * vx);
+
+
+		vector.x(vx + w * tx + (y * tz - z * ty));
+		vector.y(vy + w * ty + (z * tx - x * tz));
+		vector.z(vz + w * tz + (x * ty - y * tx));
+	}
+
+
+	/**
+	 * @brief	Rota un vértice alrededor del origen.
+	 * @param	in,out	vertice Vértice a rotar.
+	 * @note	Igual que aplicar(Vector); el cuaternión debe ser unitario.
+	 */
+
+	public void aplicar (Vertice vertice){
+		float vx = vertice.x(), vy = vertice.y(), vz = vertice.z();
+		float tx = 2 * (y * vz - z * vy);  // t = 2 * (u x v)
+		float ty = 2 * (z * vx - x * vz);
+		float tz = 2 * (x * vy - y * vx);
+
+
+		vertice.x(vx + w * tx + (y * tz - z * ty));
+		vertice.y(vy + w * ty + (z * tx - x * tz));
+		vertice.z(vz + w * tz + (x * ty - y * tx));
+	}
+
+
+	/**
+	 * @brief	Rota un rango de vectores o vértices seguidos en un array.
+	 * @param	in,out	datos Coordenadas x, y y z de cada vector (por ejemplo, los vértices de LectorPLY.leer()).
+	 * @param	in	inicio 1º vector del rango.
+	 * @param	in	numero Número de vectores del rango.
+	 * @note	Pasa el cuaternión a una matriz de 3x3 una sola vez, en variables locales, y rota cada vector con 9 multiplicaciones y 6 sumas.
+	 * @see		Matriz3.aplicar(float[], int, int)
+	 * @see		BufferVectores.transformar(Cuaternion, int, int)
+	 */
+
+	public void aplicar (float[] datos, int inicio, int numero){
+		if (inicio < 0  ||  numero < 0  ||  inicio + numero > datos.length / 3)
+			throw new IndexOutOfBoundsException("Rango de vectores [" + inicio + ", " + (inicio + numero) + ") fuera del array de "
+					+ datos.length / 3 + " vectores.");
+
+		float s = 2 / (w * w + x * x + y * y + z * z);  // 2 si es unitario
+		float xs = x * s, ys = y * s, zs = z * s;
+		float wx = w * xs, wy = w * ys, wz = w * zs;
+		float xx = x * xs, xy = x * ys, xz = x * zs;
+		float yy = y * ys, yz = y * zs, zz = z * zs;
+		float m0 = 1 - (yy + zz), m3 = xy - wz, m6 = xz + wy;  // 1ª fila de la matriz
+		float m1 = xy + wz, m4 = 1 - (xx + zz), m7 = yz - wx;  // 2ª fila
+		float m2 = xz - wy, m5 = yz + wx, m8 = 1 - (xx + yy);  // 3ª fila
+
+
+		for (int i = inicio * 3, fin = (inicio + numero) * 3; i < fin; i += 3){
+			float vx = datos[i], vy = datos[i + 1], vz = datos[i + 2];
+
+			datos[i] = m0 * vx + m3 * vy + m6 * vz;      // x
+			datos[i + 1] = m1 * vx + m4 * vy + m7 * vz;  // y
+			datos[i + 2] = m2 * vx + m5 * vy + m8 * vz;  // z
+		}
+	}
+
+
+	/**
+	 * @brief	Escribe la matriz de la rotación en los valores de una matriz.
+	 * @param	out	valores Valores de la matriz por columnas.
+	 * @param	in	filas Número de filas de la matriz (3 o 4), que es la distancia entre el comienzo de 2 columnas seguidas.
+	 */
+
+	private void coeficientes (float[] valores, int filas){
+		float s = 2 / (w * w + x * x + y * y + z * z);  // 2 si es unitario
+		float xs = x * s, ys = y * s, zs = z * s;
+		float wx = w * xs, wy = w * ys, wz = w * zs;
+		float xx = x * xs, xy = x * ys, xz = x * zs;
+		float yy = y * ys, yz = y * zs, zz = z * zs;
+
+
+		valores[0] = 1 - (yy + zz);          // 1ª columna
+		valores[1] = xy + wz;
+		valores[2] = xz - wy;
+		valores[filas] = xy - wz;            // 2ª columna
+		valores[filas + 1] = 1 - (xx + zz);
+		valores[filas + 2] = yz + wx;
+		valores[2 * filas] = xz + wy;        // 3ª columna
+		valores[2 * filas + 1] = yz - wx;
+		valores[2 * filas + 2] = 1 - (xx + yy);
+	}
+
+
+	/**
+	 * @brief	Devuelve la parte real del cuaternión.
+	 * @return	La parte real.
+	 */
+
+	public float w(){
+		return w;
+	}
+
+
+	/**
+	 * @brief	Devuelve la componente i del cuaternión.
+	 * @return	La componente i.
+	 */
+
+	public float x(){
+		return x;
+	}
+
+
+	/**
+	 * @brief	Devuelve la componente j del cuaternión.
+	 * @return	La componente j.
+	 */
+
+	public float y(){
+		return y;
+	}
+
+
+	/**
+	 * @brief	Devuelve la componente k del cuaternión.
+	 * @return	La componente k.
+	 */
+
+	public float z(){
+		return z;
+	}
+
+
+	/// Devuelve un String que contiene una descripción concisa y legible por humanos de este cuaternión.
+
+	@Override
+	public String toString(){
+		return (getClass().getName() + ": w = " + w + ", x = " + x + ", y = " + y + ", z = " + z);
+	}
+
+}
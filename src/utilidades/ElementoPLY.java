@@ -0,0 +1,97 @@
+/**
+ * @class	anibal.ingenieroenfurecido.utilidades.ElementoPLY
+ * @brief	Describe un elemento de un fichero ply (por ejemplo "vertex" o "face") y sus propiedades.
+ * @author	Aníbal García García
+ * @date	17/10/2026
+ * @see		PropiedadPLY
+ * @see		LectorPLY
+ * @note	Copyright 2014 Aníbal García García <anibal_garcia_garcia@outlook.com>
+ * @note	This program is free software: you can redistribute it and/or modify
+			it under the terms of the GNU General Public License as published by
+			the Free Software Foundation, either version 3 of the License, or
+			(at your option) any later version.
+ * @note	This program is distributed in the hope that it will be useful,
+			but WITHOUT ANY WARRANTY; without even the implied warranty of
+			MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+			GNU General Public License for more details.
+ * @note	You should have received a copy of the GNU General Public License
+			along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package utilidades;
+
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+
+public final class ElementoPLY {
+
+	/// Nombre del elemento.
+	private final String nombre;
+
+	/// Número de elementos de este tipo en el fichero.
+	private final int numero;
+
+	/// Propiedades del elemento en el orden en que aparecen en la cabecera.
+	private final ArrayList <PropiedadPLY> propiedades = new ArrayList <>();
+
+	/// Vista de solo lectura de las propiedades, la que se entrega fuera de la clase.
+	private final List <PropiedadPLY> vistaPropiedades = Collections.unmodifiableList(propiedades);
+
+
+
+	/**
+	 * @brief	Constructor.
+	 * @param	in	nombre Nombre del elemento.
+	 * @param	in	numero Número de elementos de este tipo en el fichero.
+	 */
+
+	ElementoPLY (String nombre, int numero){
+		this.nombre = nombre;
+		this.numero = numero;
+	}
+
+
+	/**
+	 * @brief	Añade una propiedad al elemento.
+	 * @param	in	propiedad Propiedad a añadir.
+	 */
+
+	void anadir (PropiedadPLY propiedad){
+		propiedades.add(propiedad);
+	}
+
+
+	/**
+	 * @brief	Devuelve el nombre del elemento.
+	 * @return	El nombre del elemento.
+	 */
+
+	public String nombre(){
+		return nombre;
+	}
+
+
+	/**
+	 * @brief	Devuelve el número de elementos de este tipo en el fichero.
+	 * @return	El número de elementos.
+	 */
+
+	public int numero(){
+		return numero;
+	}
+
+
+	/**
+	 * @brief	Devuelve las propiedades del elemento.
+	 * @return	Las propiedades del elemento en el orden de la cabecera, en una lista de solo lectura.
+	 * @note	Intentar modificar la lista lanza UnsupportedOperationException.
+	 */
+
+	public List <PropiedadPLY> propiedades(){
+		return vistaPropiedades;
+	}
+
+}
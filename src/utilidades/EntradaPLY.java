@@ -0,0 +1,643 @@
+/**
+ * @class	anibal.ingenieroenfurecido.utilidades.EntradaPLY
+ * @brief	Ventana de bytes sobre un fichero ply, ya sea proyectado en memoria o leído de un canal.
+ * @author	Aníbal García García
+ * @date	17/10/2026
+ * @see		LectorPLY
+ * @note	Si el fichero completo está en el buffer (fichero proyectado en memoria) no se copia ningún byte.
+ * @note	Si se lee de un canal, el buffer se rellena a medida que se consume.
+ * @note	Los números de los ficheros ascii se leen directamente de los bytes, sin crear ningún objeto por línea.
+ * @note	Copyright 2014 Aníbal García García <anibal_garcia_garcia@outlook.com>
+ * @note	This program is free software: you can redistribute it and/or modify
+			it under the terms of the GNU General Public License as published by
+			the Free Software Foundation, either version 3 of the License, or
+			(at your option) any later version.
+ * @note	This program is distributed in the hope that it will be useful,
+			but WITHOUT ANY WARRANTY; without even the implied warranty of
+			MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+			GNU General Public License for more details.
+ * @note	You should have received a copy of the GNU General Public License
+			along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package utilidades;
+
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+
+final class EntradaPLY implements Closeable {
+
+	/// Buffer con los bytes disponibles del fichero.
+	private ByteBuffer buffer;
+
+	/// Canal del que se rellena el buffer; null si el fichero completo está en el buffer.
+	private final ReadableByteChannel canal;
+
+	/// Posición en el fichero del 1º byte del buffer.
+	private long desplazamiento;
+
+	/// Bytes de la última línea leída.
+	private byte[] linea = new byte[256];
+
+	/// Potencias de 10 que se pueden representar de forma exacta en un double.
+	private static final double[] potencias10 = {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+		1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+
+	/// Número máximo de dígitos significativos que se acumulan en la mantisa sin desbordar un long.
+	private static final int maxDigitos = 18;
+
+	/// Mayor mantisa que se puede representar de forma exacta en un double.
+	private static final long maxMantisaExacta = 1L << 53;
+
+
+
+	/**
+	 * @brief	Constructor.
+	 * @param	in	buffer Buffer con el fichero completo (por ejemplo un MappedByteBuffer).
+	 * @note	Constructor para ficheros que están completos en memoria.
+	 * @see		EntradaPLY(ReadableByteChannel, int)
+	 */
+
+	EntradaPLY (ByteBuffer buffer){
+		this.buffer = buffer;
+		canal = null;
+	}
+
+
+	/**
+	 * @brief	Constructor.
+	 * @param	in	canal Canal del que leer el fichero.
+	 * @param	in	tamano Tamaño inicial del buffer de lectura.
+	 * @note	Constructor para ficheros que se leen a medida que se consumen.
+	 * @see		EntradaPLY(ByteBuffer)
+	 */
+
+	EntradaPLY (ReadableByteChannel canal, int tamano){
+		this.canal = canal;
+		buffer = ByteBuffer.allocate(tamano);
+		buffer.flip();  // Buffer vacío listo para ser rellenado
+	}
+
+
+	/**
+	 * @brief	Rellena el buffer hasta que tenga disponibles los bytes indicados.
+	 * @param	in	bytes Número de bytes que deben quedar disponibles en el buffer.
+	 * @return	true si hay al menos esos bytes disponibles; false si antes se llega al final del fichero.
+	 */
+
+	boolean rellenar (int bytes){
+		if (buffer.remaining() >= bytes)  // Si ya hay suficientes bytes
+			return true;
+
+		if (canal == null)  // Si el fichero completo ya está en el buffer
+			return false;
+
+		if (bytes > buffer.capacity()){  // Si no caben en el buffer lo amplío
+			ByteBuffer nuevo_buffer = ByteBuffer.allocate(Math.max(bytes, buffer.capacity() * 2));
+
+			desplazamiento += buffer.position();  // Los bytes ya consumidos no se copian
+			nuevo_buffer.order(buffer.order());
+			nuevo_buffer.put(buffer);
+			nuevo_buffer.flip();
+
+			buffer = nuevo_buffer;
+		}
+
+		desplazamiento += buffer.position();  // Los bytes ya consumidos salen del buffer
+		buffer.compact();  // Muevo los bytes sin leer al comienzo del buffer
+
+		try{
+			while (buffer.position() < bytes)  // Hasta tener suficientes bytes
+				if (canal.read(buffer) < 0)  // Si se ha llegado al final del fichero
+					break;
+		}
+
+		catch (IOException e){  // Capturo la excepción
+			throw new ExcepcionLecturaPLY("Error de lectura del fichero.", e);
+		}
+
+		buffer.flip();  // Preparo el buffer para leer
+
+
+		return buffer.remaining() >= bytes;
+	}
+
+
+	/**
+	 * @brief	Lee una línea de texto.
+	 * @return	La línea leída sin el salto de línea; null si se ha llegado al final del fichero.
+	 */
+
+	String leerLinea(){
+		int buscados = 0;  // Bytes ya examinados sin encontrar el salto de línea
+		int longitud;
+
+
+		// Búsqueda del salto de línea
+		while (true){
+			int fin = buffer.limit();
+			int i = buffer.position() + buscados;
+
+			while (i < fin  &&  buffer.get(i) != '\n')
+				i++;
+
+			buscados = i - buffer.position();
+
+			if (i < fin)  // Si se ha encontrado el salto de línea
+				break;
+
+			if (!rellenar(buscados + 1)){  // Si se ha llegado al final del fichero
+				if (buscados == 0)  // Si no queda nada por leer
+					return null;
+
+				break;
+			}
+		}
+
+
+		// Copia de la línea
+		longitud = buscados;
+
+		if (longitud > linea.length)
+			linea = new byte[Math.max(longitud, linea.length * 2)];
+
+		buffer.get(linea, 0, longitud);
+
+		if (buffer.hasRemaining())  // Salto el salto de línea
+			buffer.get();
+
+		if (longitud > 0  &&  linea[longitud - 1] == '\r')  // Ignoro el retorno de carro de los ficheros de Windows
+			longitud--;
+
+
+		return new String(linea, 0, longitud, StandardCharsets.UTF_8);
+	}
+
+
+	/**
+	 * @brief	Lee un número real de un fichero ascii.
+	 * @return	El número leído.
+	 * @note	Admite signo, parte decimal y exponente (por ejemplo "-1.25e-3").
+	 * @note	Los casos poco habituales ("nan", "inf", más de 15 dígitos significativos o exponentes fuera de [-22, 22]) se delegan en Double.parseDouble.
+	 */
+
+	double leerDouble(){
+		int fin = finToken();
+		int i = buffer.position();
+		boolean negativo = false, hay_digitos = false;
+		long mantisa = 0;
+		int digitos = 0;  // Dígitos significativos acumulados en la mantisa
+		int exponente = 0;  // Exponente decimal que se aplica a la mantisa
+		byte c;
+
+
+		// Signo
+		c = buffer.get(i);
+
+		if (c == '-'  ||  c == '+'){
+			negativo = (c == '-');
+			i++;
+		}
+
+		// Parte entera
+		while (i < fin  &&  (c = buffer.get(i)) >= '0'  &&  c <= '9'){
+			if (digitos < maxDigitos){
+				mantisa = mantisa * 10 + (c - '0');
+
+				if (mantisa != 0)  // Los ceros a la izquierda no son significativos
+					digitos++;
+			}
+
+			else
+				exponente++;  // El dígito no cabe en la mantisa pero sí cuenta en la magnitud
+
+			hay_digitos = true;
+			i++;
+		}
+
+		// Parte decimal
+		if (i < fin  &&  buffer.get(i) == '.'){
+			i++;
+
+			while (i < fin  &&  (c = buffer.get(i)) >= '0'  &&  c <= '9'){
+				if (digitos < maxDigitos){
+					mantisa = mantisa * 10 + (c - '0');
+					exponente--;
+
+					if (mantisa != 0)
+						digitos++;
+				}
+
+				hay_digitos = true;
+				i++;
+			}
+		}
+
+		// Exponente
+		if (hay_digitos  &&  i < fin  &&  ((c = buffer.get(i)) == 'e'  ||  c == 'E')){
+			boolean exponente_negativo = false;
+			int valor_exponente = 0;
+
+			i++;
+
+			if (i < fin  &&  ((c = buffer.get(i)) == '-'  ||  c == '+')){
+				exponente_negativo = (c == '-');
+				i++;
+			}
+
+			if (i == fin)  // Exponente sin dígitos
+				hay_digitos = false;
+
+			while (i < fin  &&  (c = buffer.get(i)) >= '0'  &&  c <= '9'){
+				if (valor_exponente < 10000)  // Cualquier exponente mayor da 0 o infinito
+					valor_exponente = valor_exponente * 10 + (c - '0');
+
+				i++;
+			}
+
+			exponente += exponente_negativo ? -valor_exponente : valor_exponente;
+		}
+
+		if (!hay_digitos  ||  i != fin)  // Si no es un número decimal habitual
+			return leerDoubleLento(fin);
+
+		if (mantisa > maxMantisaExacta  ||  exponente < -22  ||  exponente > 22)  // Si el cálculo rápido no sería exacto
+			return leerDoubleLento(fin);
+
+		buffer.position(fin);
+
+
+		// Composición del valor
+		double valor = mantisa;
+
+		if (exponente < 0)
+			valor /= potencias10[-exponente];  // Redondeo correcto porque la mantisa y la potencia son exactas
+
+		else
+			valor *= potencias10[exponente];
+
+
+		return negativo ? -valor : valor;
+	}
+
+
+	/**
+	 * @brief	Lee un número real de un fichero ascii.
+	 * @return	El número leído.
+	 * @see		leerDouble()
+	 */
+
+	float leerFloat(){
+		return (float) leerDouble();
+	}
+
+
+	/**
+	 * @brief	Lee un número entero de un fichero ascii.
+	 * @return	El número leído.
+	 */
+
+	long leerEntero(){
+		int fin = finToken();
+		int i = buffer.position();
+		boolean negativo = false;
+		long valor = 0;
+		byte c;
+
+
+		c = buffer.get(i);
+
+		if (c == '-'  ||  c == '+'){
+			negativo = (c == '-');
+			i++;
+		}
+
+		if (i == fin)  // Signo sin dígitos
+			return (long) leerDoubleLento(fin);
+
+		while (i < fin  &&  (c = buffer.get(i)) >= '0'  &&  c <= '9'){
+			valor = valor * 10 + (c - '0');
+			i++;
+		}
+
+		if (i != fin)  // Si no es un número entero (por ejemplo "3.0")
+			return (long) leerDoubleLento(fin);
+
+		buffer.position(fin);
+
+
+		return negativo ? -valor : valor;
+	}
+
+
+	/**
+	 * @brief	Salta un token de un fichero ascii sin decodificarlo.
+	 */
+
+	void saltarToken(){
+		buffer.position(finToken());
+	}
+
+
+	/**
+	 * @brief	Salta el resto de la línea actual, incluido el salto de línea.
+	 */
+
+	void saltarLinea(){
+		while (true){
+			int fin = buffer.limit();
+			int i = buffer.position();
+
+			while (i < fin  &&  buffer.get(i) != '\n')
+				i++;
+
+			if (i < fin){  // Si se ha encontrado el salto de línea
+				buffer.position(i + 1);
+
+				return;
+			}
+
+			buffer.position(fin);  // Descarto lo examinado
+
+			if (!rellenar(1))  // Si se ha llegado al final del fichero
+				return;
+		}
+	}
+
+
+	/**
+	 * @brief	Salta los espacios y las líneas en blanco hasta el comienzo de la siguiente fila de un fichero ascii.
+	 * @note	A diferencia de la lectura de un token, llegar al final del fichero no es un error.
+	 */
+
+	void saltarBlancos(){
+		while (buffer.hasRemaining()  ||  rellenar(1)){
+			byte c = buffer.get(buffer.position());
+
+			if (c != ' '  &&  c != '\t'  &&  c != '\r'  &&  c != '\n')
+				return;
+
+			buffer.position(buffer.position() + 1);
+		}
+	}
+
+
+	/**
+	 * @brief	Salta una fila completa de un fichero ascii, junto con las líneas en blanco que la preceden.
+	 * @note	Llegar al final del fichero antes de la fila es un error, para no seguir saltando filas que no existen.
+	 */
+
+	void saltarFila(){
+		saltarBlancos();
+
+		if (!buffer.hasRemaining()  &&  !rellenar(1))  // Si se ha llegado al final del fichero
+			LectorPLY.error("Fin de fichero inesperado en el cuerpo del fichero.");  // Error
+
+		saltarLinea();
+	}
+
+
+	/**
+	 * @brief	Salta los espacios y saltos de línea hasta el comienzo del siguiente token y lo deja completo en el buffer.
+	 * @return	La posición en el buffer del final del token.
+	 */
+
+	private int finToken(){
+		int longitud = 0;
+
+
+		// Espacios previos al token
+		while (true){
+			if (!buffer.hasRemaining()  &&  !rellenar(1))  // Si se ha llegado al final del fichero
+				LectorPLY.error("Fin de fichero inesperado en el cuerpo del fichero.");  // Error
+
+			byte c = buffer.get(buffer.position());
+
+			if (c != ' '  &&  c != '\t'  &&  c != '\r'  &&  c != '\n')
+				break;
+
+			buffer.position(buffer.position() + 1);
+		}
+
+		// Final del token
+		while (true){
+			int fin = buffer.limit();
+			int i = buffer.position() + longitud;
+			byte c;
+
+			while (i < fin  &&  (c = buffer.get(i)) != ' '  &&  c != '\t'  &&  c != '\r'  &&  c != '\n')
+				i++;
+
+			longitud = i - buffer.position();
+
+			if (i < fin  ||  !rellenar(longitud + 1))  // Si el token está completo en el buffer
+				return buffer.position() + longitud;
+		}
+	}
+
+
+	/**
+	 * @brief	Lee un número real en formatos poco habituales.
+	 * @param	in	fin Posición en el buffer del final del token.
+	 * @return	El número leído.
+	 */
+
+	private double leerDoubleLento (int fin){
+		int longitud = fin - buffer.position();
+		double valor = 0;
+
+
+		if (longitud > linea.length)
+			linea = new byte[longitud];
+
+		buffer.get(linea, 0, longitud);
+
+		String token = new String(linea, 0, longitud, StandardCharsets.US_ASCII);
+
+		switch (token.toLowerCase(Locale.ROOT)){  // Valores especiales que escriben otras bibliotecas
+			case "nan":  case "+nan":  case "-nan":
+				return Double.NaN;
+
+			case "inf":  case "+inf":  case "infinity":  case "+infinity":
+				return Double.POSITIVE_INFINITY;
+
+			case "-inf":  case "-infinity":
+				return Double.NEGATIVE_INFINITY;
+
+			default:
+				break;
+		}
+
+		try{
+			valor = Double.parseDouble(token);
+		}
+
+		catch (NumberFormatException e){  // Capturo la excepción
+			LectorPLY.error("Valor numérico incorrecto: '" + token + "'.");  // Error
+		}
+
+
+		return valor;
+	}
+
+
+	/**
+	 * @brief	Rellena el buffer hasta que tenga disponibles los bytes indicados o termina con un error.
+	 * @param	in	bytes Número de bytes que deben quedar disponibles en el buffer.
+	 */
+
+	void asegurar (int bytes){
+		if (!rellenar(bytes))  // Si no quedan suficientes bytes
+			LectorPLY.error("Fin de fichero inesperado en el cuerpo del fichero.");  // Error
+	}
+
+
+	/**
+	 * @brief	Lee un valor binario.
+	 * @param	in	tipo Tipo de dato del valor.
+	 * @return	El valor leído.
+	 * @note	El orden de los bytes (little o big endian) es el del buffer.
+	 */
+
+	double leerValor (int tipo){
+		asegurar(PropiedadPLY.tamano(tipo));
+
+		switch (tipo){
+			case PropiedadPLY.TIPO_CHAR:   return buffer.get();
+			case PropiedadPLY.TIPO_UCHAR:  return buffer.get() & 0xFF;
+			case PropiedadPLY.TIPO_SHORT:  return buffer.getShort();
+			case PropiedadPLY.TIPO_USHORT: return buffer.getShort() & 0xFFFF;
+			case PropiedadPLY.TIPO_INT:    return buffer.getInt();
+			case PropiedadPLY.TIPO_UINT:   return buffer.getInt() & 0xFFFFFFFFL;
+			case PropiedadPLY.TIPO_FLOAT:  return buffer.getFloat();
+			default:                       return buffer.getDouble();
+		}
+	}
+
+
+	/**
+	 * @brief	Salta bytes sin decodificarlos.
+	 * @param	in	bytes Número de bytes a saltar.
+	 */
+
+	void saltar (int bytes){
+		asegurar(bytes);
+
+		buffer.position(buffer.position() + bytes);
+	}
+
+
+	/**
+	 * @brief	Indica si quedan por leer al menos unos bytes del fichero.
+	 * @param	in	bytes Número de bytes.
+	 * @return	true si quedan al menos esos bytes; false si antes se llega al final del fichero.
+	 * @note	Si se conoce el tamaño del fichero no se lee nada. Si no (un flujo), el buffer se rellena poco a poco, por lo que solo crece con
+				los bytes que realmente tiene el fichero, y a partir de Integer.MAX_VALUE / 2 bytes se da por bueno.
+	 */
+
+	boolean quedan (long bytes){
+		if (buffer.remaining() >= bytes)  // Si ya están en el buffer
+			return true;
+
+		if (canal == null)  // Si el fichero completo ya está en el buffer
+			return false;
+
+		if (canal instanceof SeekableByteChannel){  // Si se conoce el tamaño del fichero
+			try{
+				return ((SeekableByteChannel) canal).size() - posicion() >= bytes;
+			}
+
+			catch (IOException e){  // Capturo la excepción
+				throw new ExcepcionLecturaPLY("Error de lectura del fichero.", e);
+			}
+		}
+
+		while (buffer.remaining() < bytes  &&  buffer.remaining() < Integer.MAX_VALUE / 2)  // Como mucho duplico los bytes del buffer cada vez
+			if (!rellenar((int) Math.min(bytes, Math.max(buffer.capacity(), 2L * buffer.remaining()))))
+				return false;
+
+
+		return true;
+	}
+
+
+	/**
+	 * @brief	Devuelve los bytes que quedan por leer del fichero.
+	 * @return	Los bytes que quedan si se conoce el tamaño del fichero; si no (un flujo), los que ya hay en el buffer.
+	 * @note	Sirve para no reservar memoria según la cabecera para más valores de los que puede tener el fichero.
+	 */
+
+	long restantes(){
+		if (canal instanceof SeekableByteChannel){  // Si se conoce el tamaño del fichero
+			try{
+				return ((SeekableByteChannel) canal).size() - posicion();
+			}
+
+			catch (IOException e){  // Capturo la excepción
+				throw new ExcepcionLecturaPLY("Error de lectura del fichero.", e);
+			}
+		}
+
+
+		return buffer.remaining();
+	}
+
+
+	/**
+	 * @brief	Devuelve el resto del fichero completo en un buffer y lo da por consumido.
+	 * @return	Un buffer desde el siguiente byte a leer hasta el final del fichero.
+	 * @note	Si el fichero se lee de un canal, se lee entero en memoria.
+	 */
+
+	ByteBuffer restante(){
+		if (canal != null)  // Leo el resto del canal
+			while (rellenar(buffer.remaining() + 1));  // Cada llamada amplía el buffer si hace falta
+
+		ByteBuffer resto = buffer.slice();
+
+		buffer.position(buffer.limit());
+
+
+		return resto;
+	}
+
+
+	/**
+	 * @brief	Introduce el orden de los bytes de los valores binarios.
+	 * @param	in	orden Orden de los bytes.
+	 */
+
+	void orden (ByteOrder orden){
+		buffer.order(orden);
+	}
+
+
+	/**
+	 * @brief	Devuelve la posición en el fichero del siguiente byte a leer.
+	 * @return	La posición en bytes desde el comienzo del fichero.
+	 */
+
+	long posicion(){
+		return desplazamiento + buffer.position();
+	}
+
+
+	/// Cierra el canal del que se lee el fichero, si lo hay.
+
+	@Override
+	public void close() throws IOException{
+		if (canal != null)
+			canal.close();
+	}
+
+}
@@ -0,0 +1,358 @@
+/**
+ * @class	anibal.ingenieroenfurecido.utilidades.Envolvente
+ * @brief	Caja alineada con los ejes y esfera que envuelven los vértices de un modelo.
+ * @author	Aníbal García García
+ * @date	17/10/2026
+ * @see		ModeloPLY
+ * @see		Vertice
+ * @note	Es inmutable: se calcula entera con calcular() y después solo se consulta, así que se puede compartir entre hilos.
+ * @note	La esfera tiene como centro el de la caja y como radio la mayor distancia de ese centro a los vértices, de modo que no depende
+				del orden de los vértices y nunca es mayor que la que circunscribe a la caja. La distancia se calcula en doubles desde el centro
+				ya redondeado a floats, con un margen para el redondeo de las restas, y el radio se redondea hacia arriba, así que todos
+				los vértices quedan dentro.
+ * @note	LectorPLY solo amplía la caja mientras lee los vértices (unas comparaciones por vértice, que en la lectura en paralelo hace cada
+				trozo con la suya); la esfera se calcula con una pasada más por los vértices ya leídos, en paralelo, antes de devolver el modelo.
+				calcular() con un buffer sin caja hace antes otra pasada para la caja.
+ * @note	Copyright 2014 Aníbal García García <anibal_garcia_garcia@outlook.com>
+ * @note	This program is free software: you can redistribute it and/or modify
+			it under the terms of the GNU General Public License as published by
+			the Free Software Foundation, either version 3 of the License, or
+			(at your option) any later version.
+ * @note	This program is distributed in the hope that it will be useful,
+			but WITHOUT ANY WARRANTY; without even the implied warranty of
+			MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+			GNU General Public License for more details.
+ * @note	You should have received a copy of the GNU General Public License
+			along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package utilidades;
+
+
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+
+public final class Envolvente {
+
+	/// Número de floats de valores(): mínimo y máximo de la caja, centro y radio de la esfera.
+	static final int numValores = 10;
+
+	/// Esquina mínima de la caja.
+	private final float minimoX, minimoY, minimoZ;
+
+	/// Esquina máxima de la caja.
+	private final float maximoX, maximoY, maximoZ;
+
+	/// Centro de la esfera.
+	private final float centroX, centroY, centroZ;
+
+	/// Radio de la esfera; -1 si la envolvente está vacía.
+	private final float radio;
+
+
+
+	/**
+	 * @brief	Constructor con los valores de una envolvente.
+	 * @param	in	valores Valores devueltos por valores().
+	 * @note	Lo utilizan calcular() y CachePLY, que así no vuelve a calcular la envolvente de un modelo guardado.
+	 */
+
+	Envolvente (float[] valores){
+		minimoX = valores[0];
+		minimoY = valores[1];
+		minimoZ = valores[2];
+		maximoX = valores[3];
+		maximoY = valores[4];
+		maximoZ = valores[5];
+		centroX = valores[6];
+		centroY = valores[7];
+		centroZ = valores[8];
+		radio = valores[9];
+	}
+
+
+	/**
+	 * @brief	Calcula la envolvente de las coordenadas de unos vértices.
+	 * @param	in	vertices Array con las coordenadas x, y y z de cada vértice al principio de sus floats.
+	 * @param	in	paso Floats por vértice (3 si solo hay coordenadas; más si los atributos están intercalados).
+	 * @return	La envolvente de todos los vértices del array.
+	 */
+
+	public static Envolvente calcular (float[] vertices, int paso){
+		return calcular(FloatBuffer.wrap(vertices), paso);  // calcular(FloatBuffer, int)
+	}
+
+
+	/**
+	 * @brief	Calcula la envolvente de las coordenadas de unos vértices.
+	 * @param	in	vertices Buffer con las coordenadas x, y y z de cada vértice al principio de sus floats, desde la posición 0 hasta el límite.
+	 * @param	in	paso Floats por vértice (3 si solo hay coordenadas; más si los atributos están intercalados).
+	 * @return	La envolvente de todos los vértices del buffer.
+	 * @note	Sirve con buffers directos (como los de ModeloPLY) y con buffers respaldados por arrays; solo hace lecturas absolutas,
+				así que no cambia la posición del buffer.
+	 */
+
+	public static Envolvente calcular (FloatBuffer vertices, int paso){
+		return calcular(vertices, paso, null);  // calcular(FloatBuffer, int, float[])
+	}
+
+
+	/**
+	 * @brief	Calcula la envolvente de las coordenadas de unos vértices de los que ya se conoce la caja.
+	 * @param	in	vertices Buffer con las coordenadas x, y y z de cada vértice al principio de sus floats, desde la posición 0 hasta el límite.
+	 * @param	in	paso Floats por vértice.
+	 * @param	in	caja Caja de los vértices (la de cajaVacia() ampliada con ampliar() y unir()); null para calcularla.
+	 * @return	La envolvente de todos los vértices del buffer.
+	 * @note	Los vértices se reparten en trozos que se procesan en paralelo en ForkJoinPool.commonPool(): una pasada para la caja,
+				si no se conoce, y otra para el radio de la esfera.
+	 * @note	Lanza IllegalArgumentException si el paso es menor que 3.
+	 */
+
+	static Envolvente calcular (final FloatBuffer vertices, final int paso, float[] caja){
+		if (paso < 3)
+			throw new IllegalArgumentException("Paso de los vértices menor que 3: " + paso + ".");
+
+		final int num_vertices = vertices.limit() / paso;
+		final int num_trozos = GeneradorNormales.numeroTrozos(num_vertices, 1);
+		final float[][] cajas = new float[num_trozos][];  // Caja de cada trozo
+		final double[] mayores = new double[num_trozos];  // Mayor distancia al cuadrado al centro en cada trozo
+		List <Callable <Void>> tareas = new ArrayList <>();
+
+
+		if (caja == null){  // 1ª pasada: la caja
+			caja = cajaVacia();
+
+			for (int k = 0; k < num_trozos; k++){
+				final int trozo = k;
+
+				tareas.add(() -> {
+					cajas[trozo] = cajaTrozo(vertices, paso, inicioTrozo(num_vertices, trozo, num_trozos), inicioTrozo(num_vertices, trozo + 1, num_trozos));
+
+					return null;
+				});
+			}
+
+			GeneradorNormales.ejecutar(tareas);
+			tareas.clear();
+
+			for (float[] caja_trozo : cajas)
+				unir(caja, caja_trozo);
+		}
+
+		if (!(caja[0] <= caja[3]))  // Sin vértices
+			return new Envolvente(new float[] {caja[0], caja[1], caja[2], caja[3], caja[4], caja[5], 0, 0, 0, -1});
+
+		// Centro de la caja, ya en floats
+		final float x = (float) (0.5 * ((double) caja[0] + caja[3])), y = (float) (0.5 * ((double) caja[1] + caja[4])), z = (float) (0.5 * ((double) caja[2] + caja[5]));
+
+		for (int k = 0; k < num_trozos; k++){  // 2ª pasada: la mayor distancia al centro
+			final int trozo = k;
+
+			tareas.add(() -> {
+				mayores[trozo] = distanciaTrozo(vertices, paso, inicioTrozo(num_vertices, trozo, num_trozos), inicioTrozo(num_vertices, trozo + 1, num_trozos), x, y, z);
+
+				return null;
+			});
+		}
+
+		GeneradorNormales.ejecutar(tareas);
+
+		double mayor = 0;
+
+		for (double mayor_trozo : mayores)
+			mayor = Math.max(mayor, mayor_trozo);
+
+		double radio_esfera = Math.sqrt(mayor) * (1 + 0x1p-22);  // Margen para el error de las restas en float
+		float redondeado = (float) radio_esfera;
+
+
+		return new Envolvente(new float[] {caja[0], caja[1], caja[2], caja[3], caja[4], caja[5], x, y, z, (redondeado < radio_esfera) ? Math.nextUp(redondeado) : redondeado});
+	}
+
+
+	/**
+	 * @brief	Crea una caja vacía para ampliarla con ampliar() y unir().
+	 * @return	Un array con la esquina mínima (infinitos positivos) y la máxima (infinitos negativos).
+	 */
+
+	static float[] cajaVacia(){
+		return new float[] {Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY};
+	}
+
+
+	/**
+	 * @brief	Amplía una caja con un vértice.
+	 * @param	in,out	caja Caja a ampliar (esquina mínima y esquina máxima).
+	 * @param	in	x Coordenada x del vértice.
+	 * @param	in	y Coordenada y del vértice.
+	 * @param	in	z Coordenada z del vértice.
+	 * @note	Compara en vez de llamar a Math.min() y Math.max(), que con floats son el doble de lentos (por los NaN, que así no amplían la caja).
+	 */
+
+	static void ampliar (float[] caja, float x, float y, float z){
+		if (x < caja[0])
+			caja[0] = x;
+
+		if (x > caja[3])
+			caja[3] = x;
+
+		if (y < caja[1])
+			caja[1] = y;
+
+		if (y > caja[4])
+			caja[4] = y;
+
+		if (z < caja[2])
+			caja[2] = z;
+
+		if (z > caja[5])
+			caja[5] = z;
+	}
+
+
+	/**
+	 * @brief	Amplía una caja con otra.
+	 * @param	in,out	caja Caja a ampliar.
+	 * @param	in	otra Caja a unir.
+	 */
+
+	static void unir (float[] caja, float[] otra){
+		for (int i = 0; i < 3; i++){
+			caja[i] = Math.min(caja[i], otra[i]);
+			caja[i + 3] = Math.max(caja[i + 3], otra[i + 3]);
+		}
+	}
+
+
+	/**
+	 * @brief	Calcula la caja de un trozo de vértices.
+	 * @param	in	vertices Buffer con los vértices.
+	 * @param	in	paso Floats por vértice.
+	 * @param	in	inicio Primer vértice del trozo.
+	 * @param	in	fin Vértice siguiente al último del trozo.
+	 * @return	La caja de los vértices del trozo.
+	 */
+
+	private static float[] cajaTrozo (FloatBuffer vertices, int paso, int inicio, int fin){
+		float[] caja = cajaVacia();
+
+
+		for (int i = inicio * paso; i < fin * paso; i += paso)
+			ampliar(caja, vertices.get(i), vertices.get(i + 1), vertices.get(i + 2));
+
+
+		return caja;
+	}
+
+
+	/**
+	 * @brief	Calcula la mayor distancia al cuadrado de un punto a un trozo de vértices.
+	 * @param	in	vertices Buffer con los vértices.
+	 * @param	in	paso Floats por vértice.
+	 * @param	in	inicio Primer vértice del trozo.
+	 * @param	in	fin Vértice siguiente al último del trozo.
+	 * @param	in	x Coordenada x del punto.
+	 * @param	in	y Coordenada y del punto.
+	 * @param	in	z Coordenada z del punto.
+	 * @return	La mayor distancia al cuadrado.
+	 * @note	Las diferencias se restan en float (con un error relativo de 2^-24 como mucho, que calcular() compensa al redondear el radio)
+				y se elevan al cuadrado y se suman en double, por lo que no se desbordan. Restar en double es el doble de lento.
+	 */
+
+	private static double distanciaTrozo (FloatBuffer vertices, int paso, int inicio, int fin, float x, float y, float z){
+		double mayor = 0;
+
+
+		for (int i = inicio * paso; i < fin * paso; i += paso){
+			float dx = vertices.get(i) - x, dy = vertices.get(i + 1) - y, dz = vertices.get(i + 2) - z;
+
+			mayor = Math.max(mayor, (double) dx * dx + (double) dy * dy + (double) dz * dz);
+		}
+
+
+		return mayor;
+	}
+
+
+	/**
+	 * @brief	Calcula el primer vértice de un trozo.
+	 * @param	in	num_vertices Número de vértices.
+	 * @param	in	trozo Trozo (num_trozos para el final del último).
+	 * @param	in	num_trozos Número de trozos.
+	 * @return	La posición del primer vértice del trozo.
+	 */
+
+	private static int inicioTrozo (int num_vertices, int trozo, int num_trozos){
+		return (int) ((long) num_vertices * trozo / num_trozos);
+	}
+
+
+	/**
+	 * @brief	Indica si la envolvente está vacía.
+	 * @return	true si no hay ningún vértice; false en caso contrario.
+	 */
+
+	public boolean vacia(){
+		return !(minimoX <= maximoX);
+	}
+
+
+	/**
+	 * @brief	Devuelve la esquina mínima de la caja.
+	 * @return	Un vértice con las coordenadas x, y y z mínimas; null si la envolvente está vacía.
+	 */
+
+	public Vertice minimo(){
+		return vacia() ? null : new Vertice(minimoX, minimoY, minimoZ);
+	}
+
+
+	/**
+	 * @brief	Devuelve la esquina máxima de la caja.
+	 * @return	Un vértice con las coordenadas x, y y z máximas; null si la envolvente está vacía.
+	 */
+
+	public Vertice maximo(){
+		return vacia() ? null : new Vertice(maximoX, maximoY, maximoZ);
+	}
+
+
+	/**
+	 * @brief	Devuelve el centro de la esfera.
+	 * @return	El centro de la esfera (el de la caja); null si la envolvente está vacía.
+	 */
+
+	public Vertice centro(){
+		return vacia() ? null : new Vertice(centroX, centroY, centroZ);
+	}
+
+
+	/**
+	 * @brief	Devuelve el radio de la esfera.
+	 * @return	El radio de la esfera, redondeado hacia arriba para que contenga a todos los vértices; -1 si la envolvente está vacía.
+	 */
+
+	public float radio(){
+		return radio;
+	}
+
+
+	/**
+	 * @brief	Devuelve todos los valores de la envolvente.
+	 * @return	Un array con la esquina mínima, la esquina máxima, el centro y el radio (numValores floats).
+	 */
+
+	float[] valores(){
+		return new float[] {minimoX, minimoY, minimoZ, maximoX, maximoY, maximoZ, centroX, centroY, centroZ, radio};
+	}
+
+
+	@Override
+	public String toString(){
+		return (getClass().getName() + ": caja " + minimo() + " - " + maximo() + ", esfera " + centro() + " r = " + radio());
+	}
+
+}
@@ -0,0 +1,691 @@
+/**
+ * @class	anibal.ingenieroenfurecido.utilidades.EscritorPLY
+ * @brief	Escribe un fichero ply.
+ * @author	Aníbal García García
+ * @date	17/10/2026
+ * @see		LectorPLY
+ * @note	Escribe ficheros ply en formato ascii, binary_little_endian y binary_big_endian.
+ * @note	Los métodos estáticos escribir() guardan un modelo completo: los mismos arrays que devuelve LectorPLY.leer() o un ModeloPLY con sus atributos.
+ * @note	Para escribir por partes se crea un escritor, se declara la cabecera con elemento(), propiedad() y lista(), y se pasan los valores
+				de cada fila en el orden de la cabecera con valor(), con las listas precedidas de su longitud (el mismo orden que LotePLY).
+				Los valores pasan por un buffer de tamaño fijo que se vuelca en el canal al llenarse, por lo que el fichero nunca está completo en memoria.
+ * @note	Los errores de escritura lanzan una UncheckedIOException; los usos incorrectos (valores de más o de menos, cabecera ya escrita), una IllegalStateException.
+ * @note	Copyright 2014 Aníbal García García <anibal_garcia_garcia@outlook.com>
+ * @note	This program is free software: you can redistribute it and/or modify
+			it under the terms of the GNU General Public License as published by
+			the Free Software Foundation, either version 3 of the License, or
+			(at your option) any later version.
+ * @note	This program is distributed in the hope that it will be useful,
+			but WITHOUT ANY WARRANTY; without even the implied warranty of
+			MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+			GNU General Public License for more details.
+ * @note	You should have received a copy of the GNU General Public License
+			along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package utilidades;
+
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+
+public final class EscritorPLY implements AutoCloseable {
+
+	/// Formatos del fichero ply.
+	public static final int FORMATO_ASCII = 0;
+	public static final int FORMATO_BINARIO_LE = 1;  // binary_little_endian
+	public static final int FORMATO_BINARIO_BE = 2;  // binary_big_endian
+
+	/// Tamaño del buffer de escritura.
+	private static final int tamanoBufferEscritura = 64 * 1024;
+
+	/// Bytes que se reservan en el buffer para cada valor (el mayor es un double en ascii).
+	private static final int tamanoMaximoValor = 32;
+
+	/// Canal en el que se escribe el fichero.
+	private final WritableByteChannel canal;
+
+	/// Buffer de escritura, en el orden de bytes del formato.
+	private final ByteBuffer salida;
+
+	/// Formato del fichero.
+	private final int formato;
+
+	/// Comentarios de la cabecera.
+	private final ArrayList <String> comentarios = new ArrayList <>();
+
+	/// Elementos de la cabecera.
+	private final ArrayList <ElementoPLY> elementos = new ArrayList <>();
+
+	/// Si ya se ha escrito la cabecera.
+	private boolean cabeceraEscrita;
+
+	/// Si ya se ha cerrado el escritor.
+	private boolean cerrado;
+
+	/// Elemento, fila y propiedad del siguiente valor.
+	private int elementoActual, propiedadActual;
+	private long filaActual;
+
+	/// Valores que faltan de la lista en curso; -1 si el siguiente valor es la longitud de una lista o una propiedad escalar.
+	private long restantesLista = -1;
+
+	/// Si el siguiente valor ascii va detrás de otro de la misma fila.
+	private boolean separar;
+
+	/// Dígitos de un entero, para escribirlos sin crear objetos.
+	private final byte[] digitos = new byte[20];
+
+
+
+	/**
+	 * @brief	Constructor.
+	 * @param	in	canal Canal en el que se escribe el fichero; se cierra con close().
+	 * @param	in	formato FORMATO_ASCII, FORMATO_BINARIO_LE o FORMATO_BINARIO_BE.
+	 */
+
+	public EscritorPLY (WritableByteChannel canal, int formato){
+		this.canal = canal;
+		this.formato = formato;
+		salida = ByteBuffer.allocate(tamanoBufferEscritura).order((formato == FORMATO_BINARIO_BE) ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+	}
+
+
+	/**
+	 * @brief	Constructor.
+	 * @param	in	fichero Ruta del fichero ply; si ya existe, se sobrescribe.
+	 * @param	in	formato FORMATO_ASCII, FORMATO_BINARIO_LE o FORMATO_BINARIO_BE.
+	 */
+
+	public EscritorPLY (Path fichero, int formato){
+		this(abrirFichero(fichero), formato);  // EscritorPLY(WritableByteChannel, int)
+	}
+
+
+	/**
+	 * @brief	Escribe un modelo en un fichero ply.
+	 * @param	in	fichero Ruta del fichero ply; si ya existe, se sobrescribe.
+	 * @param	in	vertices Coordenadas x, y y z de cada vértice, como las devuelve LectorPLY.leer().
+	 * @param	in	indices Índices de los vértices de cada triángulo, como los devuelve LectorPLY.leer().
+	 * @param	in	formato FORMATO_ASCII, FORMATO_BINARIO_LE o FORMATO_BINARIO_BE.
+	 */
+
+	public static void escribir (Path fichero, float[] vertices, int[] indices, int formato){
+		escribir(fichero, modelo(vertices, IntBuffer.wrap(indices)), formato);
+	}
+
+
+	/**
+	 * @brief	Escribe un modelo en un fichero ply.
+	 * @param	in	fichero Ruta del fichero ply; si ya existe, se sobrescribe.
+	 * @param	in	vertices Coordenadas x, y y z de cada vértice, como las devuelve LectorPLY.leer().
+	 * @param	in	indices Índices de los vértices de cada triángulo, como los devuelve LectorPLY.leer().
+	 * @param	in	formato FORMATO_ASCII, FORMATO_BINARIO_LE o FORMATO_BINARIO_BE.
+	 */
+
+	public static void escribir (Path fichero, float[] vertices, short[] indices, int formato){
+		escribir(fichero, modelo(vertices, ShortBuffer.wrap(indices)), formato);
+	}
+
+
+	/**
+	 * @brief	Escribe un modelo en un fichero ply.
+	 * @param	in	fichero Ruta del fichero ply; si ya existe, se sobrescribe.
+	 * @param	in	modelo Modelo a escribir, con sus normales, colores y coordenadas de textura si los tiene.
+	 * @param	in	formato FORMATO_ASCII, FORMATO_BINARIO_LE o FORMATO_BINARIO_BE.
+	 * @note	Las coordenadas, normales y coordenadas de textura se escriben como float y los colores como uchar (entre 0 y 255),
+				de modo que LectorPLY vuelve a leer el mismo modelo. Las caras se escriben tal como están en los índices, con la longitud
+				de sus listas como uchar, o como int si tienen más de 255 vértices.
+	 */
+
+	public static void escribir (Path fichero, ModeloPLY modelo, int formato){
+		int vertices_por_cara = modelo.verticesPorCara();
+		boolean normales = (modelo.desplazamientoNormales() >= 0), colores = (modelo.componentesColor() > 0), texturas = (modelo.desplazamientoTexturas() >= 0);
+
+
+		try (EscritorPLY escritor = new EscritorPLY(fichero, formato)){
+			// Cabecera
+			if (modelo.comentario() != null)
+				escritor.comentario(modelo.comentario());
+
+			escritor.elemento("vertex", modelo.numVertices());
+			escritor.propiedad("x", PropiedadPLY.TIPO_FLOAT);
+			escritor.propiedad("y", PropiedadPLY.TIPO_FLOAT);
+			escritor.propiedad("z", PropiedadPLY.TIPO_FLOAT);
+
+			if (normales){
+				escritor.propiedad("nx", PropiedadPLY.TIPO_FLOAT);
+				escritor.propiedad("ny", PropiedadPLY.TIPO_FLOAT);
+				escritor.propiedad("nz", PropiedadPLY.TIPO_FLOAT);
+			}
+
+			if (colores){
+				escritor.propiedad("red", PropiedadPLY.TIPO_UCHAR);
+				escritor.propiedad("green", PropiedadPLY.TIPO_UCHAR);
+				escritor.propiedad("blue", PropiedadPLY.TIPO_UCHAR);
+
+				if (modelo.componentesColor() == 4)
+					escritor.propiedad("alpha", PropiedadPLY.TIPO_UCHAR);
+			}
+
+			if (texturas){
+				escritor.propiedad("u", PropiedadPLY.TIPO_FLOAT);
+				escritor.propiedad("v", PropiedadPLY.TIPO_FLOAT);
+			}
+
+			escritor.elemento("face", modelo.numIndices() / vertices_por_cara);
+			escritor.lista("vertex_indices", (vertices_por_cara <= PropiedadPLY.maximo(PropiedadPLY.TIPO_UCHAR)) ? PropiedadPLY.TIPO_UCHAR : PropiedadPLY.TIPO_INT, PropiedadPLY.TIPO_INT);
+
+			// Vértices
+			for (int i = 0; i < modelo.numVertices(); i++){  // Para cada vértice del modelo
+				for (int c = 0; c < 3; c++)
+					escritor.valor(modelo.vertices().get(i * modelo.paso() + c));
+
+				if (normales)
+					for (int c = 0; c < 3; c++)
+						escritor.valor(atributo(modelo, modelo.normales(), 3, modelo.desplazamientoNormales(), i, c));
+
+				if (colores)
+					for (int c = 0; c < modelo.componentesColor(); c++)
+						escritor.valor(Math.min(255, Math.max(0, Math.round(atributo(modelo, modelo.colores(), modelo.componentesColor(), modelo.desplazamientoColores(), i, c) * 255))));
+
+				if (texturas)
+					for (int c = 0; c < 2; c++)
+						escritor.valor(atributo(modelo, modelo.texturas(), 2, modelo.desplazamientoTexturas(), i, c));
+			}
+
+			// Caras
+			Buffer indices = modelo.indices();
+
+			for (int i = 0; i < modelo.numIndices(); i++){  // Para cada índice de cada cara
+				if (i % vertices_por_cara == 0)  // Longitud de la lista al comienzo de cada cara
+					escritor.valor(vertices_por_cara);
+
+				escritor.valor((indices instanceof IntBuffer) ? ((IntBuffer) indices).get(i) : ((ShortBuffer) indices).get(i));
+			}
+		}
+	}
+
+
+	/**
+	 * @brief	Añade un comentario a la cabecera.
+	 * @param	in	comentario Comentario, de una línea.
+	 * @note	Lanza IllegalArgumentException si el comentario tiene algún salto de línea, que rompería la cabecera.
+	 */
+
+	public void comentario (String comentario){
+		comprobarCabecera();
+
+		if (comentario.indexOf('\n') >= 0  ||  comentario.indexOf('\r') >= 0)
+			throw new IllegalArgumentException("El comentario de la cabecera no puede tener saltos de línea.");
+
+		comentarios.add(comentario);
+	}
+
+
+	/**
+	 * @brief	Añade un elemento a la cabecera.
+	 * @param	in	nombre Nombre del elemento (por ejemplo "vertex" o "face").
+	 * @param	in	numero Número de filas del elemento.
+	 * @note	Las propiedades que se añadan a continuación son de este elemento.
+	 */
+
+	public void elemento (String nombre, int numero){
+		comprobarCabecera();
+
+		elementos.add(new ElementoPLY(nombre, numero));
+	}
+
+
+	/**
+	 * @brief	Añade una propiedad escalar al último elemento de la cabecera.
+	 * @param	in	nombre Nombre de la propiedad (por ejemplo "x").
+	 * @param	in	tipo Tipo de dato (PropiedadPLY.TIPO_*).
+	 */
+
+	public void propiedad (String nombre, int tipo){
+		ultimoElemento().anadir(new PropiedadPLY(nombre, tipo));
+	}
+
+
+	/**
+	 * @brief	Añade una propiedad de tipo lista al último elemento de la cabecera.
+	 * @param	in	nombre Nombre de la propiedad (por ejemplo "vertex_indices").
+	 * @param	in	tipoLongitud Tipo de dato de la longitud de la lista (PropiedadPLY.TIPO_*, normalmente TIPO_UCHAR).
+	 * @param	in	tipo Tipo de dato de los elementos de la lista (PropiedadPLY.TIPO_*).
+	 */
+
+	public void lista (String nombre, int tipoLongitud, int tipo){
+		ultimoElemento().anadir(new PropiedadPLY(nombre, tipoLongitud, tipo));
+	}
+
+
+	/**
+	 * @brief	Escribe el siguiente valor.
+	 * @param	in	valor Valor de la siguiente propiedad de la fila en curso, que se convierte a su tipo de dato.
+	 * @note	Los valores se pasan fila a fila y en el orden de las propiedades de la cabecera; de cada lista, 1º su longitud y después sus elementos.
+				La cabecera se escribe con el 1º valor y ya no se puede cambiar.
+	 * @note	Lanza IllegalArgumentException si el valor no cabe en el tipo de dato de su propiedad (por ejemplo, 256 en un uchar),
+				en lugar de escribir otro valor.
+	 */
+
+	public void valor (double valor){
+		if (!cabeceraEscrita)
+			escribirCabecera();
+
+		if (elementoActual == elementos.size())  // Si ya se han escrito todas las filas
+			throw new IllegalStateException("Sobran valores: ya se han escrito todas las filas de todos los elementos.");
+
+		PropiedadPLY propiedad = elementos.get(elementoActual).propiedades().get(propiedadActual);
+		boolean terminada;  // Si se ha terminado la propiedad
+
+
+		if (!propiedad.esLista()){  // Propiedad escalar
+			escribirNumero(comprobarValor(valor, propiedad.tipo(), propiedad), propiedad.tipo());
+			terminada = true;
+		}
+
+		else if (restantesLista < 0){  // Longitud de una lista
+			if (valor < 0)
+				throw new IllegalArgumentException("Longitud negativa en la lista '" + propiedad.nombre() + "'.");
+
+			escribirNumero(comprobarValor(valor, propiedad.tipoLongitud(), propiedad), propiedad.tipoLongitud());
+			restantesLista = (long) valor;
+			terminada = (restantesLista == 0);
+		}
+
+		else{  // Elemento de una lista
+			escribirNumero(comprobarValor(valor, propiedad.tipo(), propiedad), propiedad.tipo());
+			terminada = (--restantesLista == 0);
+		}
+
+		if (terminada){
+			restantesLista = -1;
+			siguientePropiedad();
+		}
+	}
+
+
+	/**
+	 * @brief	Escribe varios valores seguidos.
+	 * @param	in	valores Array con los valores.
+	 * @param	in	inicio Posición del 1º valor.
+	 * @param	in	numero Número de valores.
+	 * @note	Sirve para volver a escribir las filas de un LotePLY: valores(lote.valores(), lote.inicio(fila), lote.numValores(fila)).
+	 * @see		valor(double)
+	 */
+
+	public void valores (double[] valores, int inicio, int numero){
+		for (int i = inicio; i < inicio + numero; i++)
+			valor(valores[i]);
+	}
+
+
+	/**
+	 * @brief	Termina el fichero y cierra el canal.
+	 * @note	Escribe la cabecera si aún no se ha escrito y vuelca el buffer. Si faltan filas, el canal se cierra igualmente
+				y se lanza una IllegalStateException, porque el fichero no es correcto.
+	 */
+
+	@Override
+	public void close(){
+		if (cerrado)
+			return;
+
+		cerrado = true;
+
+		try{
+			if (!cabeceraEscrita)
+				escribirCabecera();
+
+			vaciar();
+		}
+
+		finally{
+			try{
+				canal.close();
+			}
+
+			catch (IOException e){  // Capturo la excepción
+				throw new UncheckedIOException("No se pudo cerrar el fichero ply.", e);
+			}
+		}
+
+		if (elementoActual < elementos.size())  // Si faltan filas
+			throw new IllegalStateException("Faltan filas: el elemento '" + elementos.get(elementoActual).nombre() + "' solo tiene " + filaActual
+					+ " de " + elementos.get(elementoActual).numero() + ".");
+	}
+
+
+	/**
+	 * @brief	Abre un fichero ply para escribirlo.
+	 * @param	in	fichero Ruta del fichero ply.
+	 * @return	El canal del fichero, vacío.
+	 */
+
+	private static FileChannel abrirFichero (Path fichero){
+		try{
+			return FileChannel.open(fichero, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+		}
+
+		catch (IOException e){  // Capturo la excepción
+			throw new UncheckedIOException("No se pudo abrir el fichero '" + fichero + "' para escritura.", e);
+		}
+	}
+
+
+	/**
+	 * @brief	Construye un modelo de triángulos con solo las coordenadas de los vértices.
+	 * @param	in	vertices Coordenadas x, y y z de cada vértice.
+	 * @param	in	indices Índices de los vértices de cada triángulo (ShortBuffer o IntBuffer).
+	 * @return	El modelo, que comparte los arrays.
+	 */
+
+	private static ModeloPLY modelo (float[] vertices, Buffer indices){
+		return new ModeloPLY(FloatBuffer.wrap(vertices), null, null, null, false, 3, -1, -1, -1, 0, indices, vertices.length / 3, indices.limit() / 3, 3, null, null);
+	}
+
+
+	/**
+	 * @brief	Devuelve una componente de un atributo de un vértice de un modelo.
+	 * @param	in	modelo Modelo.
+	 * @param	in	buffer Buffer del atributo si no está intercalado.
+	 * @param	in	componentes Componentes del atributo.
+	 * @param	in	desplazamiento Posición del atributo dentro de los floats de un vértice si está intercalado.
+	 * @param	in	vertice Vértice.
+	 * @param	in	componente Componente.
+	 * @return	El valor de la componente.
+	 */
+
+	private static float atributo (ModeloPLY modelo, FloatBuffer buffer, int componentes, int desplazamiento, int vertice, int componente){
+		if (modelo.intercalado())
+			return modelo.vertices().get(vertice * modelo.paso() + desplazamiento + componente);
+
+
+		return buffer.get(vertice * componentes + componente);
+	}
+
+
+	/**
+	 * @brief	Comprueba que aún se puede cambiar la cabecera.
+	 */
+
+	private void comprobarCabecera(){
+		if (cabeceraEscrita)
+			throw new IllegalStateException("La cabecera ya se ha escrito.");
+	}
+
+
+	/**
+	 * @brief	Devuelve el último elemento de la cabecera, al que se añaden las propiedades.
+	 * @return	El último elemento.
+	 */
+
+	private ElementoPLY ultimoElemento(){
+		comprobarCabecera();
+
+		if (elementos.isEmpty())
+			throw new IllegalStateException("Hay que añadir un elemento antes que sus propiedades.");
+
+
+		return elementos.get(elementos.size() - 1);
+	}
+
+
+	/**
+	 * @brief	Escribe la cabecera.
+	 * @note	Deja el escritor en la 1ª fila del 1º elemento que tiene filas.
+	 */
+
+	private void escribirCabecera(){
+		StringBuilder cabecera = new StringBuilder("ply\n");
+
+
+		cabeceraEscrita = true;
+
+		switch (formato){
+			case FORMATO_BINARIO_LE:
+				cabecera.append("format binary_little_endian 1.0\n");
+
+				break;
+
+			case FORMATO_BINARIO_BE:
+				cabecera.append("format binary_big_endian 1.0\n");
+
+				break;
+
+			default:
+				cabecera.append("format ascii 1.0\n");
+
+				break;
+		}
+
+		for (String comentario : comentarios)
+			cabecera.append("comment ").append(comentario).append('\n');
+
+		for (ElementoPLY elemento : elementos){
+			if (elemento.numero() > 0  &&  elemento.propiedades().isEmpty())
+				throw new IllegalStateException("El elemento '" + elemento.nombre() + "' tiene filas pero no tiene propiedades.");
+
+			cabecera.append("element ").append(elemento.nombre()).append(' ').append(elemento.numero()).append('\n');
+
+			for (PropiedadPLY propiedad : elemento.propiedades()){
+				if (propiedad.esLista())
+					cabecera.append("property list ").append(PropiedadPLY.nombreTipo(propiedad.tipoLongitud())).append(' ').append(PropiedadPLY.nombreTipo(propiedad.tipo()));
+
+				else
+					cabecera.append("property ").append(PropiedadPLY.nombreTipo(propiedad.tipo()));
+
+				cabecera.append(' ').append(propiedad.nombre()).append('\n');
+			}
+		}
+
+		cabecera.append("end_header\n");
+
+		for (byte b : cabecera.toString().getBytes(StandardCharsets.US_ASCII)){
+			asegurar(1);
+			salida.put(b);
+		}
+
+		// 1ª fila con datos
+		while (elementoActual < elementos.size()  &&  elementos.get(elementoActual).numero() == 0)
+			elementoActual++;
+	}
+
+
+	/**
+	 * @brief	Pasa a la siguiente propiedad, y a la siguiente fila y al siguiente elemento cuando se terminan.
+	 */
+
+	private void siguientePropiedad(){
+		if (++propiedadActual < elementos.get(elementoActual).propiedades().size())
+			return;
+
+		// Fin de la fila
+		if (formato == FORMATO_ASCII){
+			asegurar(1);
+			salida.put((byte) '\n');
+			separar = false;
+		}
+
+		propiedadActual = 0;
+		filaActual++;
+
+		while (elementoActual < elementos.size()  &&  filaActual == elementos.get(elementoActual).numero()){  // Fin del elemento
+			elementoActual++;
+			filaActual = 0;
+		}
+	}
+
+
+	/**
+	 * @brief	Comprueba que un valor cabe en un tipo de dato.
+	 * @param	in	valor Valor a escribir.
+	 * @param	in	tipo Tipo de dato (PropiedadPLY.TIPO_*).
+	 * @param	in	propiedad Propiedad del valor, para el mensaje de error.
+	 * @return	El propio valor.
+	 * @note	Lanza IllegalArgumentException si el valor no cabe en el tipo. En los tipos reales se admiten los infinitos y NaN, que
+				tienen representación; en los enteros, NaN no cabe.
+	 */
+
+	private static double comprobarValor (double valor, int tipo, PropiedadPLY propiedad){
+		boolean real = (tipo == PropiedadPLY.TIPO_FLOAT  ||  tipo == PropiedadPLY.TIPO_DOUBLE);
+
+
+		if (real  &&  (Double.isNaN(valor)  ||  Double.isInfinite(valor)))  // Valores especiales de los tipos reales
+			return valor;
+
+		if (!(valor >= PropiedadPLY.minimo(tipo)  &&  valor <= PropiedadPLY.maximo(tipo)))  // Fuera del tipo o NaN
+			throw new IllegalArgumentException("El valor " + valor + " no cabe en el tipo '" + PropiedadPLY.nombreTipo(tipo) + "' de la propiedad '" + propiedad.nombre() + "'.");
+
+
+		return valor;
+	}
+
+
+	/**
+	 * @brief	Escribe un número con un tipo de dato.
+	 * @param	in	valor Número a escribir.
+	 * @param	in	tipo Tipo de dato (PropiedadPLY.TIPO_*).
+	 */
+
+	private void escribirNumero (double valor, int tipo){
+		asegurar(tamanoMaximoValor);
+
+		if (formato == FORMATO_ASCII){  // Texto separado por espacios
+			if (separar)
+				salida.put((byte) ' ');
+
+			separar = true;
+
+			switch (tipo){
+				case PropiedadPLY.TIPO_FLOAT:
+					escribirTexto(Float.toString((float) valor));
+
+					break;
+
+				case PropiedadPLY.TIPO_DOUBLE:
+					escribirTexto(Double.toString(valor));
+
+					break;
+
+				default:  // Enteros
+					escribirEntero((long) valor);
+
+					break;
+			}
+		}
+
+		else{  // Binario en el orden de bytes del buffer
+			switch (tipo){
+				case PropiedadPLY.TIPO_CHAR:
+				case PropiedadPLY.TIPO_UCHAR:
+					salida.put((byte) (long) valor);
+
+					break;
+
+				case PropiedadPLY.TIPO_SHORT:
+				case PropiedadPLY.TIPO_USHORT:
+					salida.putShort((short) (long) valor);
+
+					break;
+
+				case PropiedadPLY.TIPO_INT:
+				case PropiedadPLY.TIPO_UINT:
+					salida.putInt((int) (long) valor);
+
+					break;
+
+				case PropiedadPLY.TIPO_FLOAT:
+					salida.putFloat((float) valor);
+
+					break;
+
+				default:  // TIPO_DOUBLE
+					salida.putDouble(valor);
+
+					break;
+			}
+		}
+	}
+
+
+	/**
+	 * @brief	Escribe un entero en ascii sin crear objetos.
+	 * @param	in	valor Entero a escribir.
+	 */
+
+	private void escribirEntero (long valor){
+		int n = 0;
+
+
+		if (valor < 0){
+			salida.put((byte) '-');
+			valor = -valor;
+		}
+
+		do{  // Dígitos de menor a mayor peso
+			digitos[n++] = (byte) ('0' + valor % 10);
+			valor /= 10;
+		} while (valor > 0);
+
+		while (n > 0)
+			salida.put(digitos[--n]);
+	}
+
+
+	/**
+	 * @brief	Escribe un texto ascii.
+	 * @param	in	texto Texto a escribir (por ejemplo un número real).
+	 */
+
+	private void escribirTexto (String texto){
+		for (int i = 0; i < texto.length(); i++)
+			salida.put((byte) texto.charAt(i));
+	}
+
+
+	/**
+	 * @brief	Vuelca el buffer en el canal si no caben los bytes indicados.
+	 * @param	in	bytes Número de bytes que se van a escribir en el buffer.
+	 */
+
+	private void asegurar (int bytes){
+		if (salida.remaining() < bytes)
+			vaciar();
+	}
+
+
+	/**
+	 * @brief	Vuelca el buffer en el canal.
+	 */
+
+	private void vaciar(){
+		salida.flip();
+
+		try{
+			while (salida.hasRemaining())
+				canal.write(salida);
+		}
+
+		catch (IOException e){  // Capturo la excepción
+			throw new UncheckedIOException("Error de escritura del fichero ply.", e);
+		}
+
+		salida.clear();
+	}
+
+}
@@ -0,0 +1,202 @@
+/**
+ * @class	anibal.ingenieroenfurecido.utilidades.ExcepcionLecturaPLY
+ * @brief	Error al leer un fichero ply.
+ * @author	Aníbal García García
+ * @date	17/10/2026
+ * @see		LectorPLY
+ * @note	Indica dónde se ha producido el error: fichero, posición en bytes, línea (solo en los ficheros ascii), elemento y fila del elemento.
+				Los datos que no se conocen valen null o -1.
+ * @note	Es una excepción no comprobada para que un cargador de varios ficheros pueda saltarse o volver a intentar un fichero incorrecto
+				sin que termine la aplicación.
+ * @note	Copyright 2014 Aníbal García García <anibal_garcia_garcia@outlook.com>
+ * @note	This program is free software: you can redistribute it and/or modify
+			it under the terms of the GNU General Public License as published by
+			the Free Software Foundation, either version 3 of the License, or
+			(at your option) any later version.
+ * @note	This program is distributed in the hope that it will be useful,
+			but WITHOUT ANY WARRANTY; without even the implied warranty of
+			MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+			GNU General Public License for more details.
+ * @note	You should have received a copy of the GNU General Public License
+			along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package utilidades;
+
+
+public class ExcepcionLecturaPLY extends RuntimeException {
+
+	/// Versión de la clase para la serialización.
+	private static final long serialVersionUID = 1L;
+
+	/// Nombre del fichero ply; null si no se conoce.
+	private String fichero;
+
+	/// Posición en bytes desde el comienzo del fichero; -1 si no se conoce.
+	private long posicion = -1;
+
+	/// Línea del fichero, empezando en 1; -1 si no se conoce o el cuerpo es binario.
+	private long linea = -1;
+
+	/// Nombre del elemento que se estaba leyendo; null si el error está en la cabecera.
+	private String elemento;
+
+	/// Fila del elemento que se estaba leyendo, empezando en 0; -1 si no se conoce.
+	private long fila = -1;
+
+
+
+	/**
+	 * @brief	Constructor.
+	 * @param	in	mensaje Mensaje de error.
+	 */
+
+	public ExcepcionLecturaPLY (String mensaje){
+		super(mensaje);
+	}
+
+
+	/**
+	 * @brief	Constructor.
+	 * @param	in	mensaje Mensaje de error.
+	 * @param	in	causa Excepción que ha provocado el error (por ejemplo, una IOException).
+	 */
+
+	public ExcepcionLecturaPLY (String mensaje, Throwable causa){
+		super(mensaje, causa);
+	}
+
+
+	/**
+	 * @brief	Introduce el fichero y la posición del error, si no se conocían ya.
+	 * @param	in	fichero Nombre del fichero.
+	 * @param	in	posicion Posición en bytes; -1 si no se conoce.
+	 * @return	La propia excepción, para poder relanzarla.
+	 */
+
+	ExcepcionLecturaPLY enFichero (String fichero, long posicion){
+		if (this.fichero == null)
+			this.fichero = fichero;
+
+		if (this.posicion < 0)
+			this.posicion = posicion;
+
+
+		return this;
+	}
+
+
+	/**
+	 * @brief	Introduce el elemento, la fila y la línea del error, si no se conocían ya.
+	 * @param	in	elemento Nombre del elemento; null si el error está en la cabecera.
+	 * @param	in	fila Fila del elemento; -1 si no se conoce.
+	 * @param	in	linea Línea del fichero; -1 si no se conoce.
+	 * @return	La propia excepción, para poder relanzarla.
+	 */
+
+	ExcepcionLecturaPLY enElemento (String elemento, long fila, long linea){
+		if (this.elemento == null  &&  this.fila < 0  &&  this.linea < 0){  // Solo se guarda el contexto más cercano al error
+			this.elemento = elemento;
+			this.fila = fila;
+			this.linea = linea;
+		}
+
+
+		return this;
+	}
+
+
+	/**
+	 * @brief	Devuelve el nombre del fichero ply.
+	 * @return	El nombre del fichero; null si no se conoce.
+	 */
+
+	public String fichero(){
+		return fichero;
+	}
+
+
+	/**
+	 * @brief	Devuelve la posición del error.
+	 * @return	La posición en bytes desde el comienzo del fichero; -1 si no se conoce.
+	 */
+
+	public long posicion(){
+		return posicion;
+	}
+
+
+	/**
+	 * @brief	Devuelve la línea del error.
+	 * @return	La línea del fichero, empezando en 1; -1 si no se conoce o el cuerpo es binario.
+	 */
+
+	public long linea(){
+		return linea;
+	}
+
+
+	/**
+	 * @brief	Devuelve el elemento que se estaba leyendo.
+	 * @return	El nombre del elemento; null si el error está en la cabecera o no se conoce.
+	 */
+
+	public String elemento(){
+		return elemento;
+	}
+
+
+	/**
+	 * @brief	Devuelve la fila del elemento que se estaba leyendo.
+	 * @return	La fila, empezando en 0; -1 si no se conoce.
+	 */
+
+	public long fila(){
+		return fila;
+	}
+
+
+	/**
+	 * @brief	Devuelve el mensaje de error con el lugar donde se ha producido.
+	 * @return	El mensaje seguido del fichero, el elemento, la fila, la línea y la posición que se conozcan.
+	 */
+
+	@Override
+	public String getMessage(){
+		StringBuilder mensaje = new StringBuilder(super.getMessage());
+		String separador = " (";
+
+
+		if (fichero != null){
+			mensaje.append(separador).append("fichero '").append(fichero).append("'");
+			separador = ", ";
+		}
+
+		if (elemento != null){
+			mensaje.append(separador).append("elemento '").append(elemento).append("'");
+			separador = ", ";
+		}
+
+		if (fila >= 0){
+			mensaje.append(separador).append("fila ").append(fila);
+			separador = ", ";
+		}
+
+		if (linea >= 0){
+			mensaje.append(separador).append("línea ").append(linea);
+			separador = ", ";
+		}
+
+		if (posicion >= 0){
+			mensaje.append(separador).append("byte ").append(posicion);
+			separador = ", ";
+		}
+
+		if (!separador.equals(" ("))  // Si se ha añadido algún dato
+			mensaje.append(")");
+
+
+		return mensaje.toString();
+	}
+
+}
@@ -0,0 +1,359 @@
+/**
+ * @class	anibal.ingenieroenfurecido.utilidades.GeneradorTangentes
+ * @brief	Calcula las tangentes de los vértices de un modelo para el mapeado de normales.
+ * @author	Aníbal García García
+ * @date	17/10/2026
+ * @see		GeneradorNormales
+ * @see		LectorPLY
+ * @note	Trabaja sobre los arrays de coordenadas, normales y coordenadas de textura, separados o intercalados como los lee LectorPLY.leer()
+				con OpcionesPLY.intercalado(true), y escribe 4 floats por vértice (x, y, z y w), en un array propio o intercalados en otro.
+ * @note	Sigue el convenio de MikkTSpace (el de Blender, Unity, Unreal, glTF...): la tangente es la dirección en la que crece u, proyectada
+				sobre el plano perpendicular a la normal del vértice y normalizada, y w (1 o -1) indica el sentido de la bitangente, que el shader
+				calcula como w * (normal x tangente). En cada vértice se suman las tangentes de los triángulos que lo usan, ponderadas por el ángulo
+				del triángulo en ese vértice.
+ * @note	MikkTSpace separa en un vértice los triángulos con las coordenadas de textura en espejo; aquí cada vértice tiene una sola tangente,
+				con el sentido de la mayoría de sus triángulos, por lo que los vértices de la costura de un espejo deben estar duplicados.
+ * @note	Los triángulos se reparten en trozos que se procesan en paralelo en ForkJoinPool.commonPool(); cada trozo suma las tangentes en su
+				propio array, sin bloqueos, y después se suman los arrays, se ortonormalizan y se escriben por rangos de vértices, también en paralelo.
+ * @note	Los triángulos degenerados (de área 0 o sin variación de las coordenadas de textura) no aportan nada; los vértices sin tangente
+				reciben una perpendicular cualquiera a su normal, con w = 1.
+ * @note	Copyright 2014 Aníbal García García <anibal_garcia_garcia@outlook.com>
+ * @note	This program is free software: you can redistribute it and/or modify
+			it under the terms of the GNU General Public License as published by
+			the Free Software Foundation, either version 3 of the License, or
+			(at your option) any later version.
+ * @note	This program is distributed in the hope that it will be useful,
+			but WITHOUT ANY WARRANTY; without even the implied warranty of
+			MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+			GNU General Public License for more details.
+ * @note	You should have received a copy of the GNU General Public License
+			along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package utilidades;
+
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+
+public final class GeneradorTangentes {
+
+	/// Floats de la tangente de cada vértice (x, y, z y w).
+	public static final int COMPONENTES = 4;
+
+
+
+	/**
+	 * @brief	Constructor.
+	 * @note	Todos los métodos son estáticos.
+	 */
+
+	private GeneradorTangentes(){
+	}
+
+
+	/**
+	 * @brief	Calcula las tangentes de un modelo con cada atributo en su array.
+	 * @param	in	vertices Coordenadas x, y y z de cada vértice.
+	 * @param	in	normales Normales unitarias de cada vértice (por ejemplo, de GeneradorNormales).
+	 * @param	in	texturas Coordenadas de textura u y v de cada vértice.
+	 * @param	in	indices Índices de los vértices de cada triángulo.
+	 * @return	Un array con las coordenadas x, y y z de la tangente de cada vértice y el sentido w de su bitangente.
+	 */
+
+	public static float[] generar (float[] vertices, float[] normales, float[] texturas, short[] indices){
+		return generar(vertices, normales, texturas, GeneradorNormales.enteros(indices));  // generar(float[], float[], float[], int[])
+	}
+
+
+	/**
+	 * @brief	Calcula las tangentes de un modelo con cada atributo en su array.
+	 * @param	in	vertices Coordenadas x, y y z de cada vértice.
+	 * @param	in	normales Normales unitarias de cada vértice (por ejemplo, de GeneradorNormales).
+	 * @param	in	texturas Coordenadas de textura u y v de cada vértice.
+	 * @param	in	indices Índices de los vértices de cada triángulo.
+	 * @return	Un array con las coordenadas x, y y z de la tangente de cada vértice y el sentido w de su bitangente.
+	 */
+
+	public static float[] generar (float[] vertices, float[] normales, float[] texturas, int[] indices){
+		float[] tangentes = new float[vertices.length / 3 * COMPONENTES];
+
+
+		calcular(vertices, 3, normales, 3, 0, texturas, 2, 0, indices, tangentes, COMPONENTES, 0);
+
+
+		return tangentes;
+	}
+
+
+	/**
+	 * @brief	Calcula las tangentes de un modelo con los atributos intercalados.
+	 * @param	in	vertices Atributos de cada vértice, con las coordenadas x, y y z al principio.
+	 * @param	in	paso Floats por vértice de vertices.
+	 * @param	in	desplazamientoNormales Posición de las normales (unitarias) dentro de los floats de un vértice.
+	 * @param	in	desplazamientoTexturas Posición de las coordenadas de textura dentro de los floats de un vértice.
+	 * @param	in	indices Índices de los vértices de cada triángulo.
+	 * @param	out	destino Array donde se escriben las tangentes (puede ser vertices si tiene hueco para ellas).
+	 * @param	in	pasoDestino Floats por vértice de destino.
+	 * @param	in	desplazamientoDestino Posición de la tangente dentro de los floats de un vértice de destino.
+	 */
+
+	public static void generar (float[] vertices, int paso, int desplazamientoNormales, int desplazamientoTexturas, short[] indices,
+			float[] destino, int pasoDestino, int desplazamientoDestino){
+		generar(vertices, paso, desplazamientoNormales, desplazamientoTexturas, GeneradorNormales.enteros(indices),
+				destino, pasoDestino, desplazamientoDestino);  // generar(float[], int, int, int, int[], float[], int, int)
+	}
+
+
+	/**
+	 * @brief	Calcula las tangentes de un modelo con los atributos intercalados.
+	 * @param	in	vertices Atributos de cada vértice, con las coordenadas x, y y z al principio.
+	 * @param	in	paso Floats por vértice de vertices.
+	 * @param	in	desplazamientoNormales Posición de las normales (unitarias) dentro de los floats de un vértice.
+	 * @param	in	desplazamientoTexturas Posición de las coordenadas de textura dentro de los floats de un vértice.
+	 * @param	in	indices Índices de los vértices de cada triángulo.
+	 * @param	out	destino Array donde se escriben las tangentes (puede ser vertices si tiene hueco para ellas).
+	 * @param	in	pasoDestino Floats por vértice de destino.
+	 * @param	in	desplazamientoDestino Posición de la tangente dentro de los floats de un vértice de destino.
+	 * @note	Si destino es vertices, la tangente no puede pisar las coordenadas, las normales ni las coordenadas de textura.
+	 */
+
+	public static void generar (float[] vertices, int paso, int desplazamientoNormales, int desplazamientoTexturas, int[] indices,
+			float[] destino, int pasoDestino, int desplazamientoDestino){
+		if (destino == vertices  &&  (pisa(desplazamientoDestino, 0, 3)  ||  pisa(desplazamientoDestino, desplazamientoNormales, 3)
+				||  pisa(desplazamientoDestino, desplazamientoTexturas, 2)))
+			throw new IllegalArgumentException("La tangente (" + desplazamientoDestino + ") pisa otro atributo de los vértices.");
+
+		calcular(vertices, paso, vertices, paso, desplazamientoNormales, vertices, paso, desplazamientoTexturas, indices,
+				destino, pasoDestino, desplazamientoDestino);
+	}
+
+
+	/**
+	 * @brief	Calcula las tangentes de un modelo.
+	 * @param	in	vertices Array con las coordenadas x, y y z de cada vértice al principio de sus floats.
+	 * @param	in	paso_vertices Floats por vértice de vertices.
+	 * @param	in	normales Array con las normales.
+	 * @param	in	paso_normales Floats por vértice de normales.
+	 * @param	in	desplazamiento_normales Posición de la normal dentro de los floats de un vértice de normales.
+	 * @param	in	texturas Array con las coordenadas de textura.
+	 * @param	in	paso_texturas Floats por vértice de texturas.
+	 * @param	in	desplazamiento_texturas Posición de u y v dentro de los floats de un vértice de texturas.
+	 * @param	in	indices Índices de los vértices de cada triángulo.
+	 * @param	out	destino Array donde se escriben las tangentes.
+	 * @param	in	paso_destino Floats por vértice de destino.
+	 * @param	in	desplazamiento_destino Posición de la tangente dentro de los floats de un vértice de destino.
+	 * @note	Cada trozo de triángulos suma en su propio array la tangente (x, y y z) y el sentido de la bitangente de cada vértice, y cada
+				rango de vértices suma los de todos los trozos y escribe el resultado en destino.
+	 */
+
+	private static void calcular (final float[] vertices, final int paso_vertices, final float[] normales, final int paso_normales,
+			final int desplazamiento_normales, final float[] texturas, final int paso_texturas, final int desplazamiento_texturas,
+			final int[] indices, final float[] destino, final int paso_destino, final int desplazamiento_destino){
+		if (paso_vertices < 3)
+			throw new IllegalArgumentException("Paso de los vértices menor que 3: " + paso_vertices + ".");
+
+		final int num_vertices = vertices.length / paso_vertices;
+
+
+		comprobar("normales", normales, paso_normales, desplazamiento_normales, 3, num_vertices);
+		comprobar("coordenadas de textura", texturas, paso_texturas, desplazamiento_texturas, 2, num_vertices);
+		comprobar("tangentes", destino, paso_destino, desplazamiento_destino, COMPONENTES, num_vertices);
+
+		if (indices.length % 3 != 0)
+			throw new IllegalArgumentException("El número de índices (" + indices.length + ") no es múltiplo de 3: las caras deben ser triángulos.");
+
+		for (int indice : indices)
+			if (indice < 0  ||  indice >= num_vertices)
+				throw new IllegalArgumentException("Índice de vértice fuera de rango: " + indice + " (el modelo tiene " + num_vertices + " vértices).");
+
+		final int num_triangulos = indices.length / 3;
+		final int num_trozos = GeneradorNormales.numeroTrozos(num_triangulos, 1);
+		final float[][] acumulados = new float[num_trozos][];  // Tangentes y sentidos sumados por cada trozo
+		List <Callable <Void>> tareas = new ArrayList <>();
+
+		for (int k = 0; k < num_trozos; k++){
+			final int trozo = k;
+
+			tareas.add(() -> {
+				float[] acumulado = acumulados[trozo] = new float[num_vertices * 4];
+				int[] esquinas = new int[3];
+				float[] angulos = new float[3];
+
+				for (int t = (int) ((long) num_triangulos * trozo / num_trozos), fin = (int) ((long) num_triangulos * (trozo + 1) / num_trozos); t < fin; t++){
+					int a = indices[3 * t], b = indices[3 * t + 1], c = indices[3 * t + 2];
+					int pa = a * paso_vertices, pb = b * paso_vertices, pc = c * paso_vertices;
+					int ta = a * paso_texturas + desplazamiento_texturas, tb = b * paso_texturas + desplazamiento_texturas, tc = c * paso_texturas + desplazamiento_texturas;
+					float abx = vertices[pb] - vertices[pa], aby = vertices[pb + 1] - vertices[pa + 1], abz = vertices[pb + 2] - vertices[pa + 2];
+					float acx = vertices[pc] - vertices[pa], acy = vertices[pc + 1] - vertices[pa + 1], acz = vertices[pc + 2] - vertices[pa + 2];
+					float bcx = acx - abx, bcy = acy - aby, bcz = acz - abz;
+					float du1 = texturas[tb] - texturas[ta], dv1 = texturas[tb + 1] - texturas[ta + 1];
+					float du2 = texturas[tc] - texturas[ta], dv2 = texturas[tc + 1] - texturas[ta + 1];
+					float determinante = du1 * dv2 - du2 * dv1;  // Doble del área en el espacio de textura, con signo
+					float sx = dv2 * abx - dv1 * acx, sy = dv2 * aby - dv1 * acy, sz = dv2 * abz - dv1 * acz;  // Dirección de u por el determinante
+					float nx = aby * acz - abz * acy, ny = abz * acx - abx * acz, nz = abx * acy - aby * acx;
+					float modulo_n = (float) Math.sqrt(nx * nx + ny * ny + nz * nz);
+					float modulo_s = (float) Math.sqrt(sx * sx + sy * sy + sz * sz);
+
+					if (determinante == 0  ||  modulo_n == 0  ||  modulo_s == 0)  // Triángulo degenerado
+						continue;
+
+					float sentido = (determinante > 0) ? 1 : -1;  // Coordenadas de textura en espejo si es -1
+					float escala = sentido / modulo_s;
+
+					sx *= escala;
+					sy *= escala;
+					sz *= escala;
+
+					esquinas[0] = a;
+					esquinas[1] = b;
+					esquinas[2] = c;
+					angulos[0] = GeneradorNormales.arcoTangente(modulo_n, abx * acx + aby * acy + abz * acz);     // Entre ab y ac
+					angulos[1] = GeneradorNormales.arcoTangente(modulo_n, - (abx * bcx + aby * bcy + abz * bcz));  // Entre ba y bc
+					angulos[2] = GeneradorNormales.arcoTangente(modulo_n, acx * bcx + acy * bcy + acz * bcz);     // Entre ca y cb
+
+					for (int j = 0; j < 3; j++){
+						int n = esquinas[j] * paso_normales + desplazamiento_normales;
+						int v = esquinas[j] * 4;
+						float vnx = normales[n], vny = normales[n + 1], vnz = normales[n + 2];
+						float d = sx * vnx + sy * vny + sz * vnz;
+						float px = sx - d * vnx, py = sy - d * vny, pz = sz - d * vnz;  // Proyección sobre el plano del vértice
+						float modulo_p = (float) Math.sqrt(px * px + py * py + pz * pz);
+
+						if (modulo_p == 0)
+							continue;
+
+						float peso = angulos[j] / modulo_p;
+
+						acumulado[v] += px * peso;                  // x
+						acumulado[v + 1] += py * peso;              // y
+						acumulado[v + 2] += pz * peso;              // z
+						acumulado[v + 3] += sentido * angulos[j];  // Sentido
+					}
+				}
+
+				return null;
+			});
+		}
+
+		GeneradorNormales.ejecutar(tareas);
+		tareas.clear();
+
+		// Suma de los arrays de los trozos, ortonormalización y escritura, por rangos de vértices
+		final int num_rangos = GeneradorNormales.numeroTrozos(num_vertices, GeneradorNormales.trozosPorHilo);
+
+		for (int k = 0; k < num_rangos; k++){
+			final int rango = k;
+
+			tareas.add(() -> {
+				for (int v = (int) ((long) num_vertices * rango / num_rangos), fin = (int) ((long) num_vertices * (rango + 1) / num_rangos); v < fin; v++){
+					float x = 0, y = 0, z = 0, sentido = 0;
+
+					for (int trozo = 0; trozo < num_trozos; trozo++){
+						float[] acumulado = acumulados[trozo];
+
+						x += acumulado[4 * v];
+						y += acumulado[4 * v + 1];
+						z += acumulado[4 * v + 2];
+						sentido += acumulado[4 * v + 3];
+					}
+
+					int n = v * paso_normales + desplazamiento_normales;
+					float nx = normales[n], ny = normales[n + 1], nz = normales[n + 2];
+
+					escribir(x, y, z, sentido, nx, ny, nz, destino, v * paso_destino + desplazamiento_destino);
+				}
+
+				return null;
+			});
+		}
+
+		GeneradorNormales.ejecutar(tareas);
+	}
+
+
+	/**
+	 * @brief	Ortonormaliza la tangente de un vértice respecto a su normal y la escribe.
+	 * @param	in	x Coordenada x de la tangente sumada.
+	 * @param	in	y Coordenada y de la tangente sumada.
+	 * @param	in	z Coordenada z de la tangente sumada.
+	 * @param	in	sentido Suma de los sentidos de la bitangente de los triángulos, ponderados por su ángulo.
+	 * @param	in	nx Coordenada x de la normal.
+	 * @param	in	ny Coordenada y de la normal.
+	 * @param	in	nz Coordenada z de la normal.
+	 * @param	out	destino Array donde se escribe la tangente.
+	 * @param	in	posicion Posición de destino donde se escribe la tangente.
+	 * @note	Si la tangente se anula al proyectarla (vértice sin triángulos válidos), se escribe una perpendicular a la normal a partir
+				del eje de coordenadas menos alineado con ella.
+	 */
+
+	private static void escribir (float x, float y, float z, float sentido, float nx, float ny, float nz, float[] destino, int posicion){
+		float d = x * nx + y * ny + z * nz;
+		float modulo2;
+
+
+		x -= d * nx;  // Gram-Schmidt
+		y -= d * ny;
+		z -= d * nz;
+		modulo2 = x * x + y * y + z * z;
+
+		if (modulo2 == 0){  // Perpendicular cualquiera
+			if (Math.abs(nx) < 0.9f){  // Eje x menos su componente sobre la normal
+				x = 1 - nx * nx;
+				y = - nx * ny;
+				z = - nx * nz;
+			}
+
+			else{  // Eje y menos su componente sobre la normal
+				x = - ny * nx;
+				y = 1 - ny * ny;
+				z = - ny * nz;
+			}
+
+			modulo2 = x * x + y * y + z * z;
+			sentido = 1;
+		}
+
+		float inverso = 1 / (float) Math.sqrt(modulo2);
+
+		destino[posicion] = x * inverso;
+		destino[posicion + 1] = y * inverso;
+		destino[posicion + 2] = z * inverso;
+		destino[posicion + 3] = (sentido < 0) ? -1 : 1;
+	}
+
+
+	/**
+	 * @brief	Comprueba que un array tiene un atributo de todos los vértices.
+	 * @param	in	nombre Nombre del atributo (para el mensaje de error).
+	 * @param	in	datos Array del atributo.
+	 * @param	in	paso Floats por vértice del array.
+	 * @param	in	desplazamiento Posición del atributo dentro de los floats de un vértice.
+	 * @param	in	componentes Floats del atributo.
+	 * @param	in	num_vertices Número de vértices del modelo.
+	 */
+
+	private static void comprobar (String nombre, float[] datos, int paso, int desplazamiento, int componentes, int num_vertices){
+		if (desplazamiento < 0  ||  desplazamiento + componentes > paso)
+			throw new IllegalArgumentException("Posición de las " + nombre + " (" + desplazamiento + ") fuera de los " + paso + " floats de cada vértice.");
+
+		if (num_vertices > 0  &&  datos.length < (long) (num_vertices - 1) * paso + desplazamiento + componentes)
+			throw new IllegalArgumentException("El array de las " + nombre + " (" + datos.length + " floats) no llega a los " + num_vertices + " vértices.");
+	}
+
+
+	/**
+	 * @brief	Indica si la tangente pisa otro atributo del mismo vértice.
+	 * @param	in	tangente Posición de la tangente dentro de los floats de un vértice.
+	 * @param	in	atributo Posición del atributo dentro de los floats de un vértice.
+	 * @param	in	componentes Floats del atributo.
+	 * @return	true si los floats de la tangente y los del atributo se solapan; false en caso contrario.
+	 */
+
+	private static boolean pisa (int tangente, int atributo, int componentes){
+		return tangente < atributo + componentes  &&  atributo < tangente + COMPONENTES;
+	}
+
+}
@@ -0,0 +1,171 @@
+/**
+ * @class	anibal.ingenieroenfurecido.utilidades.IndicesPLY
+ * @brief	Buffer de índices de las caras de un modelo, de 16 o de 32 bits.
+ * @author	Aníbal García García
+ * @date	17/10/2026
+ * @see		LectorPLY
+ * @note	Los modelos pequeños guardan los índices en shorts y los que tienen más de 32768 vértices en ints.
+ * @note	Los índices se escriben con posiciones absolutas, por lo que varios hilos pueden escribir a la vez en partes distintas.
+ * @note	Si no se sabe de antemano cuántos índices hay (caras de distinto número de vértices), asegurar() amplía el buffer a medida que se llena.
+ * @note	Copyright 2014 Aníbal García García <anibal_garcia_garcia@outlook.com>
+ * @note	This program is free software: you can redistribute it and/or modify
+			it under the terms of the GNU General Public License as published by
+			the Free Software Foundation, either version 3 of the License, or
+			(at your option) any later version.
+ * @note	This program is distributed in the hope that it will be useful,
+			but WITHOUT ANY WARRANTY; without even the implied warranty of
+			MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+			GNU General Public License for more details.
+ * @note	You should have received a copy of the GNU General Public License
+			along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package utilidades;
+
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+
+
+final class IndicesPLY {
+
+	/// Índices de 16 bits; null si los índices son de 32 bits.
+	private ShortBuffer cortos;
+
+	/// Índices de 32 bits; null si los índices son de 16 bits.
+	private IntBuffer largos;
+
+	/// Número de índices.
+	private int numero;
+
+	/// Si los buffers que se reservan son directos y en el orden nativo.
+	private final boolean directo;
+
+
+
+	/**
+	 * @brief	Constructor.
+	 * @param	in	numero Número de índices.
+	 * @param	in	largos true para índices de 32 bits; false para índices de 16 bits.
+	 * @param	in	directo true para reservar un buffer directo en el orden nativo; false para un buffer respaldado por un array.
+	 * @param	in	destino Buffer a reutilizar si es del tipo adecuado y tiene capacidad suficiente; puede ser null.
+	 */
+
+	IndicesPLY (int numero, boolean largos, boolean directo, Buffer destino){
+		this.numero = numero;
+		this.directo = directo;
+
+		if (largos){  // Índices de 32 bits
+			cortos = null;
+
+			if (destino instanceof IntBuffer  &&  destino.capacity() >= numero)
+				this.largos = (IntBuffer) destino;
+
+			else if (directo)
+				this.largos = ByteBuffer.allocateDirect(numero * 4).order(ByteOrder.nativeOrder()).asIntBuffer();
+
+			else
+				this.largos = IntBuffer.wrap(new int[numero]);
+
+			this.largos.clear();
+		}
+
+		else{  // Índices de 16 bits
+			this.largos = null;
+
+			if (destino instanceof ShortBuffer  &&  destino.capacity() >= numero)
+				cortos = (ShortBuffer) destino;
+
+			else if (directo)
+				cortos = ByteBuffer.allocateDirect(numero * 2).order(ByteOrder.nativeOrder()).asShortBuffer();
+
+			else
+				cortos = ShortBuffer.wrap(new short[numero]);
+
+			cortos.clear();
+		}
+	}
+
+
+	/**
+	 * @brief	Amplía el buffer si no caben los índices pedidos.
+	 * @param	in	numero Número de índices que deben caber.
+	 * @note	La capacidad se duplica al menos, por lo que el buffer se copia pocas veces aunque se amplíe cara a cara.
+				No se debe llamar mientras otros hilos escriben en el buffer.
+	 */
+
+	void asegurar (int numero){
+		Buffer buffer = (cortos != null) ? cortos : largos;
+
+		if (numero <= buffer.capacity())
+			return;
+
+		int maximo = directo ? Integer.MAX_VALUE / ((cortos != null) ? 2 : 4) : Integer.MAX_VALUE - 8;  // Mayor buffer que se puede reservar
+
+		if (numero > maximo)  // Si los índices no caben en un buffer
+			LectorPLY.error("Las caras tienen demasiados índices.");  // Error
+
+		int capacidad = (int) Math.min(Math.max(numero, buffer.capacity() * 2L), maximo);
+
+		buffer.clear();
+
+		if (cortos != null){  // Índices de 16 bits
+			ShortBuffer nuevo = directo ? ByteBuffer.allocateDirect(capacidad * 2).order(ByteOrder.nativeOrder()).asShortBuffer() : ShortBuffer.wrap(new short[capacidad]);
+
+			nuevo.put(cortos).clear();
+			cortos = nuevo;
+		}
+
+		else{  // Índices de 32 bits
+			IntBuffer nuevo = directo ? ByteBuffer.allocateDirect(capacidad * 4).order(ByteOrder.nativeOrder()).asIntBuffer() : IntBuffer.wrap(new int[capacidad]);
+
+			nuevo.put(largos).clear();
+			largos = nuevo;
+		}
+	}
+
+
+	/**
+	 * @brief	Introduce el número de índices.
+	 * @param	in	numero Número de índices escritos, que no puede superar la capacidad del buffer.
+	 */
+
+	void numero (int numero){
+		this.numero = numero;
+	}
+
+
+	/**
+	 * @brief	Introduce un índice.
+	 * @param	in	posicion Posición del índice en el buffer.
+	 * @param	in	indice Índice del vértice.
+	 */
+
+	void poner (int posicion, int indice){
+		if (cortos != null)
+			cortos.put(posicion, (short) indice);
+
+		else
+			largos.put(posicion, indice);
+	}
+
+
+	/**
+	 * @brief	Devuelve el buffer de índices listo para leer.
+	 * @return	Un ShortBuffer o un IntBuffer con la posición a 0 y el límite al final de los índices.
+	 */
+
+	Buffer buffer(){
+		Buffer buffer = (cortos != null) ? cortos : largos;
+
+		buffer.position(0);
+		buffer.limit(numero);
+
+
+		return buffer;
+	}
+
+}
@@ -1,7 +1,10 @@
 /**
  * @class	anibal.ingenieroenfurecido.utilidades.LectorPLY
  * @brief	Lee un fichero ply.
- * @note	Solo admite ficheros ply sin información de color, sin normales y sin coordenadas de textura.
+ * @note	Admite ficheros ply en formato ascii, binary_little_endian y binary_big_endian.
+ * @note	Los errores de lectura lanzan una ExcepcionLecturaPLY con el fichero, la posición, la línea y el elemento donde se han producido.
+ * @note	Los métodos públicos son reentrantes: cada llamada utiliza su propio lector, por lo que se pueden leer varios ficheros a la vez desde distintos hilos.
+ * @note	Lee las coordenadas de los vértices y, si se piden en OpcionesPLY.atributos(), sus normales, colores y coordenadas de textura.
  * @author	Aníbal García García
  * @author	Carlos Ureña Almagro
  * @date	02/04/2014
@@ -31,11 +34,23 @@ package utilidades;
 
 import android.content.Context;
 
-import java.io.BufferedReader;
+import java.io.Closeable;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -46,347 +61,1666 @@ public class LectorPLY {
 	private static final String TAG = "LectorPLY";
 
 	/// Número de vértices del modelo del fichero ply.
-	private static int numVertices;
+	private int numVertices;
 
 	/// Número de caras del modelo del fichero ply.
-	private static int numCaras;
+	private int numCaras;
+
+	/// Propiedades de las caras anteriores a la lista con los índices de sus vértices (en los ficheros ascii, un token cada una).
+	private int propiedadesAntesIndices;
+
+	/// Lista de las caras con los índices de sus vértices.
+	private PropiedadPLY listaIndices;
+
+	/// Si se calcula la envolvente de los vértices (false con leer(), que no la utiliza).
+	private boolean envolvente;
 
 	/// Comentario del modelo del fichero ply.
-	private static String comentario;
+	private String comentario;
+
+	/// Formato del cuerpo del fichero ply.
+	private int formato;
+
+	/// Elementos declarados en la cabecera del fichero ply, en el orden en que aparecen.
+	private ArrayList <ElementoPLY> elementos;
+
+	/// Si los índices de las caras se guardan en ints (true) o en shorts (false).
+	private boolean indicesLargos;
+
+	/// Número de líneas de la cabecera leídas.
+	private long lineasCabecera;
+
+	/// Si se está leyendo la cabecera.
+	private boolean enCabecera;
+
+	/// Posición en bytes del comienzo del cuerpo.
+	private long inicioCuerpo;
+
+	/// Elemento que se está leyendo; null si no se está leyendo ninguno.
+	private ElementoPLY elementoActual;
+
+	/// Fila del elemento que se está leyendo; -1 si no se conoce.
+	private long filaActual = -1;
 
 	/// Extensión del fichero ply.
 	public static final String extensionPLY = ".ply";
 
-	/// Coordenadas por vértice.
-	private static final int coordenadasPorVertice = 3;  // Vértices con 3 coordenadas (x, y y z)
+	/// Formatos del cuerpo del fichero ply.
+	private static final int FORMATO_ASCII = 0;
+	private static final int FORMATO_BINARIO_LE = 1;  // binary_little_endian
+	private static final int FORMATO_BINARIO_BE = 2;  // binary_big_endian
+
+	/// Tamaño del buffer de lectura de los ficheros que no se proyectan en memoria.
+	private static final int tamanoBufferLectura = 64 * 1024;
+
+	/// Tamaño mínimo de cada trozo del cuerpo en la lectura en paralelo.
+	private static final int tamanoMinimoTrozo = 256 * 1024;
+
+	/// Número de trozos por hilo del pool en la lectura en paralelo (para repartir mejor la carga).
+	private static final int trozosPorHilo = 4;
+
+
 
+	/**
+	 * @brief	Constructor.
+	 * @note	Cada llamada a los métodos públicos y estáticos crea su propio lector, por lo que varios hilos pueden leer ficheros a la vez.
+	 */
+
+	private LectorPLY(){
+	}
 
 
 	/**
 	 * @brief	Lee un fichero ply.
 	 * @param	in	contexto Contexto de la actividad principal.
 	 * @param	in	fichero Fichero ply.
-	 * @return	Un ArrayList donde el 1º elemento es un array de floats con los vértices del modelo y el 2º elemento es un array de shorts con los índices de las caras del modelo.
+	 * @return	Un ArrayList donde el 1º elemento es un array de floats con los vértices del modelo y el 2º elemento es un array de shorts o de ints (según OpcionesPLY.indices()) con los índices de las caras del modelo.
 	 * @note	El fichero se recibe como identificador de los recursos.
 	 */
 
 	public static ArrayList <Object> leer (Context contexto, int fichero){
-		float vertices[];
-		short caras[];
-		BufferedReader br;  // BufferedReader para leer el fichero
+		return leer(contexto, fichero, new OpcionesPLY());  // leer(Context, int, OpcionesPLY)
+	}
+
+
+	/**
+	 * @brief	Lee un fichero ply.
+	 * @param	in	contexto Contexto de la actividad principal.
+	 * @param	in	fichero Fichero ply.
+	 * @param	in	opciones Opciones de lectura.
+	 * @return	Un ArrayList donde el 1º elemento es un array de floats con los vértices del modelo y el 2º elemento es un array de shorts o de ints (según OpcionesPLY.indices()) con los índices de las caras del modelo.
+	 * @note	El fichero se recibe como identificador de los recursos.
+	 */
 
+	public static ArrayList <Object> leer (Context contexto, int fichero, OpcionesPLY opciones){
+		return salida(leerModelo(contexto, fichero, opciones, false));  // Sin la esfera de la envolvente, que se descarta
+	}
 
-		// Apertura del fichero
-		br = abrirFichero(contexto, fichero);
 
-		// Lectura de la cabecera
-		leerCabecera(br);
+	/**
+	 * @brief	Lee un fichero ply.
+	 * @param	in	fichero Ruta del fichero ply.
+	 * @return	Un ArrayList donde el 1º elemento es un array de floats con los vértices del modelo y el 2º elemento es un array de shorts o de ints (según OpcionesPLY.indices()) con los índices de las caras del modelo.
+	 * @note	El fichero se proyecta en memoria y la cabecera y el cuerpo se leen directamente de la proyección.
+	 * @note	No necesita un contexto de Android, por lo que puede utilizarse en cualquier máquina virtual de Java.
+	 */
 
-		// Lectura de los vértices
-		vertices = leerVertices(br);
+	public static ArrayList <Object> leer (Path fichero){
+		return leer(fichero, new OpcionesPLY());  // leer(Path, OpcionesPLY)
+	}
 
-		// Lectura de las caras
-		caras = leerCaras(br);
 
-		// Cierre del fichero
-		cerrarCichero(br);
+	/**
+	 * @brief	Lee un fichero ply.
+	 * @param	in	fichero Ruta del fichero ply.
+	 * @param	in	opciones Opciones de lectura.
+	 * @return	Un ArrayList donde el 1º elemento es un array de floats con los vértices del modelo y el 2º elemento es un array de shorts o de ints (según OpcionesPLY.indices()) con los índices de las caras del modelo.
+	 * @note	El fichero se proyecta en memoria y la cabecera y el cuerpo se leen directamente de la proyección.
+	 */
 
-		// Resumen de lectura del fichero
-		resumen(contexto, fichero);
+	public static ArrayList <Object> leer (Path fichero, OpcionesPLY opciones){
+		return salida(leerModelo(fichero, opciones, false));  // Sin la esfera de la envolvente, que se descarta
+	}
 
-		// Preparación de los vértices y caras al formato de salida
-		ArrayList <Object> salida = new ArrayList <>();
-		salida.add(vertices);  // Añado los vértices
-		salida.add(caras);  // Añado las caras
 
+	/**
+	 * @brief	Lee un fichero ply.
+	 * @param	in	contexto Contexto de la actividad principal.
+	 * @param	in	fichero Fichero ply.
+	 * @param	in	opciones Opciones de lectura.
+	 * @return	El modelo con los vértices y los índices de las caras en buffers listos para glBufferData.
+	 * @note	El fichero se recibe como identificador de los recursos.
+	 * @note	Con OpcionesPLY.directos() los buffers son directos y en el orden nativo, y se pueden reutilizar los de una lectura anterior
+				con OpcionesPLY.destinoVertices() y OpcionesPLY.destinoIndices().
+	 */
 
-		return salida;
+	public static ModeloPLY leerModelo (Context contexto, int fichero, OpcionesPLY opciones){
+		return leerModelo(contexto, fichero, opciones, true);  // leerModelo(Context, int, OpcionesPLY, boolean)
 	}
 
 
 	/**
-	 * @brief	Abre un fichero ply.
-	 * @param 	in	contexto Contexto de la actividad principal.
+	 * @brief	Lee un fichero ply de los recursos.
+	 * @param	in	contexto Contexto de la actividad principal.
+	 * @param	in	fichero Fichero ply.
+	 * @param	in	opciones Opciones de lectura.
+	 * @param	in	envolvente Si se calcula la envolvente (false para leer(), que no la utiliza).
+	 * @return	El modelo con los vértices y los índices de las caras.
+	 */
+
+	private static ModeloPLY leerModelo (Context contexto, int fichero, OpcionesPLY opciones, boolean envolvente){
+		String nombre_fichero = contexto.getResources().getResourceEntryName(fichero) + extensionPLY;  // Nombre del fichero
+
+
+		return new LectorPLY().leer(abrirFichero(contexto, fichero, nombre_fichero), nombre_fichero, opciones, envolvente);
+	}
+
+
+	/**
+	 * @brief	Lee un fichero ply.
+	 * @param	in	fichero Ruta del fichero ply.
+	 * @param	in	opciones Opciones de lectura.
+	 * @return	El modelo con los vértices y los índices de las caras en buffers listos para glBufferData.
+	 * @note	El fichero se proyecta en memoria y la cabecera y el cuerpo se leen directamente de la proyección.
+	 * @note	Con OpcionesPLY.directos() los buffers son directos y en el orden nativo, y se pueden reutilizar los de una lectura anterior
+				con OpcionesPLY.destinoVertices() y OpcionesPLY.destinoIndices().
+	 * @note	Con OpcionesPLY.cache() el modelo se carga de la caché binaria si el fichero no ha cambiado; si no, se lee y se guarda en ella.
+	 */
+
+	public static ModeloPLY leerModelo (Path fichero, OpcionesPLY opciones){
+		return leerModelo(fichero, opciones, true);  // leerModelo(Path, OpcionesPLY, boolean)
+	}
+
+
+	/**
+	 * @brief	Lee un fichero ply.
+	 * @param	in	fichero Ruta del fichero ply.
+	 * @param	in	opciones Opciones de lectura.
+	 * @param	in	envolvente Si se calcula la envolvente (false para leer(), que no la utiliza).
+	 * @return	El modelo con los vértices y los índices de las caras.
+	 * @note	Con OpcionesPLY.cache() la envolvente se calcula siempre, porque se guarda en la caché.
+	 */
+
+	private static ModeloPLY leerModelo (Path fichero, OpcionesPLY opciones, boolean envolvente){
+		ModeloPLY modelo = opciones.cache() ? CachePLY.cargar(fichero, opciones) : null;
+
+
+		if (modelo == null){  // Si no está en la caché
+			modelo = new LectorPLY().leer(abrirFichero(fichero), fichero.getFileName().toString(), opciones, envolvente || opciones.cache());
+
+			if (opciones.cache())
+				CachePLY.guardar(fichero, opciones, modelo);
+		}
+
+
+		return modelo;
+	}
+
+
+	/**
+	 * @brief	Recorre un fichero ply sin guardarlo en memoria, pasando los valores de sus elementos por lotes a unos manejadores.
+	 * @param	in	contexto Contexto de la actividad principal.
 	 * @param	in	fichero Fichero ply.
-	 * @return	Un BufferedReader.
+	 * @param	in	manejadores Manejador de cada elemento según su nombre ("vertex", "face" o cualquier otro); los elementos sin manejador se saltan.
+	 * @param	in	opciones Opciones de lectura (tamaño de los lotes).
 	 * @note	El fichero se recibe como identificador de los recursos.
+	 * @see		recorrer(Path, Map, OpcionesPLY)
 	 */
 
-	private static BufferedReader abrirFichero (Context contexto, int fichero){
-		InputStream is = contexto.getResources().openRawResource(fichero);  // Flujo de entrada del fichero
-		BufferedReader br = new BufferedReader(new InputStreamReader(is));  // Buffer de lectura creado a partir del flujo de entrada del fichero
+	public static void recorrer (Context contexto, int fichero, Map <String, ManejadorPLY> manejadores, OpcionesPLY opciones){
+		String nombre_fichero = contexto.getResources().getResourceEntryName(fichero) + extensionPLY;  // Nombre del fichero
 
 
-		try{
-			if (!br.ready()){  // Si el BufferedReader no está listo
-				String nombre_fichero = contexto.getResources().getResourceEntryName(fichero) + extensionPLY;  // Nombre del fichero
+		new LectorPLY().recorrer(abrirFichero(contexto, fichero, nombre_fichero), nombre_fichero, manejadores, opciones);
+	}
 
-				error("No se pudo abrir el fichero '" + nombre_fichero + "' para lectura.");  // Error
-			}
+
+	/**
+	 * @brief	Recorre un fichero ply sin guardarlo en memoria, pasando los valores de sus elementos por lotes a unos manejadores.
+	 * @param	in	fichero Ruta del fichero ply.
+	 * @param	in	manejadores Manejador de cada elemento según su nombre ("vertex", "face" o cualquier otro); los elementos sin manejador se saltan.
+	 * @param	in	opciones Opciones de lectura (tamaño de los lotes).
+	 * @note	El fichero se lee a medida que se consume con un buffer de tamaño fijo y cada lote reutiliza la memoria del anterior,
+				por lo que la memoria utilizada no depende del tamaño del fichero. Sirve para calcular límites, diezmar o reescribir
+				nubes de puntos de varios GB.
+	 * @note	A diferencia de leer(), el fichero no tiene por qué tener caras ni vértices.
+	 */
+
+	public static void recorrer (Path fichero, Map <String, ManejadorPLY> manejadores, OpcionesPLY opciones){
+		EntradaPLY entrada = null;
+
+
+		try{
+			entrada = new EntradaPLY(FileChannel.open(fichero, StandardOpenOption.READ), tamanoBufferLectura);
 		}
 
 		catch (IOException e){  // Capturo la excepción
-			Logger.getLogger(TAG).log(Level.SEVERE, e.getMessage());
-			e.printStackTrace();
+			throw new ExcepcionLecturaPLY("No se pudo abrir el fichero '" + fichero + "' para lectura.", e).enFichero(fichero.toString(), -1);
 		}
 
+		if (!entrada.rellenar(1))  // Si está vacío
+			error("No se pudo abrir el fichero '" + fichero + "' para lectura.");  // Error
 
-		return br;
+		new LectorPLY().recorrer(entrada, fichero.getFileName().toString(), manejadores, opciones);
 	}
 
 
 	/**
-	 * @brief	Cierra el fichero ply.
-	 * @param	in,out	br Buffer de lectura del fichero.
+	 * @brief	Recorre un fichero ply ya abierto, pasando los valores de sus elementos por lotes a unos manejadores.
+	 * @param	in,out	entrada Entrada de la que leer el fichero.
+	 * @param	in	nombre_fichero Nombre del fichero para los errores.
+	 * @param	in	manejadores Manejador de cada elemento según su nombre; los elementos sin manejador se saltan.
+	 * @param	in	opciones Opciones de lectura (tamaño de los lotes).
+	 * @note	El fichero se cierra siempre, aunque haya algún error.
 	 */
 
-	private static void cerrarCichero (BufferedReader br){
+	private void recorrer (EntradaPLY entrada, String nombre_fichero, Map <String, ManejadorPLY> manejadores, OpcionesPLY opciones){
 		try{
-			br.close();  // Cierro el buffer de lectura del fichero
+			recorrerCuerpo(entrada, manejadores, opciones);
 		}
 
-		catch (IOException e){  // Capturo la excepción
-			Logger.getLogger(TAG).log(Level.SEVERE, e.getMessage());
-			e.printStackTrace();
+		catch (ExcepcionLecturaPLY e){  // Añado el lugar del error
+			throw situar(e, entrada, nombre_fichero);
+		}
+
+		finally{
+			cerrarCichero(entrada);
 		}
 	}
 
 
 	/**
-	 * @brief	Lee la cabecera de un fichero ply.
-	 * @param	in,out	br Buffer de lectura del fichero.
+	 * @brief	Recorre la cabecera y el cuerpo de un fichero ply ya abierto.
+	 * @param	in,out	entrada Entrada de la que leer el fichero.
+	 * @param	in	manejadores Manejador de cada elemento según su nombre; los elementos sin manejador se saltan.
+	 * @param	in	opciones Opciones de lectura (tamaño de los lotes).
 	 */
 
-	private static void leerCabecera (BufferedReader br){
-		String linea = null, token;
-		int estado = 0;  // 0: antes de leer 'element vertex' y 'element face'; 1: antes de leer 'element face'; 2: después de leer 'element vertex' y 'element face'
-		boolean en_cabecera = true;
+	private void recorrerCuerpo (EntradaPLY entrada, Map <String, ManejadorPLY> manejadores, OpcionesPLY opciones){
+		LotePLY lote = new LotePLY(opciones.tamanoLote());
 
 
 		// Lectura de la cabecera
-		while (en_cabecera){
-			// Lectura de la línea
-			try{
-				linea = br.readLine();  // Leo una línea del fichero
+		leerCabecera(entrada, false);
+
+		if (formato != FORMATO_ASCII)
+			entrada.orden((formato == FORMATO_BINARIO_LE) ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+
+
+		// Lectura de los elementos en el orden de la cabecera
+		for (ElementoPLY elemento : elementos){
+			ManejadorPLY manejador = manejadores.get(elemento.nombre());
+
+			elementoActual = elemento;
+			filaActual = -1;
+
+			if (manejador == null){  // Si nadie utiliza el elemento se salta
+				if (formato == FORMATO_ASCII)
+					saltarElemento(entrada, elemento);
+
+				else
+					saltarElementoBinario(entrada, elemento);
+
+				continue;
 			}
 
-			catch (IOException e){  // Capturo la excepción
-				Logger.getLogger(TAG).log(Level.SEVERE, e.getMessage());
-				e.printStackTrace();
+			manejador.inicio(elemento);
+			lote.vaciar(0);
+
+			for (int i = 0; i < elemento.numero(); i++){  // Para cada fila del elemento
+				filaActual = i;
+
+				for (PropiedadPLY propiedad : elemento.propiedades()){  // Para cada propiedad de la fila
+					if (propiedad.esLista()){  // Longitud de la lista seguida de sus valores
+						int longitud = longitudLista(entrada, leerNumero(entrada, propiedad.tipoLongitud()), propiedad, formato == FORMATO_ASCII);
+
+						lote.anadir(longitud);
+
+						for (int j = 0; j < longitud; j++)
+							lote.anadir(leerNumero(entrada, propiedad.tipo()));
+					}
+
+					else
+						lote.anadir(leerNumero(entrada, propiedad.tipo()));
+				}
+
+				if (formato == FORMATO_ASCII)
+					entrada.saltarLinea();  // Descarto el resto de la línea
+
+				lote.cerrarFila();
+
+				if (lote.lleno()){  // Entrego el lote y empiezo el siguiente
+					manejador.lote(elemento, lote);
+					lote.vaciar(i + 1);
+				}
 			}
 
+			if (lote.numFilas() > 0)  // Último lote incompleto
+				manejador.lote(elemento, lote);
 
-			// Lectura del token
-			if (linea.contains(" "))  // Si la línea contiene varios elementos
-				token = linea.substring(0, linea.indexOf(" "));  // El token es el 1º elemento
+			manejador.fin(elemento);
+		}
 
-			else
-				token = linea;  // El token es la línea completa
+		elementoActual = null;
+	}
+
+
+	/**
+	 * @brief	Lee un número del cuerpo de un fichero ply, sea ascii o binario.
+	 * @param	in,out	entrada Entrada de la que se lee el fichero.
+	 * @param	in	tipo Tipo de dato del número en los ficheros binarios.
+	 * @return	El número leído.
+	 */
+
+	private double leerNumero (EntradaPLY entrada, int tipo){
+		return (formato == FORMATO_ASCII) ? entrada.leerDouble() : entrada.leerValor(tipo);
+	}
+
+
+	/**
+	 * @brief	Lee un fichero ply ya abierto.
+	 * @param	in,out	entrada Entrada de la que leer el fichero.
+	 * @param	in	nombre_fichero Nombre del fichero para el resumen y los errores.
+	 * @param	in	opciones Opciones de lectura.
+	 * @param	in	envolvente Si se calcula la envolvente de los vértices.
+	 * @return	El modelo con los vértices y los índices de las caras.
+	 * @note	El fichero se cierra siempre, aunque haya algún error.
+	 */
+
+	private ModeloPLY leer (EntradaPLY entrada, String nombre_fichero, OpcionesPLY opciones, boolean envolvente){
+		this.envolvente = envolvente;
+
+		try{
+			return leerCuerpo(entrada, nombre_fichero, opciones);
+		}
+
+		catch (ExcepcionLecturaPLY e){  // Añado el lugar del error
+			throw situar(e, entrada, nombre_fichero);
+		}
 
+		finally{
+			cerrarCichero(entrada);
+		}
+	}
 
-			// Análisis del token obtenido
-			switch (token){  // Token
-				case "ply":  // Comienzo del fichero
-					// Ignoro esta línea
-					break;
 
-				case "end_header":  // Final de la cabecera
-					if (estado != 2)
-						error("No se encuentra 'element vertex' y/o 'element face' en la cabecera.");  // Error
+	/**
+	 * @brief	Lee la cabecera y el cuerpo de un fichero ply ya abierto.
+	 * @param	in,out	entrada Entrada de la que leer el fichero.
+	 * @param	in	nombre_fichero Nombre del fichero para el resumen.
+	 * @param	in	opciones Opciones de lectura.
+	 * @return	El modelo con los vértices y los índices de las caras.
+	 */
 
-					en_cabecera = false;
+	private ModeloPLY leerCuerpo (EntradaPLY entrada, String nombre_fichero, OpcionesPLY opciones){
+		VerticesPLY vertices = null;
+		IndicesPLY caras = null;
 
-					break;
 
-				case "comment":  // Comentario sobre el modelo
-					comentario = linea.substring(linea.indexOf(" ") + 1);  // Obtengo el comentario
+		// Lectura de la cabecera
+		leerCabecera(entrada, true);
 
-					break;
+		// Tamaño de los índices de las caras
+		switch (opciones.indices()){
+			case OpcionesPLY.INDICES_SHORT:  // Índices de 16 bits
+				if (numVertices - 1 > Short.MAX_VALUE)  // Si algún índice no cabe en un short
+					error("El modelo tiene " + numVertices + " vértices; sus índices no caben en un short.");  // Error
 
-				case "format":  // Formato en el que está escrito el fichero
-					linea = linea.substring(linea.indexOf(" ") + 1);  // Obtengo el resto de la línea sin el token
-					token = linea.substring(0, linea.indexOf(" "));  // Vuelvo a obtener un token
+				indicesLargos = false;
 
-					if (!token.equals("ascii"))  // Si el token no es "ascii"
-						error("El formato del fichero ply no es 'ascii', es '" + token + "'. No se puede leer.");  // Error
+				break;
 
-					break;
+			case OpcionesPLY.INDICES_INT:  // Índices de 32 bits
+				indicesLargos = true;
 
-				case "element":  // Elemento del modelo
-					linea = linea.substring(linea.indexOf(" ") + 1);  // Obtengo el resto de la línea sin el token
-					token = linea.substring(0, linea.indexOf(" "));  // Vuelvo a obtener un token
+				break;
 
-					// Análisis del token obtenido
-					switch (token){  // Token
-						case "vertex":  // Vértice
-							if (estado != 0)  // Si el estado no es 0
-								error("La línea 'element vertex' está repetida o se encuentra antes de 'element face'.");  // Error
+			default:  // Índices de 16 bits si caben y de 32 bits si no
+				indicesLargos = (numVertices - 1 > Short.MAX_VALUE);
 
-							linea = linea.substring(linea.indexOf(" ") + 1);  // Obtengo el resto de la línea sin el token
-							numVertices = Integer.parseInt(linea);  // Obtengo el número de vértices
+				break;
+		}
 
-							estado = 1;  // Siguiente estado
+		// Preparación de la lectura del cuerpo según su formato
+		if (formato != FORMATO_ASCII)
+			entrada.orden((formato == FORMATO_BINARIO_LE) ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
 
-							break;
+		comprobarFilas(entrada);
 
-						case "face":  // Cara
-							if (estado != 1)  // Si estado no es 1
-								error("La línea 'element face' está repetida o se encuentra después de 'element vertex'.");  // Error
+		// Lectura en paralelo de los cuerpos ascii
+		if (formato == FORMATO_ASCII  &&  opciones.paralelo()){
+			for (ElementoPLY elemento : elementos)
+				if (elemento.nombre().equals("vertex"))
+					vertices = new VerticesPLY(elemento, opciones);
 
-							linea = linea.substring(linea.indexOf(" ") + 1);  // Obtengo el resto de la línea sin el token
-							numCaras = Integer.parseInt(linea);  // Obtengo el número de caras
+			inicioCuerpo = entrada.posicion();
+			caras = leerCuerpoParalelo(entrada.restante(), vertices, opciones);
+		}
 
-							estado = 2;  // Siguiente estado
+		// Lectura de los elementos en el orden de la cabecera
+		else{
+			for (ElementoPLY elemento : elementos){
+				elementoActual = elemento;
+				filaActual = -1;
 
-							break;
+				switch (elemento.nombre()){
+					case "vertex":  // Lectura de los vértices
+						vertices = (formato == FORMATO_ASCII) ? leerVertices(entrada, elemento, opciones) : leerVerticesBinario(entrada, elemento, opciones);
 
-						default:  // Cualquier otro token
-							Logger.getLogger(TAG).log(Level.WARNING, "Elemento '" + token + "' ignorado.");
+						break;
 
-							break;
-					}
+					case "face":  // Lectura de las caras
+						caras = (formato == FORMATO_ASCII) ? leerCaras(entrada, vertices, opciones) : leerCarasBinario(entrada, elemento, vertices, opciones);
 
-					break;
+						break;
 
-				case "property":  // Propiedades de los elementos del modelo
-					// Ignoro esta línea
-					break;
+					default:  // Cualquier otro elemento se salta
+						if (formato == FORMATO_ASCII)
+							saltarElemento(entrada, elemento);
 
-				default:  // Cualquier otro token
-					Logger.getLogger(TAG).log(Level.WARNING, "Token '" + token + "' ignorado.");
+						else
+							saltarElementoBinario(entrada, elemento);
 
-					break;
+						break;
+				}
 			}
+
+			elementoActual = null;
 		}
 
+		// Vértices por cara en los índices: 3 si se han triangulado; si no, los de todas las caras
+		int vertices_por_cara = (opciones.triangulacion() == OpcionesPLY.TRIANGULACION_NINGUNA) ? caras.buffer().limit() / numCaras : 3;
 
-		// Mensajes de error
-		if (numVertices <= 0)  // Si el número de vértices es negativo
-			error("Número de vértices incorrecto (o bien es 0 o negativo).");  // Error
+		// Resumen de lectura del fichero
+		resumen(nombre_fichero);
 
-		if (numCaras <= 0)  // Si el número de caras es negativo
-			error("Número de caras incorrecto (o bien es 0 o negativo).");  // Error
+
+		return new ModeloPLY(vertices.terminar(), caras.buffer(), numVertices, numCaras, vertices_por_cara, comentario, envolvente);
 	}
 
 
 	/**
-	 * @brief	Lee los vértices de un fichero ply.
-	 * @param	in,out	br Buffer de lectura del fichero.
-	 * @return	Un array de floats.
+	 * @brief	Comprueba que el cuerpo de un fichero ply puede tener todas las filas que declara la cabecera.
+	 * @param	in,out	entrada Entrada de la que se lee el fichero, al comienzo del cuerpo.
+	 * @note	Los vértices y los índices se reservan según el número de filas de la cabecera, por lo que antes se comprueba que caben en lo
+				que queda del fichero: en los ascii cada propiedad ocupa al menos 2 bytes (un dígito y un separador, salvo en la última fila, que
+				puede no terminar en un salto de línea) y en los binarios su tamaño (las listas, al menos el de su longitud).
 	 */
 
-	private static float[] leerVertices (BufferedReader br){
-		String linea = null;  // Línea leída del fichero
-		String[] linea_split;  // Elementos de la línea leída del fichero
-		float[] vertices = new float[numVertices * coordenadasPorVertice];  // Nota: "Tamaño = número de vértices por coordenadas por vértice"
+	private void comprobarFilas (EntradaPLY entrada){
+		long bytes = (formato == FORMATO_ASCII) ? -1 : 0;  // Bytes mínimos del cuerpo hasta el elemento
 
 
-		// Lectura de vértices
-		for (int i = 0; i < numVertices; i++){  // Para cada vértice del fichero
-			try{
-				linea = br.readLine();  // Leo una línea del fichero
-			}
+		for (ElementoPLY elemento : elementos){
+			long bytes_fila = 0;
+
+			for (PropiedadPLY propiedad : elemento.propiedades())
+				bytes_fila += (formato == FORMATO_ASCII) ? 2 : PropiedadPLY.tamano(propiedad.esLista() ? propiedad.tipoLongitud() : propiedad.tipo());
+
+			bytes += bytes_fila * elemento.numero();
+
+			if (!entrada.quedan(bytes)){  // Si las filas del elemento no caben en el resto del fichero
+				elementoActual = elemento;
+				filaActual = -1;
 
-			catch (IOException e){  // Capturo la excepción
-				Logger.getLogger(TAG).log(Level.SEVERE, e.getMessage());
-				e.printStackTrace();
+				error("El elemento '" + elemento.nombre() + "' tiene " + elemento.numero() + " filas, que no caben en lo que queda del fichero.");  // Error
 			}
+		}
+	}
+
+
+	/**
+	 * @brief	Convierte un modelo al formato de salida de leer().
+	 * @param	in	modelo Modelo leído.
+	 * @return	Un ArrayList donde el 1º elemento es un array de floats con los vértices del modelo y el 2º elemento es un array de shorts o de ints con los índices de las caras del modelo.
+	 * @note	Si los buffers están respaldados por arrays de su mismo tamaño se devuelven esos arrays sin copiarlos.
+	 */
 
+	private static ArrayList <Object> salida (ModeloPLY modelo){
+		ArrayList <Object> salida = new ArrayList <>();
+		FloatBuffer vertices = modelo.vertices();
+		float[] array_vertices = null;
 
-			linea_split = linea.split(" ");  // Obtengo cada elemento de la línea
 
+		// Vértices
+		if (vertices.hasArray()  &&  vertices.arrayOffset() == 0  &&  vertices.array().length == vertices.limit())
+			array_vertices = vertices.array();
 
-			// Añado el nuevo vértice
-			vertices[i * coordenadasPorVertice] = Float.parseFloat(linea_split[0]);      // x
-			vertices[i * coordenadasPorVertice + 1] = Float.parseFloat(linea_split[1]);  // y
-			vertices[i * coordenadasPorVertice + 2] = Float.parseFloat(linea_split[2]);  // z
+		else{
+			array_vertices = new float[vertices.limit()];
+			vertices.duplicate().get(array_vertices);
 		}
 
+		salida.add(array_vertices);  // Añado los vértices
 
-		return vertices;
+
+		// Caras
+		if (modelo.indicesLargos()){
+			IntBuffer indices = modelo.indicesInt();
+
+			if (indices.hasArray()  &&  indices.arrayOffset() == 0  &&  indices.array().length == indices.limit())
+				salida.add(indices.array());  // Añado las caras
+
+			else{
+				int[] array_indices = new int[indices.limit()];
+				indices.duplicate().get(array_indices);
+				salida.add(array_indices);  // Añado las caras
+			}
+		}
+
+		else{
+			ShortBuffer indices = modelo.indicesShort();
+
+			if (indices.hasArray()  &&  indices.arrayOffset() == 0  &&  indices.array().length == indices.limit())
+				salida.add(indices.array());  // Añado las caras
+
+			else{
+				short[] array_indices = new short[indices.limit()];
+				indices.duplicate().get(array_indices);
+				salida.add(array_indices);  // Añado las caras
+			}
+		}
+
+
+		return salida;
 	}
 
 
 	/**
-	 * @brief	Lee las caras de un fichero ply.
-	 * @param	in,out	br Buffer de lectura del fichero.
-	 * @return	Un array de short.
+	 * @brief	Reserva los índices de las caras del modelo.
+	 * @param	in	numero Número de índices.
+	 * @param	in	opciones Opciones de lectura (buffers directos y buffer de destino).
+	 * @return	Los índices de las caras, de 16 o de 32 bits según indicesLargos.
 	 */
 
-	private static short[] leerCaras (BufferedReader br){
-		String linea = null;  // Línea leída del fichero
-		String[] linea_split;  // Elementos de la línea leída del fichero
-		int num_vertices_cara = 0;
-		short[] caras = null;
-		short vertice_cara;
+	private IndicesPLY reservarIndices (int numero, OpcionesPLY opciones){
+		if (opciones.directos()  &&  numero > Integer.MAX_VALUE / (indicesLargos ? 4 : 2))  // Si los bytes de los índices no caben en un buffer directo
+			error("Las caras tienen demasiados índices.");  // Error
 
 
-		// Lectura de caras
-		for (int i = 0; i < numCaras; i++){  // Para cada cara del fichero
-			try{
-				linea = br.readLine();  // Leo una línea del fichero
-			}
+		return new IndicesPLY(numero, indicesLargos, opciones.directos(), opciones.destinoIndices());
+	}
 
-			catch (IOException e){  // Capturo la excepción
-				Logger.getLogger(TAG).log(Level.SEVERE, e.getMessage());
-				e.printStackTrace();
-			}
 
+	/**
+	 * @brief	Reserva los índices de las caras del modelo según su 1ª cara.
+	 * @param	in	entrada Entrada de la que se lee el fichero, justo después de la longitud de la 1ª cara.
+	 * @param	in	indices_cara Número de índices que da la 1ª cara una vez triangulada.
+	 * @param	in	opciones Opciones de lectura (buffers directos y buffer de destino).
+	 * @return	Los índices de las caras, con el tamaño exacto si todas las caras dan tantos índices como la 1ª.
+	 * @note	El número de caras viene de la cabecera, por lo que la reserva no pasa de los bytes que quedan por leer del fichero;
+				si las caras dan más índices, IndicesPLY.asegurar() los amplía a medida que hace falta.
+	 */
 
-			linea_split = linea.split(" ");  // Obtengo cada elemento de la línea
+	private IndicesPLY reservarIndices (EntradaPLY entrada, int indices_cara, OpcionesPLY opciones){
+		long numero = Math.min(Math.multiplyExact((long) numCaras, indices_cara), entrada.restantes());
 
-			if (i == 0){  // Si es la 1º iteración del bucle
-				num_vertices_cara = Integer.parseInt(linea_split[0]);  // Obtengo el número de vértices que tiene la cara
-				caras = new short[numCaras * num_vertices_cara];  // Nota: "Tamaño = número de caras por número de vértices por cara"
-			}
 
-			// Añado la nueva cara
-			for (int j = 0; j < num_vertices_cara; j++){  // Para cada vértice de la cara
-				vertice_cara = Short.parseShort(linea_split[j+1]);
+		return reservarIndices((int) Math.min(numero, Integer.MAX_VALUE), opciones);
+	}
 
-				if (vertice_cara >= numVertices)
-					error("Encontrado algún índice de vértice igual o superior al número de vértices.");  // Error
 
-				caras[i * num_vertices_cara + j] = vertice_cara;  // Añado el vértice de la cara
+	/**
+	 * @brief	Completa una excepción de lectura con el lugar del fichero donde se ha producido.
+	 * @param	in,out	excepcion Excepción a completar.
+	 * @param	in	entrada Entrada de la que se lee el fichero.
+	 * @param	in	nombre_fichero Nombre del fichero.
+	 * @return	La propia excepción, para poder relanzarla.
+	 * @note	Si la excepción ya trae su lugar (por ejemplo, de un trozo de la lectura en paralelo) no se cambia.
+	 */
+
+	private ExcepcionLecturaPLY situar (ExcepcionLecturaPLY excepcion, EntradaPLY entrada, String nombre_fichero){
+		long posicion = entrada.posicion();
+
+
+		if (enCabecera)  // Error en la cabecera
+			excepcion.enElemento(null, -1, lineasCabecera);
+
+		else if (elementoActual != null){  // Error en un elemento del cuerpo
+			long linea = -1;
+
+			if (formato == FORMATO_ASCII  &&  filaActual >= 0){  // Una línea por fila: cabecera, elementos anteriores y fila
+				linea = lineasCabecera + filaActual + 1;
+
+				for (ElementoPLY elemento : elementos){
+					if (elemento == elementoActual)
+						break;
+
+					linea += elemento.numero();
+				}
 			}
+
+			excepcion.enElemento(elementoActual.nombre(), filaActual, linea);
 		}
 
+		else
+			posicion = -1;  // El cuerpo ya se ha consumido completo (lectura en paralelo)
 
-		return caras;
+
+		return excepcion.enFichero(nombre_fichero, posicion);
 	}
 
 
 	/**
-	 * @brief	Muestra un resumen del fichero ply leído.
-	 * @param	in	contexto Contexto de la actividad principal.
+	 * @brief	Abre un fichero ply.
+	 * @param 	in	contexto Contexto de la actividad principal.
 	 * @param	in	fichero Fichero ply.
+	 * @param	in	nombre_fichero Nombre del fichero para los mensajes de error.
+	 * @return	Una entrada que lee el fichero a medida que se consume.
 	 * @note	El fichero se recibe como identificador de los recursos.
 	 */
 
-	private static void resumen (Context contexto, int fichero){
-		String nombre_fichero = contexto.getResources().getResourceEntryName(fichero) + extensionPLY;  // Nombre del fichero
+	private static EntradaPLY abrirFichero (Context contexto, int fichero, String nombre_fichero){
+		EntradaPLY entrada = new EntradaPLY(Channels.newChannel(contexto.getResources().openRawResource(fichero)), tamanoBufferLectura);
 
-		// Resumen
-		Logger.getLogger(TAG).log(Level.INFO, "Resumen del fichero ply");  // Cabecera
-		Logger.getLogger(TAG).log(Level.INFO, nombre_fichero);  // Nombre del fichero
 
-		if (comentario != null)  // Si el fichero incluye un comentario
-			Logger.getLogger(TAG).log(Level.INFO, comentario);  // Comentario
+		if (!entrada.rellenar(1))  // Si el fichero está vacío
+			error("No se pudo abrir el fichero '" + nombre_fichero + "' para lectura.");  // Error
 
-		Logger.getLogger(TAG).log(Level.INFO, numVertices + " vértices y " + numCaras + " caras");  // Número de vértices y caras
+
+		return entrada;
 	}
 
 
 	/**
-	 * @brief	Muestra un mensaje de error y finaliza la aplicación.
-	 * @param 	in	error Mensaje de error.
+	 * @brief	Abre un fichero ply proyectándolo en memoria.
+	 * @param	in	fichero Ruta del fichero ply.
+	 * @return	Una entrada con el fichero completo.
+	 * @note	Los ficheros de más de 2 GB no se pueden proyectar de una vez y se leen a medida que se consumen.
+	 */
+
+	private static EntradaPLY abrirFichero (Path fichero){
+		EntradaPLY entrada = null;
+
+
+		try{
+			FileChannel canal = FileChannel.open(fichero, StandardOpenOption.READ);
+
+			if (canal.size() > Integer.MAX_VALUE)  // Si el fichero es demasiado grande para proyectarlo
+				entrada = new EntradaPLY(canal, tamanoBufferLectura);
+
+			else{
+				entrada = new EntradaPLY(canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size()));
+				canal.close();  // La proyección sigue siendo válida después de cerrar el canal
+			}
+		}
+
+		catch (IOException e){  // Capturo la excepción
+			throw new ExcepcionLecturaPLY("No se pudo abrir el fichero '" + fichero + "' para lectura.", e).enFichero(fichero.toString(), -1);
+		}
+
+		if (!entrada.rellenar(1))  // Si está vacío
+			error("No se pudo abrir el fichero '" + fichero + "' para lectura.");  // Error
+
+
+		return entrada;
+	}
+
+
+	/**
+	 * @brief	Cierra el fichero ply.
+	 * @param	in,out	fichero Entrada de la que se lee el fichero.
 	 */
 
-	private static void error (String error){
-		Logger.getLogger(TAG).log(Level.SEVERE, "Error leyendo el fichero ply: " + error);
-		Logger.getLogger(TAG).log(Level.INFO, "Programa terminado");
+	private static void cerrarCichero (Closeable fichero){
+		try{
+			fichero.close();  // Cierro el buffer de lectura del fichero
+		}
+
+		catch (IOException e){  // Capturo la excepción
+			Logger.getLogger(TAG).log(Level.SEVERE, e.getMessage());
+			e.printStackTrace();
+		}
+	}
+
+
+	/**
+	 * @brief	Lee la cabecera de un fichero ply.
+	 * @param	in,out	entrada Entrada de la que se lee el fichero.
+	 * @param	in	modelo true si el fichero debe tener un modelo ('element vertex' seguido de 'element face'); false si puede tener cualquier elemento.
+	 * @note	Al terminar, la entrada queda justo al comienzo del cuerpo, sea ascii o binario.
+	 */
+
+	private void leerCabecera (EntradaPLY entrada, boolean modelo){
+		String linea = null, token;
+		int estado = 0;  // 0: antes de leer 'element vertex' y 'element face'; 1: antes de leer 'element face'; 2: después de leer 'element vertex' y 'element face'
+		boolean en_cabecera = true;
+		ElementoPLY elemento = null;  // Último elemento declarado
+
+
+		// Inicialización del estado de la lectura
+		enCabecera = true;
+		lineasCabecera = 0;
+		numVertices = 0;
+		numCaras = 0;
+		comentario = null;
+		formato = FORMATO_ASCII;
+		elementos = new ArrayList <>();
+
+
+		// Lectura de la cabecera
+		while (en_cabecera){
+			// Lectura de la línea
+			linea = entrada.leerLinea();  // Leo una línea del fichero
+
+			if (linea == null)  // Si se ha llegado al final del fichero
+				error("Fin de fichero inesperado en la cabecera.");  // Error
+
+			lineasCabecera++;
+
+
+			// Lectura del token
+			if (linea.contains(" "))  // Si la línea contiene varios elementos
+				token = linea.substring(0, linea.indexOf(" "));  // El token es el 1º elemento
+
+			else
+				token = linea;  // El token es la línea completa
+
+
+			try{
+				// Análisis del token obtenido
+				switch (token){  // Token
+					case "ply":  // Comienzo del fichero
+						// Ignoro esta línea
+						break;
+
+					case "end_header":  // Final de la cabecera
+						if (modelo  &&  estado != 2)
+							error("No se encuentra 'element vertex' y/o 'element face' en la cabecera.");  // Error
+
+						en_cabecera = false;
+
+						break;
+
+					case "comment":  // Comentario sobre el modelo
+						comentario = linea.substring(linea.indexOf(" ") + 1);  // Obtengo el comentario
+
+						break;
+
+					case "format":  // Formato en el que está escrito el fichero
+						linea = linea.substring(linea.indexOf(" ") + 1);  // Obtengo el resto de la línea sin el token
+						token = linea.substring(0, linea.indexOf(" "));  // Vuelvo a obtener un token
+
+						switch (token){  // Token
+							case "ascii":
+								formato = FORMATO_ASCII;
+								break;
+
+							case "binary_little_endian":
+								formato = FORMATO_BINARIO_LE;
+								break;
+
+							case "binary_big_endian":
+								formato = FORMATO_BINARIO_BE;
+								break;
+
+							default:  // Cualquier otro formato
+								error("El formato del fichero ply no es 'ascii', 'binary_little_endian' ni 'binary_big_endian', es '" + token + "'. No se puede leer.");  // Error
+								break;
+						}
+
+						break;
+
+					case "element":  // Elemento del modelo
+						linea = linea.substring(linea.indexOf(" ") + 1);  // Obtengo el resto de la línea sin el token
+						token = linea.substring(0, linea.indexOf(" "));  // Vuelvo a obtener un token
+
+						// Análisis del token obtenido
+						switch (token){  // Token
+							case "vertex":  // Vértice
+								if (modelo  &&  estado != 0)  // Si el estado no es 0
+									error("La línea 'element vertex' está repetida o se encuentra antes de 'element face'.");  // Error
+
+								linea = linea.substring(linea.indexOf(" ") + 1);  // Obtengo el resto de la línea sin el token
+								numVertices = Integer.parseInt(linea.trim());  // Obtengo el número de vértices
+								elemento = new ElementoPLY(token, numVertices);
+
+								estado = 1;  // Siguiente estado
+
+								break;
+
+							case "face":  // Cara
+								if (modelo  &&  estado != 1)  // Si estado no es 1
+									error("La línea 'element face' está repetida o se encuentra después de 'element vertex'.");  // Error
+
+								linea = linea.substring(linea.indexOf(" ") + 1);  // Obtengo el resto de la línea sin el token
+								numCaras = Integer.parseInt(linea.trim());  // Obtengo el número de caras
+								elemento = new ElementoPLY(token, numCaras);
+
+								estado = 2;  // Siguiente estado
+
+								break;
+
+							default:  // Cualquier otro token
+								if (modelo)  // Solo se utilizan los vértices y las caras
+									Logger.getLogger(TAG).log(Level.WARNING, "Elemento '" + token + "' ignorado.");
+
+								linea = linea.substring(linea.indexOf(" ") + 1);  // Obtengo el resto de la línea sin el token
+								elemento = new ElementoPLY(token, Integer.parseInt(linea.trim()));  // Se guarda para poder saltarlo en el cuerpo
+
+								break;
+						}
+
+						elementos.add(elemento);
+
+						break;
+
+					case "property":  // Propiedades de los elementos del modelo
+						if (elemento == null)  // Si no se ha declarado ningún elemento
+							error("Encontrada la línea 'property' antes de cualquier línea 'element'.");  // Error
+
+						elemento.anadir(leerPropiedad(linea));  // Añado la propiedad al último elemento declarado
+
+						break;
+
+					default:  // Cualquier otro token
+						Logger.getLogger(TAG).log(Level.WARNING, "Token '" + token + "' ignorado.");
+
+						break;
+				}
+			}
+
+			catch (NumberFormatException | IndexOutOfBoundsException e){  // Línea con un número o un formato incorrecto
+				throw new ExcepcionLecturaPLY("Línea de la cabecera incorrecta (" + e.getMessage() + ").", e);
+			}
+		}
+
+
+		// Mensajes de error
+		if (modelo  &&  numVertices <= 0)  // Si el número de vértices es negativo
+			error("Número de vértices incorrecto (o bien es 0 o negativo).");  // Error
+
+		if (modelo  &&  numCaras <= 0)  // Si el número de caras es negativo
+			error("Número de caras incorrecto (o bien es 0 o negativo).");  // Error
+
+		if (modelo){
+			ElementoPLY caras = elementos.get(posicionElemento("face"));
+
+			propiedadesAntesIndices = posicionIndices(caras);
+			listaIndices = caras.propiedades().get(propiedadesAntesIndices);
+		}
+
+		enCabecera = false;
+	}
+
+
+	/**
+	 * @brief	Analiza una línea 'property' de la cabecera de un fichero ply.
+	 * @param	in	linea Línea de la cabecera.
+	 * @return	La propiedad descrita por la línea.
+	 * @note	Formatos admitidos: "property <tipo> <nombre>" y "property list <tipo longitud> <tipo elementos> <nombre>".
+	 */
+
+	private static PropiedadPLY leerPropiedad (String linea){
+		String[] linea_split = linea.trim().split("\\s+");  // Elementos de la línea
+		PropiedadPLY propiedad = null;
+
+
+		if (linea_split.length == 3){  // Propiedad escalar
+			int tipo = PropiedadPLY.tipo(linea_split[1]);
+
+			if (tipo < 0)
+				error("Tipo de dato '" + linea_split[1] + "' desconocido.");  // Error
+
+			propiedad = new PropiedadPLY(linea_split[2], tipo);
+		}
+
+		else if (linea_split.length == 5  &&  linea_split[1].equals("list")){  // Propiedad de tipo lista
+			int tipo_longitud = PropiedadPLY.tipo(linea_split[2]);
+			int tipo = PropiedadPLY.tipo(linea_split[3]);
+
+			if (tipo_longitud < 0  ||  tipo < 0)
+				error("Tipo de dato de la lista '" + linea_split[4] + "' desconocido.");  // Error
+
+			propiedad = new PropiedadPLY(linea_split[4], tipo_longitud, tipo);
+		}
+
+		else
+			error("Línea 'property' incorrecta: '" + linea + "'.");  // Error
+
+
+		return propiedad;
+	}
+
+
+	/**
+	 * @brief	Lee los vértices de un fichero ply.
+	 * @param	in,out	entrada Entrada de la que se lee el fichero.
+	 * @param	in	elemento Elemento "vertex" de la cabecera.
+	 * @param	in	opciones Opciones de lectura.
+	 * @return	Los atributos de los vértices.
+	 * @note	Los números se leen directamente de los bytes del fichero, sin crear objetos por línea.
+	 * @note	Si se calcula la envolvente, la caja de los vértices se amplía con cada uno al leerlo; la esfera se calcula después, en ModeloPLY.
+	 */
+
+	private VerticesPLY leerVertices (EntradaPLY entrada, ElementoPLY elemento, OpcionesPLY opciones){
+		VerticesPLY vertices = new VerticesPLY(elemento, opciones);
+
+
+		// Lectura de vértices
+		for (int i = 0; i < numVertices; i++){  // Para cada vértice del fichero
+			filaActual = i;
+
+			vertices.leerAscii(entrada, i);  // Añado el nuevo vértice
+
+			if (envolvente)
+				vertices.ampliarCaja(i, vertices.caja());  // Amplío la caja con él
+
+			entrada.saltarLinea();  // Descarto el resto de propiedades del vértice
+		}
+
+
+		return vertices;
+	}
+
+
+	/**
+	 * @brief	Busca la propiedad de las caras con los índices de sus vértices.
+	 * @param	in	elemento Elemento "face" de la cabecera.
+	 * @return	El número de propiedades anteriores a la 1ª propiedad de tipo lista del elemento, que es la que contiene los índices.
+	 * @note	Las propiedades anteriores a la 1ª lista son escalares, por lo que en los ficheros ascii ocupan un token cada una.
+	 */
+
+	private static int posicionIndices (ElementoPLY elemento){
+		int posicion = 0;
+
+
+		for (PropiedadPLY propiedad : elemento.propiedades()){
+			if (propiedad.esLista())
+				return posicion;
+
+			posicion++;
+		}
+
+		error("El elemento 'face' no tiene ninguna propiedad de tipo lista con los índices de los vértices.");  // Error
+
+
+		return -1;
+	}
+
+
+	/**
+	 * @brief	Salta las propiedades de una cara de un fichero ply ascii anteriores a la lista con los índices de sus vértices.
+	 * @param	in,out	entrada Entrada de la que se lee el fichero.
+	 */
+
+	private void saltarAntesIndices (EntradaPLY entrada){
+		for (int p = 0; p < propiedadesAntesIndices; p++)
+			entrada.saltarToken();
+	}
+
+
+	/**
+	 * @brief	Lee las caras de un fichero ply.
+	 * @param	in,out	entrada Entrada de la que se lee el fichero.
+	 * @param	in	vertices Vértices ya leídos, para el recorte de orejas; null si aún no se han leído.
+	 * @param	in	opciones Opciones de lectura.
+	 * @return	Los índices de las caras, ya triangulados según OpcionesPLY.triangulacion().
+	 * @note	Los números se leen directamente de los bytes del fichero, sin crear objetos por línea.
+	 * @note	Cada cara puede tener un número de vértices distinto; los índices se reservan según la 1ª cara y se amplían si no caben.
+	 * @note	Como en los ficheros binarios, los índices son la 1ª propiedad de tipo lista; el resto de propiedades se descartan.
+	 */
+
+	private IndicesPLY leerCaras (EntradaPLY entrada, VerticesPLY vertices, OpcionesPLY opciones){
+		int triangulacion = opciones.triangulacion();
+		TrianguladorPLY triangulador = new TrianguladorPLY(triangulacion, vertices);
+		int num_vertices_cara = 0;
+		int num_indices = 0;
+		IndicesPLY caras = null;
+		long vertice_cara;
+
+
+		// Lectura de caras
+		for (int i = 0; i < numCaras; i++){  // Para cada cara del fichero
+			filaActual = i;
+
+			saltarAntesIndices(entrada);
+
+			int longitud = longitudLista(entrada, entrada.leerEntero(), listaIndices, true);  // Número de vértices de la cara
+
+			if (i == 0){  // Si es la 1º iteración del bucle
+				num_vertices_cara = comprobarCara(longitud, -1, triangulacion);  // Obtengo el número de vértices que tiene la cara
+				caras = reservarIndices(entrada, TrianguladorPLY.numIndices(triangulacion, longitud), opciones);
+			}
+
+			else
+				comprobarCara(longitud, num_vertices_cara, triangulacion);
+
+			// Añado la nueva cara
+			triangulador.vaciar(longitud);
+
+			for (int j = 0; j < longitud; j++){  // Para cada vértice de la cara
+				vertice_cara = entrada.leerEntero();
+
+				if (vertice_cara >= numVertices  ||  vertice_cara < 0)
+					error("Encontrado algún índice de vértice igual o superior al número de vértices.");  // Error
+
+				triangulador.anadir((int) vertice_cara);  // Añado el vértice de la cara
+			}
+
+			caras.asegurar(sumarIndices(num_indices, TrianguladorPLY.numIndices(triangulacion, longitud)));
+			num_indices += triangulador.triangular(caras, num_indices);
+
+			entrada.saltarLinea();  // Descarto el resto de propiedades de la cara
+		}
+
+		caras.numero(num_indices);
+
+
+		return caras;
+	}
+
+
+	/**
+	 * @brief	Comprueba el número de vértices de una cara.
+	 * @param	in	longitud Número de vértices de la cara, ya comprobado con longitudLista().
+	 * @param	in	num_vertices_cara Número de vértices de la 1ª cara; -1 si es la 1ª.
+	 * @param	in	triangulacion Triangulación de las caras.
+	 * @return	El número de vértices de la cara.
+	 * @note	Sin triangular, todas las caras deben tener el mismo número de vértices que la 1ª.
+	 */
+
+	private static int comprobarCara (int longitud, int num_vertices_cara, int triangulacion){
+		if (num_vertices_cara >= 0  &&  longitud != num_vertices_cara  &&  triangulacion == OpcionesPLY.TRIANGULACION_NINGUNA)
+			error("Encontrada alguna cara con un número de vértices distinto al de la 1ª cara (hay que triangular las caras).");  // Error
+
+
+		return longitud;
+	}
+
+
+	/**
+	 * @brief	Comprueba la longitud de una lista de un fichero ply.
+	 * @param	in	entrada Entrada de la que se lee el fichero, justo después de la longitud.
+	 * @param	in	longitud Longitud leída.
+	 * @param	in	propiedad Propiedad de tipo lista.
+	 * @param	in	ascii true si el fichero es ascii; false si es binario.
+	 * @return	La longitud de la lista.
+	 * @note	La longitud debe ser un entero no negativo que quepa en su tipo, y sus valores deben caber en lo que queda del fichero (en los
+				ascii al menos 2 bytes cada uno: un separador y un dígito), por lo que nunca se reserva memoria para más valores de los que hay.
+	 */
+
+	static int longitudLista (EntradaPLY entrada, double longitud, PropiedadPLY propiedad, boolean ascii){
+		if (!(longitud >= 0)  ||  longitud != Math.rint(longitud))  // Si es negativa, no es entera o no es un número
+			error("Encontrada alguna lista '" + propiedad.nombre() + "' con una longitud negativa o no entera (" + longitud + ").");  // Error
+
+		if (longitud > PropiedadPLY.maximo(propiedad.tipoLongitud()))  // Si no cabe en su tipo
+			error("Encontrada alguna lista '" + propiedad.nombre() + "' con una longitud (" + (long) longitud + ") mayor que el máximo de su tipo '" + PropiedadPLY.nombreTipo(propiedad.tipoLongitud()) + "'.");  // Error
+
+		long bytes = (long) longitud * (ascii ? 2 : PropiedadPLY.tamano(propiedad.tipo()));  // Bytes mínimos de los valores
+
+		if (bytes > Integer.MAX_VALUE  ||  !entrada.quedan(bytes))  // Si los valores no caben en el resto del fichero
+			error("Encontrada alguna lista '" + propiedad.nombre() + "' con una longitud (" + (long) longitud + ") mayor que lo que queda del fichero.");  // Error
+
+
+		return (int) longitud;
+	}
+
+
+	/**
+	 * @brief	Suma los índices de una cara a los de las caras anteriores.
+	 * @param	in	num_indices Número de índices de las caras anteriores.
+	 * @param	in	indices_cara Número de índices de la cara.
+	 * @return	El número de índices con los de la cara.
+	 */
+
+	private static int sumarIndices (int num_indices, int indices_cara){
+		if ((long) num_indices + indices_cara > Integer.MAX_VALUE)  // Si los índices no caben en un buffer
+			error("Las caras tienen demasiados índices.");  // Error
+
+
+		return num_indices + indices_cara;
+	}
+
+
+	/**
+	 * @brief	Lee en paralelo el cuerpo de un fichero ply ascii.
+	 * @param	in	cuerpo Buffer con el cuerpo completo del fichero.
+	 * @param	out	vertices Buffers donde se guardan los atributos de los vértices.
+	 * @param	in	opciones Opciones de lectura (pool de hilos, buffers directos y buffer de destino).
+	 * @return	Los índices de las caras.
+	 * @note	El cuerpo se divide en trozos que terminan en un salto de línea. En una 1ª pasada se cuentan en paralelo las filas de cada trozo
+				(las líneas que no están en blanco, que la lectura secuencial también se salta), con lo que se sabe qué fila del cuerpo (y por
+				tanto qué elemento) empieza cada trozo; en una pasada intermedia se cuentan
+				los índices que dan las caras de cada trozo una vez trianguladas, leyendo solo su número de vértices; y en una 2ª pasada cada trozo
+				se lee en paralelo y escribe directamente en su parte de los buffers de salida.
+	 * @note	Cada trozo calcula la caja de sus vértices a medida que los lee, y al final se unen en la de los vértices.
+	 */
+
+	private IndicesPLY leerCuerpoParalelo (final ByteBuffer cuerpo, final VerticesPLY vertices, OpcionesPLY opciones){
+		int num_trozos = (int) Math.min(Math.max(1, cuerpo.limit() / tamanoMinimoTrozo), (long) opciones.pool().getParallelism() * trozosPorHilo);
+		final int[] limites = new int[num_trozos + 1];  // El trozo k va de limites[k] a limites[k + 1]
+		final long[] primera_fila = new long[num_trozos + 1];  // Fila del cuerpo con la que empieza cada trozo
+		final long[] inicio_elemento = new long[elementos.size() + 1];  // Fila del cuerpo con la que empieza cada elemento
+		ArrayList <Callable <Long>> tareas = new ArrayList <>();
+
+
+		// División del cuerpo en trozos que terminan en un salto de línea
+		limites[num_trozos] = cuerpo.limit();
+
+		for (int k = 1; k < num_trozos; k++){
+			int i = Math.max((int) ((long) cuerpo.limit() * k / num_trozos), limites[k - 1]);
+
+			while (i < cuerpo.limit()  &&  cuerpo.get(i) != '\n')
+				i++;
+
+			limites[k] = Math.min(i + 1, cuerpo.limit());
+		}
+
+
+		// 1ª pasada: número de filas de cada trozo
+		for (int k = 0; k < num_trozos; k++){
+			final int trozo = k;
+
+			tareas.add(() -> contarFilas(cuerpo, limites[trozo], limites[trozo + 1]));
+		}
+
+		List <Long> filas = ejecutar(opciones, tareas);
+
+		for (int k = 0; k < num_trozos; k++)
+			primera_fila[k + 1] = primera_fila[k] + filas.get(k);
+
+		for (int e = 0; e < elementos.size(); e++)
+			inicio_elemento[e + 1] = inicio_elemento[e] + elementos.get(e).numero();
+
+		if (primera_fila[num_trozos] < inicio_elemento[elementos.size()])  // Si faltan filas
+			error("Fin de fichero inesperado en el cuerpo del fichero.");  // Error
+
+
+		// Número de vértices de la 1ª cara (sin triangular, todas las caras deben tenerlo)
+		final int indice_vertices = posicionElemento("vertex"), indice_caras = posicionElemento("face");
+		int trozo_caras = 0;
+
+		while (primera_fila[trozo_caras + 1] <= inicio_elemento[indice_caras])
+			trozo_caras++;
+
+		EntradaPLY entrada_caras = new EntradaPLY(trozo(cuerpo, limites[trozo_caras], limites[trozo_caras + 1]));
+
+		for (long l = primera_fila[trozo_caras]; l < inicio_elemento[indice_caras]; l++)
+			entrada_caras.saltarFila();
+
+		saltarAntesIndices(entrada_caras);
+
+		final int num_vertices_cara;
+
+		try{
+			num_vertices_cara = longitudLista(entrada_caras, entrada_caras.leerEntero(), listaIndices, true);
+		}
+
+		catch (ExcepcionLecturaPLY excepcion){  // Añado el lugar del error, la 1ª cara
+			throw excepcion.enElemento("face", 0, lineasCabecera + inicio_elemento[indice_caras] + 1).enFichero(null, inicioCuerpo + limites[trozo_caras] + entrada_caras.posicion());
+		}
+		final int triangulacion = opciones.triangulacion();
+
+
+		// Pasada intermedia: número de índices de las caras de cada trozo, con el que se sabe dónde empiezan los índices de cada trozo
+		final long inicio_caras = inicio_elemento[indice_caras], fin_caras = inicio_elemento[indice_caras + 1];
+		final int[] primer_indice = new int[num_trozos + 1];  // Posición en los índices de la 1ª cara de cada trozo
+
+		tareas.clear();
+
+		for (int k = 0; k < num_trozos; k++){
+			final int trozo = k;
+
+			tareas.add(() -> solapa(primera_fila, trozo, inicio_elemento, indice_caras) ? contarIndices(new EntradaPLY(trozo(cuerpo, limites[trozo], limites[trozo + 1])), limites[trozo], primera_fila[trozo], primera_fila[trozo + 1], inicio_caras, fin_caras, triangulacion) : 0L);
+		}
+
+		List <Long> indices = ejecutar(opciones, tareas);
+
+		for (int k = 0; k < num_trozos; k++){
+			long siguiente = primer_indice[k] + indices.get(k);
+
+			if (siguiente > Integer.MAX_VALUE)  // Si los índices no caben en un buffer
+				error("Las caras tienen demasiados índices.");  // Error
+
+			primer_indice[k + 1] = (int) siguiente;
+		}
+
+		final IndicesPLY caras = reservarIndices(primer_indice[num_trozos], opciones);  // Nota: "Tamaño exacto, ya contado"
+
+
+		// 2ª pasada: lectura de cada trozo en su parte de los buffers de salida
+		// Con el recorte de orejas las caras necesitan todos los vértices, por lo que se leen en una 2ª fase, cuando ya se han leído todos
+		final boolean orejas = (triangulacion == OpcionesPLY.TRIANGULACION_OREJAS);
+		final float[][] cajas = new float[num_trozos][];  // Caja de los vértices de cada trozo
+
+		for (int fase = orejas ? 0 : 1; fase < 2; fase++){
+			final VerticesPLY vertices_fase = (!orejas  ||  fase == 0) ? vertices : null;  // null para saltar los vértices
+			final IndicesPLY caras_fase = (!orejas  ||  fase == 1) ? caras : null;  // null para saltar las caras
+
+			tareas.clear();
+
+			for (int k = 0; k < num_trozos; k++){
+				final int trozo = k;
+
+				if (orejas  &&  !solapa(primera_fila, trozo, inicio_elemento, (fase == 0) ? indice_vertices : indice_caras))  // Trozo sin filas de la fase
+					continue;
+
+				tareas.add(() -> {
+					float[] caja = (vertices_fase != null  &&  envolvente) ? (cajas[trozo] = Envolvente.cajaVacia()) : null;
+
+					leerTrozo(new EntradaPLY(trozo(cuerpo, limites[trozo], limites[trozo + 1])), limites[trozo], primera_fila[trozo], primera_fila[trozo + 1], inicio_elemento, vertices_fase, caras_fase, new TrianguladorPLY(triangulacion, vertices), primer_indice[trozo], num_vertices_cara, caja);
+
+					return 0L;
+				});
+			}
+
+			ejecutar(opciones, tareas);
+
+			if (vertices_fase != null)
+				for (float[] caja : cajas)
+					if (caja != null)
+						Envolvente.unir(vertices.caja(), caja);
+		}
+
+
+		return caras;
+	}
+
+
+	/**
+	 * @brief	Lee las filas de un trozo del cuerpo de un fichero ply ascii.
+	 * @param	in,out	entrada Entrada con el trozo.
+	 * @param	in	inicio Posición del comienzo del trozo en el cuerpo.
+	 * @param	in	primera Fila del cuerpo con la que empieza el trozo.
+	 * @param	in	ultima Fila del cuerpo con la que empieza el siguiente trozo.
+	 * @param	in	inicio_elemento Fila del cuerpo con la que empieza cada elemento.
+	 * @param	out	vertices Buffers donde se guardan los atributos de los vértices; null para saltar los vértices.
+	 * @param	out	caras Índices de las caras; null para saltar las caras.
+	 * @param	in,out	triangulador Triangulador de las caras del trozo.
+	 * @param	in	primer_indice Posición en caras del 1º índice de las caras del trozo.
+	 * @param	in	num_vertices_cara Número de vértices de la 1ª cara del fichero.
+	 * @param	in,out	caja Caja de los vértices del trozo; null si se saltan los vértices o no se calcula la envolvente.
+	 */
+
+	private void leerTrozo (EntradaPLY entrada, int inicio, long primera, long ultima, long[] inicio_elemento, VerticesPLY vertices, IndicesPLY caras, TrianguladorPLY triangulador, int primer_indice, int num_vertices_cara, float[] caja){
+		int e = 0;  // Elemento al que pertenece la fila
+		long l = primera;  // Fila del cuerpo
+		int posicion = primer_indice;  // Posición en caras de la siguiente cara
+		int longitud;
+		long vertice_cara;
+
+
+		try{
+			for (; l < ultima  &&  l < inicio_elemento[elementos.size()]; l++){  // Para cada fila del trozo con un elemento
+				while (l >= inicio_elemento[e + 1])
+					e++;
+
+				int i = (int) (l - inicio_elemento[e]);  // Posición de la fila dentro de su elemento
+
+				entrada.saltarBlancos();  // Líneas en blanco antes de la fila
+
+				switch (elementos.get(e).nombre()){
+					case "vertex":  // Añado el nuevo vértice
+						if (vertices != null){
+							vertices.leerAscii(entrada, i);
+
+							if (caja != null)
+								vertices.ampliarCaja(i, caja);
+						}
+
+						break;
+
+					case "face":  // Añado la nueva cara
+						if (caras == null)
+							break;
+
+						saltarAntesIndices(entrada);
+						longitud = comprobarCara(longitudLista(entrada, entrada.leerEntero(), listaIndices, true), num_vertices_cara, triangulador.triangulacion());  // Número de vértices de la cara
+
+						triangulador.vaciar(longitud);
+
+						for (int j = 0; j < longitud; j++){  // Para cada vértice de la cara
+							vertice_cara = entrada.leerEntero();
+
+							if (vertice_cara >= numVertices  ||  vertice_cara < 0)
+								error("Encontrado algún índice de vértice igual o superior al número de vértices.");  // Error
+
+							triangulador.anadir((int) vertice_cara);  // Añado el vértice de la cara
+						}
+
+						posicion += triangulador.triangular(caras, posicion);
+
+						break;
+
+					default:  // Cualquier otro elemento se salta
+						break;
+				}
+
+				entrada.saltarLinea();  // Descarto el resto de la línea
+			}
+		}
+
+		catch (ExcepcionLecturaPLY excepcion){  // Añado el lugar del error dentro del trozo
+			throw excepcion.enElemento(elementos.get(e).nombre(), l - inicio_elemento[e], lineasCabecera + l + 1).enFichero(null, inicioCuerpo + inicio + entrada.posicion());
+		}
+	}
+
+
+	/**
+	 * @brief	Cuenta los índices que dan las caras de un trozo del cuerpo de un fichero ply ascii.
+	 * @param	in,out	entrada Entrada con el trozo.
+	 * @param	in	inicio Posición del comienzo del trozo en el cuerpo.
+	 * @param	in	primera Fila del cuerpo con la que empieza el trozo.
+	 * @param	in	ultima Fila del cuerpo con la que empieza el siguiente trozo.
+	 * @param	in	inicio_caras Fila del cuerpo con la que empiezan las caras.
+	 * @param	in	fin_caras Fila del cuerpo con la que terminan las caras.
+	 * @param	in	triangulacion Triangulación de las caras.
+	 * @return	El número de índices de las caras del trozo, una vez trianguladas.
+	 * @note	De cada cara solo se lee su número de vértices (tras las propiedades anteriores a los índices); el resto de la línea se salta.
+	 */
+
+	private long contarIndices (EntradaPLY entrada, int inicio, long primera, long ultima, long inicio_caras, long fin_caras, int triangulacion){
+		long l = primera;  // Fila del cuerpo
+		long num_indices = 0;
+
+
+		try{
+			for (; l < inicio_caras; l++)  // Filas de otros elementos antes de las caras
+				entrada.saltarFila();
+
+			for (; l < ultima  &&  l < fin_caras; l++){  // Para cada cara del trozo
+				saltarAntesIndices(entrada);
+				num_indices += TrianguladorPLY.numIndices(triangulacion, longitudLista(entrada, entrada.leerEntero(), listaIndices, true));
+
+				entrada.saltarLinea();  // Descarto los índices y el resto de la línea
+			}
+		}
+
+		catch (ExcepcionLecturaPLY excepcion){  // Añado el lugar del error dentro del trozo
+			throw excepcion.enElemento("face", l - inicio_caras, lineasCabecera + l + 1).enFichero(null, inicioCuerpo + inicio + entrada.posicion());
+		}
+
+
+		return num_indices;
+	}
+
+
+	/**
+	 * @brief	Busca un elemento de la cabecera.
+	 * @param	in	nombre Nombre del elemento.
+	 * @return	La posición del elemento en la cabecera.
+	 */
+
+	private int posicionElemento (String nombre){
+		int e = 0;
+
+
+		while (!elementos.get(e).nombre().equals(nombre))
+			e++;
+
+
+		return e;
+	}
+
+
+	/**
+	 * @brief	Indica si un trozo del cuerpo de un fichero ply ascii tiene alguna fila de un elemento.
+	 * @param	in	primera_fila Fila del cuerpo con la que empieza cada trozo.
+	 * @param	in	trozo Trozo.
+	 * @param	in	inicio_elemento Fila del cuerpo con la que empieza cada elemento.
+	 * @param	in	elemento Posición del elemento en la cabecera.
+	 * @return	true si el trozo tiene alguna fila del elemento; false en caso contrario.
+	 */
+
+	private static boolean solapa (long[] primera_fila, int trozo, long[] inicio_elemento, int elemento){
+		return primera_fila[trozo] < inicio_elemento[elemento + 1]  &&  primera_fila[trozo + 1] > inicio_elemento[elemento];
+	}
+
+
+	/**
+	 * @brief	Cuenta las filas de un trozo del cuerpo de un fichero ply ascii.
+	 * @param	in	cuerpo Buffer con el cuerpo completo del fichero.
+	 * @param	in	inicio Posición del comienzo del trozo.
+	 * @param	in	fin Posición del final del trozo.
+	 * @return	El número de líneas del trozo que no están en blanco, incluida la última aunque no termine en un salto de línea.
+	 */
+
+	private static long contarFilas (ByteBuffer cuerpo, int inicio, int fin){
+		long filas = 0;
+		boolean en_blanco = true;  // Si la línea actual solo tiene espacios hasta ahora
+
+
+		for (int i = inicio; i < fin; i++){
+			byte c = cuerpo.get(i);
+
+			if (c == '\n'){
+				if (!en_blanco)
+					filas++;
+
+				en_blanco = true;
+			}
+
+			else if (c != ' '  &&  c != '\t'  &&  c != '\r')
+				en_blanco = false;
+		}
+
+		if (!en_blanco)  // Última línea sin salto de línea
+			filas++;
+
+
+		return filas;
+	}
+
+
+	/**
+	 * @brief	Devuelve un trozo de un buffer.
+	 * @param	in	cuerpo Buffer completo.
+	 * @param	in	inicio Posición del comienzo del trozo.
+	 * @param	in	fin Posición del final del trozo.
+	 * @return	Un buffer que comparte los bytes del trozo.
+	 */
+
+	private static ByteBuffer trozo (ByteBuffer cuerpo, int inicio, int fin){
+		ByteBuffer trozo = cuerpo.duplicate();
+
+		trozo.limit(fin);
+		trozo.position(inicio);
+
+
+		return trozo.slice();
+	}
+
+
+	/**
+	 * @brief	Ejecuta unas tareas en el pool de hilos de las opciones y espera a que terminen.
+	 * @param	in	opciones Opciones de lectura (pool de hilos).
+	 * @param	in	tareas Tareas a ejecutar.
+	 * @return	Los resultados de las tareas en el mismo orden.
+	 */
+
+	private static List <Long> ejecutar (OpcionesPLY opciones, List <Callable <Long>> tareas){
+		ArrayList <Long> resultados = new ArrayList <>();
+
+
+		try{
+			for (Future <Long> resultado : opciones.pool().invokeAll(tareas))
+				resultados.add(resultado.get());
+		}
+
+		catch (ExecutionException e){  // Capturo la excepción de la tarea
+			if (e.getCause() instanceof ExcepcionLecturaPLY)  // Error de lectura en un trozo
+				throw (ExcepcionLecturaPLY) e.getCause();
+
+			throw new ExcepcionLecturaPLY("La lectura en paralelo no ha terminado correctamente.", e.getCause());
+		}
+
+		catch (InterruptedException e){  // Capturo la excepción
+			Thread.currentThread().interrupt();  // Conservo la interrupción para quien la espere
+
+			throw new ExcepcionLecturaPLY("La lectura en paralelo se ha interrumpido.", e);
+		}
+
+
+		return resultados;
+	}
+
+
+	/**
+	 * @brief	Salta las líneas de un elemento que no se utiliza de un fichero ply ascii.
+	 * @param	in,out	entrada Entrada de la que se lee el fichero.
+	 * @param	in	elemento Elemento a saltar.
+	 */
+
+	private static void saltarElemento (EntradaPLY entrada, ElementoPLY elemento){
+		for (int i = 0; i < elemento.numero(); i++)  // Una fila por cada elemento, saltando las líneas en blanco
+			entrada.saltarFila();
+	}
+
+
+	/**
+	 * @brief	Lee los vértices de un fichero ply binario.
+	 * @param	in,out	entrada Entrada de la que se lee el fichero.
+	 * @param	in	elemento Elemento "vertex" de la cabecera.
+	 * @param	in	opciones Opciones de lectura.
+	 * @return	Los atributos de los vértices.
+	 * @note	Las propiedades que no son atributos que se leen se saltan sin decodificarlas.
+	 * @note	Si se calcula la envolvente, la caja de los vértices se amplía con cada uno al leerlo; la esfera se calcula después, en ModeloPLY.
+	 */
+
+	private VerticesPLY leerVerticesBinario (EntradaPLY entrada, ElementoPLY elemento, OpcionesPLY opciones){
+		VerticesPLY vertices = new VerticesPLY(elemento, opciones);
+
+
+		// Lectura de vértices
+		for (int i = 0; i < numVertices; i++){  // Para cada vértice del fichero
+			filaActual = i;
+
+			vertices.leerBinario(entrada, i);  // Añado el nuevo vértice
+
+			if (envolvente)
+				vertices.ampliarCaja(i, vertices.caja());  // Amplío la caja con él
+		}
+
+
+		return vertices;
+	}
+
+
+	/**
+	 * @brief	Lee las caras de un fichero ply binario.
+	 * @param	in,out	entrada Entrada de la que se lee el fichero.
+	 * @param	in	elemento Elemento "face" de la cabecera.
+	 * @param	in	vertices Vértices ya leídos, para el recorte de orejas; null si aún no se han leído.
+	 * @param	in	opciones Opciones de lectura.
+	 * @return	Los índices de las caras, ya triangulados según OpcionesPLY.triangulacion().
+	 * @note	La 1ª propiedad de tipo lista del elemento contiene los índices de los vértices; el resto se descartan.
+	 */
+
+	private IndicesPLY leerCarasBinario (EntradaPLY entrada, ElementoPLY elemento, VerticesPLY vertices, OpcionesPLY opciones){
+		int triangulacion = opciones.triangulacion();
+		TrianguladorPLY triangulador = new TrianguladorPLY(triangulacion, vertices);
+		int num_vertices_cara = 0;
+		int num_indices = 0;
+		IndicesPLY caras = null;
+		int vertice_cara;
+
+
+		// Lectura de caras
+		for (int i = 0; i < numCaras; i++){  // Para cada cara del fichero
+			filaActual = i;
+
+			boolean leida = false;  // Si ya se han leído los índices de la cara
+
+			for (PropiedadPLY propiedad : elemento.propiedades()){  // Para cada propiedad de la cara
+				if (leida  ||  !propiedad.esLista()){  // Propiedades que no son los índices
+					saltarPropiedadBinaria(entrada, propiedad);
+
+					continue;
+				}
+
+				int longitud = longitudLista(entrada, entrada.leerValor(propiedad.tipoLongitud()), propiedad, false);  // Número de vértices de la cara
+
+				if (i == 0){  // Si es la 1º cara
+					num_vertices_cara = comprobarCara(longitud, -1, triangulacion);  // Obtengo el número de vértices que tiene la cara
+					caras = reservarIndices(entrada, TrianguladorPLY.numIndices(triangulacion, longitud), opciones);
+				}
+
+				else
+					comprobarCara(longitud, num_vertices_cara, triangulacion);
+
+				// Añado la nueva cara
+				triangulador.vaciar(longitud);
+
+				for (int j = 0; j < longitud; j++){  // Para cada vértice de la cara
+					vertice_cara = (int) entrada.leerValor(propiedad.tipo());
+
+					if (vertice_cara >= numVertices  ||  vertice_cara < 0)
+						error("Encontrado algún índice de vértice igual o superior al número de vértices.");  // Error
+
+					triangulador.anadir(vertice_cara);  // Añado el vértice de la cara
+				}
+
+				caras.asegurar(sumarIndices(num_indices, TrianguladorPLY.numIndices(triangulacion, longitud)));
+				num_indices += triangulador.triangular(caras, num_indices);
+
+				leida = true;
+			}
+
+			if (!leida)  // Si el elemento no tiene ninguna lista
+				error("El elemento 'face' no tiene ninguna propiedad de tipo lista con los índices de los vértices.");  // Error
+		}
+
+		caras.numero(num_indices);
+
+		return caras;
+	}
+
+
+	/**
+	 * @brief	Salta todas las propiedades de un elemento que no se utiliza de un fichero ply binario.
+	 * @param	in,out	entrada Entrada de la que se lee el fichero.
+	 * @param	in	elemento Elemento a saltar.
+	 */
+
+	private static void saltarElementoBinario (EntradaPLY entrada, ElementoPLY elemento){
+		for (int i = 0; i < elemento.numero(); i++)  // Para cada elemento
+			for (PropiedadPLY propiedad : elemento.propiedades())  // Para cada propiedad del elemento
+				saltarPropiedadBinaria(entrada, propiedad);
+	}
+
+
+	/**
+	 * @brief	Salta una propiedad de un fichero ply binario.
+	 * @param	in,out	entrada Entrada de la que se lee el fichero.
+	 * @param	in	propiedad Propiedad a saltar.
+	 */
+
+	static void saltarPropiedadBinaria (EntradaPLY entrada, PropiedadPLY propiedad){
+		int bytes = PropiedadPLY.tamano(propiedad.tipo());
+
+		if (propiedad.esLista())  // Si es una lista hay que leer su longitud
+			bytes *= longitudLista(entrada, entrada.leerValor(propiedad.tipoLongitud()), propiedad, false);
+
+		entrada.saltar(bytes);  // Avanzo sin decodificar
+	}
+
+
+	/**
+	 * @brief	Muestra un resumen del fichero ply leído.
+	 * @param	in	nombre_fichero Nombre del fichero ply.
+	 */
+
+	private void resumen (String nombre_fichero){
+		// Resumen
+		Logger.getLogger(TAG).log(Level.INFO, "Resumen del fichero ply");  // Cabecera
+		Logger.getLogger(TAG).log(Level.INFO, nombre_fichero);  // Nombre del fichero
+
+		if (comentario != null)  // Si el fichero incluye un comentario
+			Logger.getLogger(TAG).log(Level.INFO, comentario);  // Comentario
+
+		Logger.getLogger(TAG).log(Level.INFO, numVertices + " vértices y " + numCaras + " caras");  // Número de vértices y caras
+	}
+
+
+	/**
+	 * @brief	Lanza una excepción de lectura.
+	 * @param 	in	error Mensaje de error.
+	 * @note	Nunca vuelve: lanza una ExcepcionLecturaPLY, a la que el lector añade el fichero y el lugar del error.
+	 */
 
-		System.exit(1);  // Finalizo la ejecución de la aplicación
+	static void error (String error){
+		throw new ExcepcionLecturaPLY(error);
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,171 @@
+/**
+ * @class	anibal.ingenieroenfurecido.utilidades.LotePLY
+ * @brief	Lote de filas consecutivas de un elemento de un fichero ply, con sus valores ya decodificados.
+ * @author	Aníbal García García
+ * @date	17/10/2026
+ * @see		ManejadorPLY
+ * @see		LectorPLY
+ * @note	Los valores de cada fila están en el orden de las propiedades de la cabecera; las listas se guardan con su longitud delante.
+				Por ejemplo, la fila "3 10 11 12" de "property list uchar int vertex_indices" se guarda como {3, 10, 11, 12}.
+ * @note	Copyright 2014 Aníbal García García <anibal_garcia_garcia@outlook.com>
+ * @note	This program is free software: you can redistribute it and/or modify
+			it under the terms of the GNU General Public License as published by
+			the Free Software Foundation, either version 3 of the License, or
+			(at your option) any later version.
+ * @note	This program is distributed in the hope that it will be useful,
+			but WITHOUT ANY WARRANTY; without even the implied warranty of
+			MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+			GNU General Public License for more details.
+ * @note	You should have received a copy of the GNU General Public License
+			along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package utilidades;
+
+
+import java.util.Arrays;
+
+
+public final class LotePLY {
+
+	/// Valores de todas las filas del lote, una detrás de otra.
+	private double[] valores;
+
+	/// Posición en valores del comienzo de cada fila; inicios[numFilas] es el número de valores.
+	private final int[] inicios;
+
+	/// Número de filas del lote.
+	private int numFilas;
+
+	/// Número de valores de la fila en curso.
+	private int numValoresFila;
+
+	/// Posición dentro de su elemento de la 1ª fila del lote.
+	private long primera;
+
+
+
+	/**
+	 * @brief	Constructor.
+	 * @param	in	filas Número máximo de filas del lote.
+	 */
+
+	LotePLY (int filas){
+		valores = new double[filas * 4];  // Se amplía si las filas tienen más valores
+		inicios = new int[filas + 1];
+	}
+
+
+	/**
+	 * @brief	Vacía el lote para empezar a llenarlo de nuevo.
+	 * @param	in	primera Posición dentro de su elemento de la 1ª fila del nuevo lote.
+	 */
+
+	void vaciar (long primera){
+		this.primera = primera;
+		numFilas = 0;
+		numValoresFila = 0;
+	}
+
+
+	/**
+	 * @brief	Añade un valor a la fila en curso.
+	 * @param	in	valor Valor a añadir.
+	 */
+
+	void anadir (double valor){
+		int posicion = inicios[numFilas] + numValoresFila;
+
+		if (posicion == valores.length)  // Si no cabe, se duplica el tamaño
+			valores = Arrays.copyOf(valores, valores.length * 2);
+
+		valores[posicion] = valor;
+		numValoresFila++;
+	}
+
+
+	/**
+	 * @brief	Termina la fila en curso.
+	 */
+
+	void cerrarFila(){
+		inicios[numFilas + 1] = inicios[numFilas] + numValoresFila;
+		numFilas++;
+		numValoresFila = 0;
+	}
+
+
+	/**
+	 * @brief	Indica si el lote está lleno.
+	 * @return	true si no caben más filas; false en caso contrario.
+	 */
+
+	boolean lleno(){
+		return numFilas == inicios.length - 1;
+	}
+
+
+	/**
+	 * @brief	Devuelve el número de filas del lote.
+	 * @return	El número de filas.
+	 */
+
+	public int numFilas(){
+		return numFilas;
+	}
+
+
+	/**
+	 * @brief	Devuelve la posición dentro de su elemento de la 1ª fila del lote.
+	 * @return	La posición de la 1ª fila (0 para la 1ª fila del elemento).
+	 */
+
+	public long primera(){
+		return primera;
+	}
+
+
+	/**
+	 * @brief	Devuelve el número de valores de una fila.
+	 * @param	in	fila Fila del lote.
+	 * @return	El número de valores de la fila, contando las longitudes de las listas.
+	 */
+
+	public int numValores (int fila){
+		return inicios[fila + 1] - inicios[fila];
+	}
+
+
+	/**
+	 * @brief	Devuelve un valor de una fila.
+	 * @param	in	fila Fila del lote.
+	 * @param	in	posicion Posición del valor dentro de la fila.
+	 * @return	El valor.
+	 */
+
+	public double valor (int fila, int posicion){
+		return valores[inicios[fila] + posicion];
+	}
+
+
+	/**
+	 * @brief	Devuelve la posición en valores() del comienzo de una fila.
+	 * @param	in	fila Fila del lote; numFilas() para el final de la última fila.
+	 * @return	La posición del 1º valor de la fila.
+	 */
+
+	public int inicio (int fila){
+		return inicios[fila];
+	}
+
+
+	/**
+	 * @brief	Devuelve los valores de todas las filas del lote.
+	 * @return	El array interno, válido hasta inicio(numFilas()); no se debe modificar ni conservar.
+	 */
+
+	public double[] valores(){
+		return valores;
+	}
+
+}
@@ -0,0 +1,54 @@
+/**
+ * @class	anibal.ingenieroenfurecido.utilidades.ManejadorPLY
+ * @brief	Recibe por lotes los valores de un elemento de un fichero ply recorrido con LectorPLY.recorrer().
+ * @author	Aníbal García García
+ * @date	17/10/2026
+ * @see		LectorPLY
+ * @see		LotePLY
+ * @note	Solo es obligatorio implementar lote(), por lo que un manejador se puede escribir como una expresión lambda.
+ * @note	Copyright 2014 Aníbal García García <anibal_garcia_garcia@outlook.com>
+ * @note	This program is free software: you can redistribute it and/or modify
+			it under the terms of the GNU General Public License as published by
+			the Free Software Foundation, either version 3 of the License, or
+			(at your option) any later version.
+ * @note	This program is distributed in the hope that it will be useful,
+			but WITHOUT ANY WARRANTY; without even the implied warranty of
+			MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+			GNU General Public License for more details.
+ * @note	You should have received a copy of the GNU General Public License
+			along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package utilidades;
+
+
+public interface ManejadorPLY {
+
+	/**
+	 * @brief	Se llama antes del 1º lote de un elemento.
+	 * @param	in	elemento Elemento de la cabecera (nombre, número y propiedades).
+	 */
+
+	default void inicio (ElementoPLY elemento){
+	}
+
+
+	/**
+	 * @brief	Recibe un lote de filas de un elemento.
+	 * @param	in	elemento Elemento de la cabecera (nombre, número y propiedades).
+	 * @param	in	lote Lote con los valores de las filas.
+	 * @note	El lote se reutiliza para el siguiente, por lo que hay que copiar los valores que se quieran conservar.
+	 */
+
+	void lote (ElementoPLY elemento, LotePLY lote);
+
+
+	/**
+	 * @brief	Se llama después del último lote de un elemento.
+	 * @param	in	elemento Elemento de la cabecera (nombre, número y propiedades).
+	 */
+
+	default void fin (ElementoPLY elemento){
+	}
+
+}
@@ -0,0 +1,467 @@
+/**
+ * @class	anibal.ingenieroenfurecido.utilidades.Matriz3
+ * @brief	Matriz de 3x3 para rotar y escalar vectores y vértices.
+ * @author	Aníbal García García
+ * @date	17/10/2026
+ * @see		Matriz4
+ * @see		Vector
+ * @see		Vertice
+ * @note	Los valores se guardan por columnas, como los espera OpenGL (glUniformMatrix3fv con transpose a false).
+ * @note	Una rotación se construye una sola vez (con un seno y un coseno) y después se aplica a todos los vértices de un modelo
+				con 9 multiplicaciones y 6 sumas por vértice, sin llamar a sin() y cos() en cada uno como Vector.rotarEjeX().
+ * @note	multiplicar(a, b) compone las transformaciones: al aplicar el resultado se aplica primero b y después a.
+ * @note	Copyright 2014 Aníbal García García <anibal_garcia_garcia@outlook.com>
+ * @note	This program is free software: you can redistribute it and/or modify
+			it under the terms of the GNU General Public License as published by
+			the Free Software Foundation, either version 3 of the License, or
+			(at your option) any later version.
+ * @note	This program is distributed in the hope that it will be useful,
+			but WITHOUT ANY WARRANTY; without even the implied warranty of
+			MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+			GNU General Public License for more details.
+ * @note	You should have received a copy of the GNU General Public License
+			along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package utilidades;
+
+
+import java.util.Arrays;
+
+
+public final class Matriz3 {
+
+	/// Valores de la matriz por columnas: el valor de la fila f y la columna c está en la posición c * 3 + f.
+	private final float[] valores = new float[9];
+
+
+
+	/**
+	 * @brief	Constructor por defecto.
+	 * @note	Crea la matriz identidad.
+	 */
+
+	public Matriz3(){
+		valores[0] = valores[4] = valores[8] = 1;
+	}
+
+
+	/**
+	 * @brief	Constructor con parámetros.
+	 * @param	in	valores Los 9 valores de la matriz por columnas.
+	 */
+
+	public Matriz3 (float[] valores){
+		if (valores.length != 9)
+			throw new IllegalArgumentException("Una matriz de 3x3 tiene 9 valores, no " + valores.length + ".");
+
+		System.arraycopy(valores, 0, this.valores, 0, 9);
+	}
+
+
+	/**
+	 * @brief	Constructor copia.
+	 * @param	in	matriz Matriz a copiar.
+	 */
+
+	public Matriz3 (Matriz3 matriz){
+		System.arraycopy(matriz.valores, 0, valores, 0, 9);
+	}
+
+
+	/**
+	 * @brief	Constructor a partir de una matriz de 4x4.
+	 * @param	in	matriz Matriz de la que se copian las 3 primeras filas y columnas (la rotación y la escala, sin la traslación).
+	 */
+
+	public Matriz3 (Matriz4 matriz){
+		float[] otros = matriz.valores();
+
+
+		for (int c = 0; c < 3; c++)
+			System.arraycopy(otros, c * 4, valores, c * 3, 3);
+	}
+
+
+	/**
+	 * @brief	Crea una matriz de rotación en el eje X.
+	 * @param	in	angulo Ángulo a rotar en grados sexagesimales.
+	 * @return	La matriz de rotación.
+	 * @see		Vector.rotarEjeX(double)
+	 */
+
+	public static Matriz3 rotacionEjeX (double angulo){
+		Matriz3 matriz = new Matriz3();
+		double radianes = Math.toRadians(angulo);
+		float seno = (float) Math.sin(radianes);
+		float coseno = (float) Math.cos(radianes);
+
+
+		// [x, y * cos(angulo) - z * sin(angulo), y * sin(angulo) + z * cos(angulo)]
+		matriz.valores[4] = coseno;
+		matriz.valores[5] = seno;
+		matriz.valores[7] = - seno;
+		matriz.valores[8] = coseno;
+
+
+		return matriz;
+	}
+
+
+	/**
+	 * @brief	Crea una matriz de rotación en el eje Y.
+	 * @param	in	angulo Ángulo a rotar en grados sexagesimales.
+	 * @return	La matriz de rotación.
+	 * @see		Vector.rotarEjeY(double)
+	 */
+
+	public static Matriz3 rotacionEjeY (double angulo){
+		Matriz3 matriz = new Matriz3();
+		double radianes = Math.toRadians(angulo);
+		float seno = (float) Math.sin(radianes);
+		float coseno = (float) Math.cos(radianes);
+
+
+		// [x * cos(angulo) + z * sin(angulo), y, -x * sin(angulo) + z * cos(angulo)]
+		matriz.valores[0] = coseno;
+		matriz.valores[2] = - seno;
+		matriz.valores[6] = seno;
+		matriz.valores[8] = coseno;
+
+
+		return matriz;
+	}
+
+
+	/**
+	 * @brief	Crea una matriz de rotación en el eje Z.
+	 * @param	in	angulo Ángulo a rotar en grados sexagesimales.
+	 * @return	La matriz de rotación.
+	 * @see		Vector.rotarEjeZ(double)
+	 */
+
+	public static Matriz3 rotacionEjeZ (double angulo){
+		Matriz3 matriz = new Matriz3();
+		double radianes = Math.toRadians(angulo);
+		float seno = (float) Math.sin(radianes);
+		float coseno = (float) Math.cos(radianes);
+
+
+		// [x * cos(angulo) - y * sin(angulo), x * sin(angulo) + y * cos(angulo), z]
+		matriz.valores[0] = coseno;
+		matriz.valores[1] = seno;
+		matriz.valores[3] = - seno;
+		matriz.valores[4] = coseno;
+
+
+		return matriz;
+	}
+
+
+	/**
+	 * @brief	Crea una matriz de rotación alrededor de un eje cualquiera.
+	 * @param	in	angulo Ángulo a rotar en grados sexagesimales (en sentido antihorario mirando desde la punta del eje).
+	 * @param	in	eje Eje de rotación; no hace falta que esté normalizado.
+	 * @return	La matriz de rotación.
+	 */
+
+	public static Matriz3 rotacion (double angulo, Vector eje){
+		double modulo = Math.sqrt(eje.x() * eje.x() + eje.y() * eje.y() + eje.z() * eje.z());
+
+		if (modulo == 0)
+			throw new IllegalArgumentException("El eje de rotación no puede tener módulo 0.");
+
+		Matriz3 matriz = new Matriz3();
+		double radianes = Math.toRadians(angulo);
+		double seno = Math.sin(radianes);
+		double coseno = Math.cos(radianes);
+		double x = eje.x() / modulo, y = eje.y() / modulo, z = eje.z() / modulo;
+		double t = 1 - coseno;
+
+
+		// Fórmula de Rodrigues: coseno * I + seno * [eje]x + (1 - coseno) * eje * eje^T
+		matriz.valores[0] = (float) (t * x * x + coseno);
+		matriz.valores[1] = (float) (t * x * y + seno * z);
+		matriz.valores[2] = (float) (t * x * z - seno * y);
+		matriz.valores[3] = (float) (t * x * y - seno * z);
+		matriz.valores[4] = (float) (t * y * y + coseno);
+		matriz.valores[5] = (float) (t * y * z + seno * x);
+		matriz.valores[6] = (float) (t * x * z + seno * y);
+		matriz.valores[7] = (float) (t * y * z - seno * x);
+		matriz.valores[8] = (float) (t * z * z + coseno);
+
+
+		return matriz;
+	}
+
+
+	/**
+	 * @brief	Crea una matriz de escala.
+	 * @param	in	x Factor de escala en el eje X.
+	 * @param	in	y Factor de escala en el eje Y.
+	 * @param	in	z Factor de escala en el eje Z.
+	 * @return	La matriz de escala.
+	 */
+
+	public static Matriz3 escala (float x, float y, float z){
+		Matriz3 matriz = new Matriz3();
+
+
+		matriz.valores[0] = x;
+		matriz.valores[4] = y;
+		matriz.valores[8] = z;
+
+
+		return matriz;
+	}
+
+
+	/**
+	 * @brief	Multiplica 2 matrices.
+	 * @param	in	matriz1 1ª matriz.
+	 * @param	in	matriz2 2ª matriz.
+	 * @return	Una matriz nueva con matriz1 * matriz2 (aplica primero matriz2 y después matriz1).
+	 */
+
+	public static Matriz3 multiplicar (Matriz3 matriz1, Matriz3 matriz2){
+		return multiplicar(matriz1, matriz2, new Matriz3());
+	}
+
+
+	/**
+	 * @brief	Multiplica 2 matrices sin crear objetos.
+	 * @param	in	matriz1 1ª matriz.
+	 * @param	in	matriz2 2ª matriz.
+	 * @param	out	destino Matriz donde se guarda matriz1 * matriz2 (puede ser una de las otras 2).
+	 * @return	La matriz destino.
+	 */
+
+	public static Matriz3 multiplicar (Matriz3 matriz1, Matriz3 matriz2, Matriz3 destino){
+		float[] a = matriz1.valores, b = matriz2.valores, r = destino.valores;
+		float r0 = a[0] * b[0] + a[3] * b[1] + a[6] * b[2];
+		float r1 = a[1] * b[0] + a[4] * b[1] + a[7] * b[2];
+		float r2 = a[2] * b[0] + a[5] * b[1] + a[8] * b[2];
+		float r3 = a[0] * b[3] + a[3] * b[4] + a[6] * b[5];
+		float r4 = a[1] * b[3] + a[4] * b[4] + a[7] * b[5];
+		float r5 = a[2] * b[3] + a[5] * b[4] + a[8] * b[5];
+		float r6 = a[0] * b[6] + a[3] * b[7] + a[6] * b[8];
+		float r7 = a[1] * b[6] + a[4] * b[7] + a[7] * b[8];
+		float r8 = a[2] * b[6] + a[5] * b[7] + a[8] * b[8];
+
+
+		// Guardo los valores después de calcularlos, por si el destino es una de las matrices
+		r[0] = r0;  r[1] = r1;  r[2] = r2;
+		r[3] = r3;  r[4] = r4;  r[5] = r5;
+		r[6] = r6;  r[7] = r7;  r[8] = r8;
+
+
+		return destino;
+	}
+
+
+	/**
+	 * @brief	Multiplica la matriz por otra.
+	 * @param	in	matriz Matriz por la cual multiplicar.
+	 * @note	La matriz pasa a ser this * matriz: al aplicarla se aplica primero matriz y después la transformación anterior.
+	 */
+
+	public void multiplicar (Matriz3 matriz){
+		multiplicar(this, matriz, this);
+	}
+
+
+	/**
+	 * @brief	Calcula el determinante de la matriz.
+	 * @return	El determinante.
+	 */
+
+	public float determinante(){
+		float[] m = valores;
+
+
+		return m[0] * (m[4] * m[8] - m[7] * m[5])
+				- m[3] * (m[1] * m[8] - m[7] * m[2])
+				+ m[6] * (m[1] * m[5] - m[4] * m[2]);
+	}
+
+
+	/**
+	 * @brief	Traspone la matriz.
+	 * @note	La traspuesta de una rotación es su inversa.
+	 */
+
+	public void trasponer(){
+		float[] m = valores;
+		float aux;
+
+
+		aux = m[1];  m[1] = m[3];  m[3] = aux;
+		aux = m[2];  m[2] = m[6];  m[6] = aux;
+		aux = m[5];  m[5] = m[7];  m[7] = aux;
+	}
+
+
+	/**
+	 * @brief	Devuelve la traspuesta de la matriz.
+	 * @return	Una matriz nueva con la traspuesta.
+	 */
+
+	public Matriz3 traspuesta(){
+		Matriz3 matriz = new Matriz3(this);
+
+
+		matriz.trasponer();
+
+
+		return matriz;
+	}
+
+
+	/**
+	 * @brief	Invierte la matriz.
+	 * @note	Si la matriz es singular (determinante 0) lanza IllegalStateException y la matriz no cambia.
+	 */
+
+	public void invertir(){
+		float[] m = valores;
+		float c0 = m[4] * m[8] - m[7] * m[5];  // Cofactores de la 1ª fila
+		float c1 = m[7] * m[2] - m[1] * m[8];
+		float c2 = m[1] * m[5] - m[4] * m[2];
+		float determinante = m[0] * c0 + m[3] * c1 + m[6] * c2;
+
+
+		if (determinante == 0)
+			throw new IllegalStateException("La matriz es singular y no tiene inversa.");
+
+		float inverso = 1 / determinante;
+		float r3 = (m[6] * m[5] - m[3] * m[8]) * inverso;
+		float r4 = (m[0] * m[8] - m[6] * m[2]) * inverso;
+		float r5 = (m[3] * m[2] - m[0] * m[5]) * inverso;
+		float r6 = (m[3] * m[7] - m[6] * m[4]) * inverso;
+		float r7 = (m[6] * m[1] - m[0] * m[7]) * inverso;
+		float r8 = (m[0] * m[4] - m[3] * m[1]) * inverso;
+
+		// La inversa es la adjunta (traspuesta de los cofactores) entre el determinante
+		m[0] = c0 * inverso;  m[1] = c1 * inverso;  m[2] = c2 * inverso;
+		m[3] = r3;  m[4] = r4;  m[5] = r5;
+		m[6] = r6;  m[7] = r7;  m[8] = r8;
+	}
+
+
+	/**
+	 * @brief	Devuelve la inversa de la matriz.
+	 * @return	Una matriz nueva con la inversa.
+	 * @note	Si la matriz es singular (determinante 0) lanza IllegalStateException.
+	 */
+
+	public Matriz3 inversa(){
+		Matriz3 matriz = new Matriz3(this);
+
+
+		matriz.invertir();
+
+
+		return matriz;
+	}
+
+
+	/**
+	 * @brief	Aplica la matriz a un vector.
+	 * @param	in,out	vector Vector a transformar.
+	 */
+
+	public void aplicar (Vector vector){
+		float x = vector.x(), y = vector.y(), z = vector.z();
+
+
+		vector.x(valores[0] * x + valores[3] * y + valores[6] * z);
+		vector.y(valores[1] * x + valores[4] * y + valores[7] * z);
+		vector.z(valores[2] * x + valores[5] * y + valores[8] * z);
+	}
+
+
+	/**
+	 * @brief	Aplica la matriz a un vértice.
+	 * @param	in,out	vertice Vértice a transformar.
+	 */
+
+	public void aplicar (Vertice vertice){
+		float x = vertice.x(), y = vertice.y(), z = vertice.z();
+
+
+		vertice.x(valores[0] * x + valores[3] * y + valores[6] * z);
+		vertice.y(valores[1] * x + valores[4] * y + valores[7] * z);
+		vertice.z(valores[2] * x + valores[5] * y + valores[8] * z);
+	}
+
+
+	/**
+	 * @brief	Aplica la matriz a un rango de vectores o vértices seguidos en un array.
+	 * @param	in,out	datos Coordenadas x, y y z de cada vector (por ejemplo, los vértices de LectorPLY.leer()).
+	 * @param	in	inicio 1º vector del rango.
+	 * @param	in	numero Número de vectores del rango.
+	 * @see		BufferVectores.transformar(Matriz3, int, int)
+	 */
+
+	public void aplicar (float[] datos, int inicio, int numero){
+		if (inicio < 0  ||  numero < 0  ||  inicio + numero > datos.length / 3)
+			throw new IndexOutOfBoundsException("Rango de vectores [" + inicio + ", " + (inicio + numero) + ") fuera del array de "
+					+ datos.length / 3 + " vectores.");
+
+		float m0 = valores[0], m1 = valores[1], m2 = valores[2];  // Copio la matriz en variables locales para todo el bucle
+		float m3 = valores[3], m4 = valores[4], m5 = valores[5];
+		float m6 = valores[6], m7 = valores[7], m8 = valores[8];
+
+
+		for (int i = inicio * 3, fin = (inicio + numero) * 3; i < fin; i += 3){
+			float x = datos[i], y = datos[i + 1], z = datos[i + 2];
+
+			datos[i] = m0 * x + m3 * y + m6 * z;      // x
+			datos[i + 1] = m1 * x + m4 * y + m7 * z;  // y
+			datos[i + 2] = m2 * x + m5 * y + m8 * z;  // z
+		}
+	}
+
+
+	/**
+	 * @brief	Devuelve un valor de la matriz.
+	 * @param	in	fila Fila del valor (de 0 a 2).
+	 * @param	in	columna Columna del valor (de 0 a 2).
+	 * @return	El valor.
+	 */
+
+	public float valor (int fila, int columna){
+		return valores[columna * 3 + fila];
+	}
+
+
+	/**
+	 * @brief	Introduce un valor de la matriz.
+	 * @param	in	fila Fila del valor (de 0 a 2).
+	 * @param	in	columna Columna del valor (de 0 a 2).
+	 * @param	in	valor Nuevo valor.
+	 */
+
+	public void valor (int fila, int columna, float valor){
+		valores[columna * 3 + fila] = valor;
+	}
+
+
+	/**
+	 * @brief	Devuelve los valores de la matriz.
+	 * @return	El array con los 9 valores por columnas, que no se copia: los cambios en él cambian la matriz.
+	 */
+
+	public float[] valores(){
+		return valores;
+	}
+
+
+	/// Devuelve un String que contiene una descripción concisa y legible por humanos de esta matriz.
+
+	@Override
+	public String toString(){
+		return (getClass().getName() + ": " + Arrays.toString(valores));
+	}
+
+}
@@ -0,0 +1,499 @@
+/**
+ * @class	anibal.ingenieroenfurecido.utilidades.Matriz4
+ * @brief	Matriz de 4x4 para transformar vértices en coordenadas homogéneas (rotar, escalar y trasladar).
+ * @author	Aníbal García García
+ * @date	17/10/2026
+ * @see		Matriz3
+ * @see		Vector
+ * @see		Vertice
+ * @note	Los valores se guardan por columnas, como los espera OpenGL (glUniformMatrix4fv con transpose a false).
+ * @note	Los vértices se transforman como puntos (w = 1, con la traslación) y los vectores como direcciones (w = 0, sin la traslación).
+				Si la última fila no es [0, 0, 0, 1] (una proyección), los vértices se dividen entre la w resultante.
+ * @note	multiplicar(a, b) compone las transformaciones: al aplicar el resultado se aplica primero b y después a.
+ * @note	Copyright 2014 Aníbal García García <anibal_garcia_garcia@outlook.com>
+ * @note	This program is free software: you can redistribute it and/or modify
+			it under the terms of the GNU General Public License as published by
+			the Free Software Foundation, either version 3 of the License, or
+			(at your option) any later version.
+ * @note	This program is distributed in the hope that it will be useful,
+			but WITHOUT ANY WARRANTY; without even the implied warranty of
+			MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+			GNU General Public License for more details.
+ * @note	You should have received a copy of the GNU General Public License
+			along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package utilidades;
+
+
+import java.util.Arrays;
+
+
+public final class Matriz4 {
+
+	/// Valores de la matriz por columnas: el valor de la fila f y la columna c está en la posición c * 4 + f.
+	private final float[] valores = new float[16];
+
+
+
+	/**
+	 * @brief	Constructor por defecto.
+	 * @note	Crea la matriz identidad.
+	 */
+
+	public Matriz4(){
+		valores[0] = valores[5] = valores[10] = valores[15] = 1;
+	}
+
+
+	/**
+	 * @brief	Constructor con parámetros.
+	 * @param	in	valores Los 16 valores de la matriz por columnas.
+	 */
+
+	public Matriz4 (float[] valores){
+		if (valores.length != 16)
+			throw new IllegalArgumentException("Una matriz de 4x4 tiene 16 valores, no " + valores.length + ".");
+
+		System.arraycopy(valores, 0, this.valores, 0, 16);
+	}
+
+
+	/**
+	 * @brief	Constructor copia.
+	 * @param	in	matriz Matriz a copiar.
+	 */
+
+	public Matriz4 (Matriz4 matriz){
+		System.arraycopy(matriz.valores, 0, valores, 0, 16);
+	}
+
+
+	/**
+	 * @brief	Constructor a partir de una matriz de 3x3.
+	 * @param	in	matriz Matriz que se copia en las 3 primeras filas y columnas; el resto es como en la identidad (sin traslación).
+	 */
+
+	public Matriz4 (Matriz3 matriz){
+		float[] otros = matriz.valores();
+
+
+		for (int c = 0; c < 3; c++)
+			System.arraycopy(otros, c * 3, valores, c * 4, 3);
+
+		valores[15] = 1;
+	}
+
+
+	/**
+	 * @brief	Crea una matriz de traslación.
+	 * @param	in	x Desplazamiento en el eje X.
+	 * @param	in	y Desplazamiento en el eje Y.
+	 * @param	in	z Desplazamiento en el eje Z.
+	 * @return	La matriz de traslación.
+	 */
+
+	public static Matriz4 traslacion (float x, float y, float z){
+		Matriz4 matriz = new Matriz4();
+
+
+		matriz.valores[12] = x;
+		matriz.valores[13] = y;
+		matriz.valores[14] = z;
+
+
+		return matriz;
+	}
+
+
+	/**
+	 * @brief	Crea una matriz de rotación en el eje X.
+	 * @param	in	angulo Ángulo a rotar en grados sexagesimales.
+	 * @return	La matriz de rotación.
+	 * @see		Matriz3.rotacionEjeX(double)
+	 */
+
+	public static Matriz4 rotacionEjeX (double angulo){
+		return new Matriz4(Matriz3.rotacionEjeX(angulo));
+	}
+
+
+	/**
+	 * @brief	Crea una matriz de rotación en el eje Y.
+	 * @param	in	angulo Ángulo a rotar en grados sexagesimales.
+	 * @return	La matriz de rotación.
+	 * @see		Matriz3.rotacionEjeY(double)
+	 */
+
+	public static Matriz4 rotacionEjeY (double angulo){
+		return new Matriz4(Matriz3.rotacionEjeY(angulo));
+	}
+
+
+	/**
+	 * @brief	Crea una matriz de rotación en el eje Z.
+	 * @param	in	angulo Ángulo a rotar en grados sexagesimales.
+	 * @return	La matriz de rotación.
+	 * @see		Matriz3.rotacionEjeZ(double)
+	 */
+
+	public static Matriz4 rotacionEjeZ (double angulo){
+		return new Matriz4(Matriz3.rotacionEjeZ(angulo));
+	}
+
+
+	/**
+	 * @brief	Crea una matriz de rotación alrededor de un eje cualquiera.
+	 * @param	in	angulo Ángulo a rotar en grados sexagesimales.
+	 * @param	in	eje Eje de rotación; no hace falta que esté normalizado.
+	 * @return	La matriz de rotación.
+	 * @see		Matriz3.rotacion(double, Vector)
+	 */
+
+	public static Matriz4 rotacion (double angulo, Vector eje){
+		return new Matriz4(Matriz3.rotacion(angulo, eje));
+	}
+
+
+	/**
+	 * @brief	Crea una matriz de escala.
+	 * @param	in	x Factor de escala en el eje X.
+	 * @param	in	y Factor de escala en el eje Y.
+	 * @param	in	z Factor de escala en el eje Z.
+	 * @return	La matriz de escala.
+	 */
+
+	public static Matriz4 escala (float x, float y, float z){
+		Matriz4 matriz = new Matriz4();
+
+
+		matriz.valores[0] = x;
+		matriz.valores[5] = y;
+		matriz.valores[10] = z;
+
+
+		return matriz;
+	}
+
+
+	/**
+	 * @brief	Multiplica 2 matrices.
+	 * @param	in	matriz1 1ª matriz.
+	 * @param	in	matriz2 2ª matriz.
+	 * @return	Una matriz nueva con matriz1 * matriz2 (aplica primero matriz2 y después matriz1).
+	 */
+
+	public static Matriz4 multiplicar (Matriz4 matriz1, Matriz4 matriz2){
+		return multiplicar(matriz1, matriz2, new Matriz4());
+	}
+
+
+	/**
+	 * @brief	Multiplica 2 matrices sin crear objetos.
+	 * @param	in	matriz1 1ª matriz.
+	 * @param	in	matriz2 2ª matriz.
+	 * @param	out	destino Matriz donde se guarda matriz1 * matriz2 (puede ser una de las otras 2).
+	 * @return	La matriz destino.
+	 */
+
+	public static Matriz4 multiplicar (Matriz4 matriz1, Matriz4 matriz2, Matriz4 destino){
+		float[] a = matriz1.valores, b = matriz2.valores, r = destino.valores;
+		float a0 = a[0], a1 = a[1], a2 = a[2], a3 = a[3];  // Copio la 1ª matriz, por si el destino es ella
+		float a4 = a[4], a5 = a[5], a6 = a[6], a7 = a[7];
+		float a8 = a[8], a9 = a[9], a10 = a[10], a11 = a[11];
+		float a12 = a[12], a13 = a[13], a14 = a[14], a15 = a[15];
+
+
+		// Cada columna del resultado solo depende de la misma columna de la 2ª matriz, que se lee antes de escribirla
+		for (int c = 0; c < 16; c += 4){
+			float b0 = b[c], b1 = b[c + 1], b2 = b[c + 2], b3 = b[c + 3];
+
+			r[c] = a0 * b0 + a4 * b1 + a8 * b2 + a12 * b3;
+			r[c + 1] = a1 * b0 + a5 * b1 + a9 * b2 + a13 * b3;
+			r[c + 2] = a2 * b0 + a6 * b1 + a10 * b2 + a14 * b3;
+			r[c + 3] = a3 * b0 + a7 * b1 + a11 * b2 + a15 * b3;
+		}
+
+
+		return destino;
+	}
+
+
+	/**
+	 * @brief	Multiplica la matriz por otra.
+	 * @param	in	matriz Matriz por la cual multiplicar.
+	 * @note	La matriz pasa a ser this * matriz: al aplicarla se aplica primero matriz y después la transformación anterior.
+	 */
+
+	public void multiplicar (Matriz4 matriz){
+		multiplicar(this, matriz, this);
+	}
+
+
+	/**
+	 * @brief	Calcula el determinante de la matriz.
+	 * @return	El determinante.
+	 */
+
+	public float determinante(){
+		float[] m = valores;
+		float s0 = m[0] * m[5] - m[4] * m[1];  // Menores de 2x2 de las 2 primeras columnas
+		float s1 = m[0] * m[6] - m[4] * m[2];
+		float s2 = m[0] * m[7] - m[4] * m[3];
+		float s3 = m[1] * m[6] - m[5] * m[2];
+		float s4 = m[1] * m[7] - m[5] * m[3];
+		float s5 = m[2] * m[7] - m[6] * m[3];
+		float c5 = m[10] * m[15] - m[14] * m[11];  // Menores de 2x2 de las 2 últimas columnas
+		float c4 = m[9] * m[15] - m[13] * m[11];
+		float c3 = m[9] * m[14] - m[13] * m[10];
+		float c2 = m[8] * m[15] - m[12] * m[11];
+		float c1 = m[8] * m[14] - m[12] * m[10];
+		float c0 = m[8] * m[13] - m[12] * m[9];
+
+
+		return s0 * c5 - s1 * c4 + s2 * c3 + s3 * c2 - s4 * c1 + s5 * c0;
+	}
+
+
+	/**
+	 * @brief	Traspone la matriz.
+	 */
+
+	public void trasponer(){
+		float[] m = valores;
+
+
+		for (int f = 0; f < 4; f++)
+			for (int c = f + 1; c < 4; c++){
+				float aux = m[c * 4 + f];
+
+				m[c * 4 + f] = m[f * 4 + c];
+				m[f * 4 + c] = aux;
+			}
+	}
+
+
+	/**
+	 * @brief	Devuelve la traspuesta de la matriz.
+	 * @return	Una matriz nueva con la traspuesta.
+	 */
+
+	public Matriz4 traspuesta(){
+		Matriz4 matriz = new Matriz4(this);
+
+
+		matriz.trasponer();
+
+
+		return matriz;
+	}
+
+
+	/**
+	 * @brief	Invierte la matriz.
+	 * @note	Si la matriz es singular (determinante 0) lanza IllegalStateException y la matriz no cambia.
+	 * @note	Se calcula con los 12 menores de 2x2 de las 2 primeras y las 2 últimas columnas (desarrollo de Laplace).
+	 */
+
+	public void invertir(){
+		float[] m = valores;
+		float a0 = m[0], a1 = m[1], a2 = m[2], a3 = m[3];
+		float a4 = m[4], a5 = m[5], a6 = m[6], a7 = m[7];
+		float a8 = m[8], a9 = m[9], a10 = m[10], a11 = m[11];
+		float a12 = m[12], a13 = m[13], a14 = m[14], a15 = m[15];
+		float s0 = a0 * a5 - a4 * a1;  // Menores de 2x2 de las 2 primeras columnas
+		float s1 = a0 * a6 - a4 * a2;
+		float s2 = a0 * a7 - a4 * a3;
+		float s3 = a1 * a6 - a5 * a2;
+		float s4 = a1 * a7 - a5 * a3;
+		float s5 = a2 * a7 - a6 * a3;
+		float c5 = a10 * a15 - a14 * a11;  // Menores de 2x2 de las 2 últimas columnas
+		float c4 = a9 * a15 - a13 * a11;
+		float c3 = a9 * a14 - a13 * a10;
+		float c2 = a8 * a15 - a12 * a11;
+		float c1 = a8 * a14 - a12 * a10;
+		float c0 = a8 * a13 - a12 * a9;
+		float determinante = s0 * c5 - s1 * c4 + s2 * c3 + s3 * c2 - s4 * c1 + s5 * c0;
+
+
+		if (determinante == 0)
+			throw new IllegalStateException("La matriz es singular y no tiene inversa.");
+
+		float inverso = 1 / determinante;
+
+		m[0] = (a5 * c5 - a6 * c4 + a7 * c3) * inverso;
+		m[1] = (- a1 * c5 + a2 * c4 - a3 * c3) * inverso;
+		m[2] = (a13 * s5 - a14 * s4 + a15 * s3) * inverso;
+		m[3] = (- a9 * s5 + a10 * s4 - a11 * s3) * inverso;
+		m[4] = (- a4 * c5 + a6 * c2 - a7 * c1) * inverso;
+		m[5] = (a0 * c5 - a2 * c2 + a3 * c1) * inverso;
+		m[6] = (- a12 * s5 + a14 * s2 - a15 * s1) * inverso;
+		m[7] = (a8 * s5 - a10 * s2 + a11 * s1) * inverso;
+		m[8] = (a4 * c4 - a5 * c2 + a7 * c0) * inverso;
+		m[9] = (- a0 * c4 + a1 * c2 - a3 * c0) * inverso;
+		m[10] = (a12 * s4 - a13 * s2 + a15 * s0) * inverso;
+		m[11] = (- a8 * s4 + a9 * s2 - a11 * s0) * inverso;
+		m[12] = (- a4 * c3 + a5 * c1 - a6 * c0) * inverso;
+		m[13] = (a0 * c3 - a1 * c1 + a2 * c0) * inverso;
+		m[14] = (- a12 * s3 + a13 * s1 - a14 * s0) * inverso;
+		m[15] = (a8 * s3 - a9 * s1 + a10 * s0) * inverso;
+	}
+
+
+	/**
+	 * @brief	Devuelve la inversa de la matriz.
+	 * @return	Una matriz nueva con la inversa.
+	 * @note	Si la matriz es singular (determinante 0) lanza IllegalStateException.
+	 */
+
+	public Matriz4 inversa(){
+		Matriz4 matriz = new Matriz4(this);
+
+
+		matriz.invertir();
+
+
+		return matriz;
+	}
+
+
+	/**
+	 * @brief	Calcula la matriz para transformar las normales.
+	 * @return	Una matriz nueva de 3x3 con la traspuesta de la inversa de las 3 primeras filas y columnas.
+	 * @note	Con solo rotaciones y traslaciones es igual que Matriz3(Matriz4); con escalas distintas en cada eje mantiene las normales
+				perpendiculares a la superficie. Si la matriz es singular lanza IllegalStateException.
+	 */
+
+	public Matriz3 normal(){
+		Matriz3 matriz = new Matriz3(this);
+
+
+		matriz.invertir();
+		matriz.trasponer();
+
+
+		return matriz;
+	}
+
+
+	/**
+	 * @brief	Aplica la matriz a un vector.
+	 * @param	in,out	vector Vector a transformar.
+	 * @note	El vector es una dirección (w = 0): no se traslada.
+	 */
+
+	public void aplicar (Vector vector){
+		float x = vector.x(), y = vector.y(), z = vector.z();
+
+
+		vector.x(valores[0] * x + valores[4] * y + valores[8] * z);
+		vector.y(valores[1] * x + valores[5] * y + valores[9] * z);
+		vector.z(valores[2] * x + valores[6] * y + valores[10] * z);
+	}
+
+
+	/**
+	 * @brief	Aplica la matriz a un vértice.
+	 * @param	in,out	vertice Vértice a transformar.
+	 * @note	El vértice es un punto (w = 1): se traslada, y se divide entre la w resultante si no es 1.
+	 */
+
+	public void aplicar (Vertice vertice){
+		float x = vertice.x(), y = vertice.y(), z = vertice.z();
+		float w = valores[3] * x + valores[7] * y + valores[11] * z + valores[15];
+		float inverso = (w == 1) ? 1 : 1 / w;
+
+
+		vertice.x((valores[0] * x + valores[4] * y + valores[8] * z + valores[12]) * inverso);
+		vertice.y((valores[1] * x + valores[5] * y + valores[9] * z + valores[13]) * inverso);
+		vertice.z((valores[2] * x + valores[6] * y + valores[10] * z + valores[14]) * inverso);
+	}
+
+
+	/**
+	 * @brief	Aplica la matriz a un rango de vértices seguidos en un array.
+	 * @param	in,out	datos Coordenadas x, y y z de cada vértice (por ejemplo, los vértices de LectorPLY.leer()).
+	 * @param	in	inicio 1º vértice del rango.
+	 * @param	in	numero Número de vértices del rango.
+	 * @note	Los vértices son puntos, como en aplicar(Vertice). Si la última fila es [0, 0, 0, 1] (la matriz no proyecta),
+				el bucle no calcula la w: 9 multiplicaciones y 9 sumas por vértice.
+	 * @see		BufferVectores.transformar(Matriz4, int, int)
+	 */
+
+	public void aplicar (float[] datos, int inicio, int numero){
+		if (inicio < 0  ||  numero < 0  ||  inicio + numero > datos.length / 3)
+			throw new IndexOutOfBoundsException("Rango de vértices [" + inicio + ", " + (inicio + numero) + ") fuera del array de "
+					+ datos.length / 3 + " vértices.");
+
+		float m0 = valores[0], m1 = valores[1], m2 = valores[2], m3 = valores[3];  // Copio la matriz en variables locales para todo el bucle
+		float m4 = valores[4], m5 = valores[5], m6 = valores[6], m7 = valores[7];
+		float m8 = valores[8], m9 = valores[9], m10 = valores[10], m11 = valores[11];
+		float m12 = valores[12], m13 = valores[13], m14 = valores[14], m15 = valores[15];
+		int fin = (inicio + numero) * 3;
+
+
+		if (m3 == 0  &&  m7 == 0  &&  m11 == 0  &&  m15 == 1){  // Transformación afín
+			for (int i = inicio * 3; i < fin; i += 3){
+				float x = datos[i], y = datos[i + 1], z = datos[i + 2];
+
+				datos[i] = m0 * x + m4 * y + m8 * z + m12;      // x
+				datos[i + 1] = m1 * x + m5 * y + m9 * z + m13;  // y
+				datos[i + 2] = m2 * x + m6 * y + m10 * z + m14;  // z
+			}
+		}
+
+		else{  // Proyección
+			for (int i = inicio * 3; i < fin; i += 3){
+				float x = datos[i], y = datos[i + 1], z = datos[i + 2];
+				float inverso = 1 / (m3 * x + m7 * y + m11 * z + m15);
+
+				datos[i] = (m0 * x + m4 * y + m8 * z + m12) * inverso;      // x
+				datos[i + 1] = (m1 * x + m5 * y + m9 * z + m13) * inverso;  // y
+				datos[i + 2] = (m2 * x + m6 * y + m10 * z + m14) * inverso;  // z
+			}
+		}
+	}
+
+
+	/**
+	 * @brief	Devuelve un valor de la matriz.
+	 * @param	in	fila Fila del valor (de 0 a 3).
+	 * @param	in	columna Columna del valor (de 0 a 3).
+	 * @return	El valor.
+	 */
+
+	public float valor (int fila, int columna){
+		return valores[columna * 4 + fila];
+	}
+
+
+	/**
+	 * @brief	Introduce un valor de la matriz.
+	 * @param	in	fila Fila del valor (de 0 a 3).
+	 * @param	in	columna Columna del valor (de 0 a 3).
+	 * @param	in	valor Nuevo valor.
+	 */
+
+	public void valor (int fila, int columna, float valor){
+		valores[columna * 4 + fila] = valor;
+	}
+
+
+	/**
+	 * @brief	Devuelve los valores de la matriz.
+	 * @return	El array con los 16 valores por columnas, que no se copia: los cambios en él cambian la matriz.
+	 */
+
+	public float[] valores(){
+		return valores;
+	}
+
+
+	/// Devuelve un String que contiene una descripción concisa y legible por humanos de esta matriz.
+
+	@Override
+	public String toString(){
+		return (getClass().getName() + ": " + Arrays.toString(valores));
+	}
+
+}
@@ -0,0 +1,335 @@
+/**
+ * @class	anibal.ingenieroenfurecido.utilidades.ModeloPLY
+ * @brief	Modelo leído de un fichero ply: vértices e índices de las caras listos para OpenGL.
+ * @author	Aníbal García García
+ * @date	17/10/2026
+ * @see		LectorPLY
+ * @note	Los buffers tienen la posición a 0 y el límite al final de los datos, por lo que pueden pasarse directamente a glBufferData.
+ * @note	Con atributos intercalados, vertices() contiene paso() floats por vértice y cada atributo empieza en su desplazamiento;
+				con un buffer por atributo, vertices() solo contiene las coordenadas x, y y z.
+ * @note	Copyright 2014 Aníbal García García <anibal_garcia_garcia@outlook.com>
+ * @note	This program is free software: you can redistribute it and/or modify
+			it under the terms of the GNU General Public License as published by
+			the Free Software Foundation, either version 3 of the License, or
+			(at your option) any later version.
+ * @note	This program is distributed in the hope that it will be useful,
+			but WITHOUT ANY WARRANTY; without even the implied warranty of
+			MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+			GNU General Public License for more details.
+ * @note	You should have received a copy of the GNU General Public License
+			along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package utilidades;
+
+
+import java.nio.Buffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+
+
+public final class ModeloPLY {
+
+	/// Coordenadas x, y y z de los vértices, o todos los atributos si están intercalados.
+	private final FloatBuffer vertices;
+
+	/// Normales, colores y coordenadas de textura; null si no se han leído o están intercalados.
+	private final FloatBuffer normales, colores, texturas;
+
+	/// Si los atributos están intercalados en el buffer de los vértices.
+	private final boolean intercalado;
+
+	/// Floats por vértice en el buffer de los vértices.
+	private final int paso;
+
+	/// Posición de cada atributo dentro de los floats de un vértice; -1 si el modelo no lo tiene.
+	private final int desplazamientoNormales, desplazamientoColores, desplazamientoTexturas;
+
+	/// Componentes de los colores (3 sin alfa y 4 con alfa); 0 si el modelo no tiene colores.
+	private final int componentesColor;
+
+	/// Índices de los vértices de las caras (ShortBuffer o IntBuffer).
+	private final Buffer indices;
+
+	/// Número de vértices del modelo.
+	private final int numVertices;
+
+	/// Número de caras del modelo.
+	private final int numCaras;
+
+	/// Vértices por cara en los índices (3 si las caras se han triangulado).
+	private final int verticesPorCara;
+
+	/// Comentario del modelo; null si el fichero no tiene comentario.
+	private final String comentario;
+
+	/// Caja y esfera que envuelven los vértices; null en los modelos que no la utilizan.
+	private final Envolvente envolvente;
+
+
+
+	/**
+	 * @brief	Constructor.
+	 * @param	in	vertices Buffers de los atributos de los vértices, ya leídos.
+	 * @param	in	indices Índices de las caras (ShortBuffer o IntBuffer).
+	 * @param	in	numVertices Número de vértices.
+	 * @param	in	numCaras Número de caras.
+	 * @param	in	verticesPorCara Vértices por cara en los índices.
+	 * @param	in	comentario Comentario del modelo.
+	 * @param	in	envolvente Si se calcula la envolvente (false si el modelo solo se convierte en los arrays de LectorPLY.leer()).
+	 * @note	La caja de la envolvente es la que se ha calculado al leer los vértices; la esfera se calcula aquí, antes de devolver el modelo.
+	 */
+
+	ModeloPLY (VerticesPLY vertices, Buffer indices, int numVertices, int numCaras, int verticesPorCara, String comentario, boolean envolvente){
+		this(vertices.vertices(), vertices.normales(), vertices.colores(), vertices.texturas(), vertices.intercalado(), vertices.paso(),
+				vertices.desplazamientoNormales(), vertices.desplazamientoColores(), vertices.desplazamientoTexturas(), vertices.componentesColor(),
+				indices, numVertices, numCaras, verticesPorCara, comentario,
+				envolvente ? Envolvente.calcular(vertices.vertices(), vertices.paso(), vertices.caja()) : null);  // ModeloPLY(FloatBuffer, ..., Envolvente)
+	}
+
+
+	/**
+	 * @brief	Constructor.
+	 * @param	in	vertices Coordenadas de los vértices, o todos los atributos si están intercalados.
+	 * @param	in	normales Normales; null si no se han leído o están intercaladas.
+	 * @param	in	colores Colores; null si no se han leído o están intercalados.
+	 * @param	in	texturas Coordenadas de textura; null si no se han leído o están intercaladas.
+	 * @param	in	intercalado Si los atributos están intercalados en el buffer de los vértices.
+	 * @param	in	paso Floats por vértice en el buffer de los vértices.
+	 * @param	in	desplazamientoNormales Posición de las normales dentro de los floats de un vértice; -1 si no hay.
+	 * @param	in	desplazamientoColores Posición de los colores dentro de los floats de un vértice; -1 si no hay.
+	 * @param	in	desplazamientoTexturas Posición de las coordenadas de textura dentro de los floats de un vértice; -1 si no hay.
+	 * @param	in	componentesColor Componentes de los colores; 0 si no hay.
+	 * @param	in	indices Índices de las caras (ShortBuffer o IntBuffer).
+	 * @param	in	numVertices Número de vértices.
+	 * @param	in	numCaras Número de caras.
+	 * @param	in	verticesPorCara Vértices por cara en los índices.
+	 * @param	in	comentario Comentario del modelo.
+	 * @param	in	envolvente Caja y esfera que envuelven los vértices; null si el modelo no la utiliza (como los que escribe EscritorPLY).
+	 * @note	Lo utiliza CachePLY para montar un modelo guardado sin volver a leer el fichero ply.
+	 */
+
+	ModeloPLY (FloatBuffer vertices, FloatBuffer normales, FloatBuffer colores, FloatBuffer texturas, boolean intercalado, int paso,
+			int desplazamientoNormales, int desplazamientoColores, int desplazamientoTexturas, int componentesColor,
+			Buffer indices, int numVertices, int numCaras, int verticesPorCara, String comentario, Envolvente envolvente){
+		this.vertices = vertices;
+		this.normales = normales;
+		this.colores = colores;
+		this.texturas = texturas;
+		this.intercalado = intercalado;
+		this.paso = paso;
+		this.desplazamientoNormales = desplazamientoNormales;
+		this.desplazamientoColores = desplazamientoColores;
+		this.desplazamientoTexturas = desplazamientoTexturas;
+		this.componentesColor = componentesColor;
+		this.indices = indices;
+		this.numVertices = numVertices;
+		this.numCaras = numCaras;
+		this.verticesPorCara = verticesPorCara;
+		this.comentario = comentario;
+		this.envolvente = envolvente;
+	}
+
+
+	/**
+	 * @brief	Devuelve las coordenadas de los vértices.
+	 * @return	Un FloatBuffer con las coordenadas x, y y z de cada vértice, o con todos sus atributos si están intercalados.
+	 */
+
+	public FloatBuffer vertices(){
+		return vertices;
+	}
+
+
+	/**
+	 * @brief	Devuelve las normales de los vértices.
+	 * @return	Un FloatBuffer con nx, ny y nz de cada vértice; null si no se han leído o están intercaladas.
+	 */
+
+	public FloatBuffer normales(){
+		return normales;
+	}
+
+
+	/**
+	 * @brief	Devuelve los colores de los vértices, entre 0 y 1.
+	 * @return	Un FloatBuffer con componentesColor() floats por vértice; null si no se han leído o están intercalados.
+	 */
+
+	public FloatBuffer colores(){
+		return colores;
+	}
+
+
+	/**
+	 * @brief	Devuelve las coordenadas de textura de los vértices.
+	 * @return	Un FloatBuffer con u y v de cada vértice; null si no se han leído o están intercaladas.
+	 */
+
+	public FloatBuffer texturas(){
+		return texturas;
+	}
+
+
+	/**
+	 * @brief	Indica si los atributos de los vértices están intercalados en vertices().
+	 * @return	true si están intercalados; false si cada atributo tiene su buffer.
+	 */
+
+	public boolean intercalado(){
+		return intercalado;
+	}
+
+
+	/**
+	 * @brief	Devuelve el número de floats por vértice de vertices().
+	 * @return	3 si cada atributo tiene su buffer; la suma de las componentes de todos los atributos si están intercalados.
+	 * @note	Multiplicado por 4 es el stride de glVertexAttribPointer.
+	 */
+
+	public int paso(){
+		return paso;
+	}
+
+
+	/**
+	 * @brief	Devuelve la posición de las normales dentro de los floats de un vértice.
+	 * @return	La posición (0 si tienen su propio buffer); -1 si el modelo no tiene normales.
+	 */
+
+	public int desplazamientoNormales(){
+		return desplazamientoNormales;
+	}
+
+
+	/**
+	 * @brief	Devuelve la posición de los colores dentro de los floats de un vértice.
+	 * @return	La posición (0 si tienen su propio buffer); -1 si el modelo no tiene colores.
+	 */
+
+	public int desplazamientoColores(){
+		return desplazamientoColores;
+	}
+
+
+	/**
+	 * @brief	Devuelve la posición de las coordenadas de textura dentro de los floats de un vértice.
+	 * @return	La posición (0 si tienen su propio buffer); -1 si el modelo no tiene coordenadas de textura.
+	 */
+
+	public int desplazamientoTexturas(){
+		return desplazamientoTexturas;
+	}
+
+
+	/**
+	 * @brief	Devuelve el número de componentes de los colores.
+	 * @return	3 sin alfa, 4 con alfa y 0 si el modelo no tiene colores.
+	 */
+
+	public int componentesColor(){
+		return componentesColor;
+	}
+
+
+	/**
+	 * @brief	Devuelve los índices de las caras.
+	 * @return	Un ShortBuffer o un IntBuffer según indicesLargos().
+	 */
+
+	public Buffer indices(){
+		return indices;
+	}
+
+
+	/**
+	 * @brief	Devuelve los índices de las caras de 16 bits.
+	 * @return	Un ShortBuffer; null si los índices son de 32 bits.
+	 */
+
+	public ShortBuffer indicesShort(){
+		return (indices instanceof ShortBuffer) ? (ShortBuffer) indices : null;
+	}
+
+
+	/**
+	 * @brief	Devuelve los índices de las caras de 32 bits.
+	 * @return	Un IntBuffer; null si los índices son de 16 bits.
+	 */
+
+	public IntBuffer indicesInt(){
+		return (indices instanceof IntBuffer) ? (IntBuffer) indices : null;
+	}
+
+
+	/**
+	 * @brief	Indica si los índices de las caras son de 32 bits.
+	 * @return	true si son ints (GL_UNSIGNED_INT); false si son shorts (GL_UNSIGNED_SHORT).
+	 */
+
+	public boolean indicesLargos(){
+		return indices instanceof IntBuffer;
+	}
+
+
+	/**
+	 * @brief	Devuelve el número de vértices del modelo.
+	 * @return	El número de vértices.
+	 */
+
+	public int numVertices(){
+		return numVertices;
+	}
+
+
+	/**
+	 * @brief	Devuelve el número de caras del modelo.
+	 * @return	El número de caras del fichero, antes de triangularlas.
+	 */
+
+	public int numCaras(){
+		return numCaras;
+	}
+
+
+	/**
+	 * @brief	Devuelve el número de índices de las caras.
+	 * @return	El número de índices.
+	 */
+
+	public int numIndices(){
+		return indices.limit();
+	}
+
+
+	/**
+	 * @brief	Devuelve el número de vértices por cara en los índices.
+	 * @return	3 si las caras se han triangulado (GL_TRIANGLES); si no, el número de vértices de todas las caras del fichero.
+	 */
+
+	public int verticesPorCara(){
+		return verticesPorCara;
+	}
+
+
+	/**
+	 * @brief	Devuelve el comentario del modelo.
+	 * @return	El comentario; null si el fichero no tiene comentario.
+	 */
+
+	public String comentario(){
+		return comentario;
+	}
+
+
+	/**
+	 * @brief	Devuelve la caja alineada con los ejes y la esfera que envuelven los vértices del modelo.
+	 * @return	La envolvente, calculada al leer el modelo (o guardada en la caché); es inmutable.
+	 */
+
+	public Envolvente envolvente(){
+		return envolvente;
+	}
+
+}
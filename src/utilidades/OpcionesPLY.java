@@ -0,0 +1,384 @@
+/**
+ * @class	anibal.ingenieroenfurecido.utilidades.OpcionesPLY
+ * @brief	Opciones de lectura de un fichero ply.
+ * @author	Aníbal García García
+ * @date	17/10/2026
+ * @see		LectorPLY
+ * @note	Copyright 2014 Aníbal García García <anibal_garcia_garcia@outlook.com>
+ * @note	This program is free software: you can redistribute it and/or modify
+			it under the terms of the GNU General Public License as published by
+			the Free Software Foundation, either version 3 of the License, or
+			(at your option) any later version.
+ * @note	This program is distributed in the hope that it will be useful,
+			but WITHOUT ANY WARRANTY; without even the implied warranty of
+			MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+			GNU General Public License for more details.
+ * @note	You should have received a copy of the GNU General Public License
+			along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package utilidades;
+
+
+import java.nio.Buffer;
+import java.nio.FloatBuffer;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+
+public final class OpcionesPLY {
+
+	/// Tamaños de los índices de las caras.
+	public static final int INDICES_AUTOMATICO = 0;  // shorts si el modelo tiene como mucho 32768 vértices; ints si tiene más
+	public static final int INDICES_SHORT = 1;       // Siempre shorts (error si algún índice no cabe)
+	public static final int INDICES_INT = 2;         // Siempre ints
+
+	/// Atributos opcionales de los vértices (se pueden combinar con |).
+	public static final int ATRIBUTO_NORMALES = 1;  // nx, ny y nz
+	public static final int ATRIBUTO_COLORES = 2;   // red, green, blue y alpha
+	public static final int ATRIBUTO_TEXTURAS = 4;  // u y v (o s y t)
+
+	/// Triangulación de las caras.
+	public static final int TRIANGULACION_NINGUNA = 0;  // Las caras se guardan tal cual (todas deben tener el mismo número de vértices)
+	public static final int TRIANGULACION_ABANICO = 1;  // Abanico desde el 1º vértice de cada cara (solo correcto en caras convexas)
+	public static final int TRIANGULACION_OREJAS = 2;   // Recorte de orejas (correcto también en caras cóncavas)
+
+	/// Si el cuerpo de los ficheros ascii se lee en paralelo.
+	private boolean paralelo;
+
+	/// Pool de hilos para la lectura en paralelo.
+	private ForkJoinPool pool;
+
+	/// Tamaño de los índices de las caras.
+	private int indices;
+
+	/// Si los buffers del modelo son directos y en el orden nativo (true) o están respaldados por arrays (false).
+	private boolean directos;
+
+	/// Buffer a reutilizar para los vértices; null para reservar uno nuevo.
+	private FloatBuffer destinoVertices;
+
+	/// Buffer a reutilizar para los índices de las caras (ShortBuffer o IntBuffer); null para reservar uno nuevo.
+	private Buffer destinoIndices;
+
+	/// Número de filas de cada lote de LectorPLY.recorrer().
+	private int tamanoLote;
+
+	/// Atributos opcionales de los vértices que se leen, además de las coordenadas.
+	private int atributos;
+
+	/// Si los atributos de los vértices se intercalan en un único buffer (true) o van en un buffer por atributo (false).
+	private boolean intercalado;
+
+	/// Triangulación de las caras.
+	private int triangulacion;
+
+	/// Si los modelos leídos de una ruta se guardan en una caché binaria y se cargan de ella mientras el fichero ply no cambie.
+	private boolean cache;
+
+	/// Directorio de la caché binaria; null para guardarla junto al fichero ply.
+	private Path directorioCache;
+
+
+
+	/**
+	 * @brief	Constructor.
+	 * @note	Constructor por defecto: lectura secuencial con el pool común, índices de tamaño automático, solo las coordenadas de los vértices,
+				caras triangulares en abanico, buffers respaldados por arrays y sin caché binaria.
+	 */
+
+	public OpcionesPLY(){
+		paralelo = false;
+		pool = ForkJoinPool.commonPool();
+		indices = INDICES_AUTOMATICO;
+		directos = false;
+		destinoVertices = null;
+		destinoIndices = null;
+		tamanoLote = 4096;
+		atributos = 0;
+		intercalado = false;
+		triangulacion = TRIANGULACION_ABANICO;
+		cache = false;
+		directorioCache = null;
+	}
+
+
+	/**
+	 * @brief	Constructor.
+	 * @param	in	opciones Opciones a copiar.
+	 * @note	Constructor de copia para un objeto del tipo OpcionesPLY.
+	 * @see		OpcionesPLY()
+	 */
+
+	public OpcionesPLY (OpcionesPLY opciones){
+		paralelo = opciones.paralelo;
+		pool = opciones.pool;
+		indices = opciones.indices;
+		directos = opciones.directos;
+		destinoVertices = opciones.destinoVertices;
+		destinoIndices = opciones.destinoIndices;
+		tamanoLote = opciones.tamanoLote;
+		atributos = opciones.atributos;
+		intercalado = opciones.intercalado;
+		triangulacion = opciones.triangulacion;
+		cache = opciones.cache;
+		directorioCache = opciones.directorioCache;
+	}
+
+
+	/**
+	 * @brief	Introduce si el cuerpo de los ficheros ascii se lee en paralelo.
+	 * @param	in	paralelo true para dividir el cuerpo en trozos que se leen en paralelo.
+	 * @note	Solo compensa con ficheros grandes: un cuerpo de menos de 512 KB se lee como un único trozo, con las mismas pasadas
+				(recuento de filas, recuento de índices y lectura) pero en una sola tarea, por lo que es algo más lento que la lectura secuencial.
+	 */
+
+	public void paralelo (boolean paralelo){
+		this.paralelo = paralelo;
+	}
+
+
+	/**
+	 * @brief	Devuelve si el cuerpo de los ficheros ascii se lee en paralelo.
+	 * @return	true si se lee en paralelo; false en caso contrario.
+	 */
+
+	public boolean paralelo(){
+		return paralelo;
+	}
+
+
+	/**
+	 * @brief	Introduce el pool de hilos para la lectura en paralelo.
+	 * @param	in	pool Pool de hilos.
+	 */
+
+	public void pool (ForkJoinPool pool){
+		this.pool = pool;
+	}
+
+
+	/**
+	 * @brief	Devuelve el pool de hilos para la lectura en paralelo.
+	 * @return	El pool de hilos.
+	 */
+
+	public ForkJoinPool pool(){
+		return pool;
+	}
+
+
+	/**
+	 * @brief	Introduce el tamaño de los índices de las caras.
+	 * @param	in	indices INDICES_AUTOMATICO, INDICES_SHORT o INDICES_INT.
+	 */
+
+	public void indices (int indices){
+		this.indices = indices;
+	}
+
+
+	/**
+	 * @brief	Devuelve el tamaño de los índices de las caras.
+	 * @return	INDICES_AUTOMATICO, INDICES_SHORT o INDICES_INT.
+	 */
+
+	public int indices(){
+		return indices;
+	}
+
+
+	/**
+	 * @brief	Introduce si los buffers del modelo son directos y en el orden nativo.
+	 * @param	in	directos true para buffers directos (listos para glBufferData); false para buffers respaldados por arrays.
+	 */
+
+	public void directos (boolean directos){
+		this.directos = directos;
+	}
+
+
+	/**
+	 * @brief	Devuelve si los buffers del modelo son directos y en el orden nativo.
+	 * @return	true si son directos; false si están respaldados por arrays.
+	 */
+
+	public boolean directos(){
+		return directos;
+	}
+
+
+	/**
+	 * @brief	Introduce el buffer a reutilizar para los vértices.
+	 * @param	in	destinoVertices Buffer de una lectura anterior; null para reservar uno nuevo.
+	 * @note	Solo se reutiliza si tiene capacidad suficiente; si no, se reserva uno nuevo y el modelo devuelve ese.
+	 */
+
+	public void destinoVertices (FloatBuffer destinoVertices){
+		this.destinoVertices = destinoVertices;
+	}
+
+
+	/**
+	 * @brief	Devuelve el buffer a reutilizar para los vértices.
+	 * @return	El buffer; null si se reserva uno nuevo.
+	 */
+
+	public FloatBuffer destinoVertices(){
+		return destinoVertices;
+	}
+
+
+	/**
+	 * @brief	Introduce el buffer a reutilizar para los índices de las caras.
+	 * @param	in	destinoIndices ShortBuffer o IntBuffer de una lectura anterior; null para reservar uno nuevo.
+	 * @note	Solo se reutiliza si es del tamaño de índice del modelo y tiene capacidad suficiente; si no, se reserva uno nuevo y el modelo devuelve ese.
+	 */
+
+	public void destinoIndices (Buffer destinoIndices){
+		this.destinoIndices = destinoIndices;
+	}
+
+
+	/**
+	 * @brief	Devuelve el buffer a reutilizar para los índices de las caras.
+	 * @return	El buffer; null si se reserva uno nuevo.
+	 */
+
+	public Buffer destinoIndices(){
+		return destinoIndices;
+	}
+
+
+	/**
+	 * @brief	Introduce el número de filas de cada lote de LectorPLY.recorrer().
+	 * @param	in	tamanoLote Número de filas por lote (mayor que 0).
+	 * @note	Lanza IllegalArgumentException si el número de filas no es mayor que 0.
+	 */
+
+	public void tamanoLote (int tamanoLote){
+		if (tamanoLote <= 0)
+			throw new IllegalArgumentException("El número de filas por lote debe ser mayor que 0, no " + tamanoLote + ".");
+
+		this.tamanoLote = tamanoLote;
+	}
+
+
+	/**
+	 * @brief	Devuelve el número de filas de cada lote de LectorPLY.recorrer().
+	 * @return	El número de filas por lote.
+	 */
+
+	public int tamanoLote(){
+		return tamanoLote;
+	}
+
+
+	/**
+	 * @brief	Introduce los atributos opcionales de los vértices que se leen, además de las coordenadas.
+	 * @param	in	atributos Combinación con | de ATRIBUTO_NORMALES, ATRIBUTO_COLORES y ATRIBUTO_TEXTURAS; 0 para solo las coordenadas.
+	 * @note	Los atributos que no estén en el fichero se ignoran; ModeloPLY indica cuáles se han leído.
+	 */
+
+	public void atributos (int atributos){
+		this.atributos = atributos;
+	}
+
+
+	/**
+	 * @brief	Devuelve los atributos opcionales de los vértices que se leen.
+	 * @return	Combinación de ATRIBUTO_NORMALES, ATRIBUTO_COLORES y ATRIBUTO_TEXTURAS.
+	 */
+
+	public int atributos(){
+		return atributos;
+	}
+
+
+	/**
+	 * @brief	Introduce si los atributos de los vértices se intercalan en un único buffer.
+	 * @param	in	intercalado true para un único buffer con todos los atributos de cada vértice seguidos; false para un buffer por atributo.
+	 */
+
+	public void intercalado (boolean intercalado){
+		this.intercalado = intercalado;
+	}
+
+
+	/**
+	 * @brief	Devuelve si los atributos de los vértices se intercalan en un único buffer.
+	 * @return	true si se intercalan; false si van en un buffer por atributo.
+	 */
+
+	public boolean intercalado(){
+		return intercalado;
+	}
+
+
+	/**
+	 * @brief	Introduce cómo se dividen en triángulos las caras de más de 3 vértices.
+	 * @param	in	triangulacion TRIANGULACION_NINGUNA, TRIANGULACION_ABANICO o TRIANGULACION_OREJAS.
+	 * @note	Las caras se triangulan mientras se leen, directamente en los índices del modelo.
+	 * @note	Lanza IllegalArgumentException si la triangulación no es ninguna de las anteriores.
+	 */
+
+	public void triangulacion (int triangulacion){
+		if (triangulacion != TRIANGULACION_NINGUNA  &&  triangulacion != TRIANGULACION_ABANICO  &&  triangulacion != TRIANGULACION_OREJAS)
+			throw new IllegalArgumentException("Triangulación desconocida: " + triangulacion + ".");
+
+		this.triangulacion = triangulacion;
+	}
+
+
+	/**
+	 * @brief	Devuelve cómo se dividen en triángulos las caras de más de 3 vértices.
+	 * @return	TRIANGULACION_NINGUNA, TRIANGULACION_ABANICO o TRIANGULACION_OREJAS.
+	 */
+
+	public int triangulacion(){
+		return triangulacion;
+	}
+
+
+	/**
+	 * @brief	Introduce si los modelos leídos de una ruta se guardan en una caché binaria.
+	 * @param	in	cache true para cargar el modelo de la caché si el fichero ply no ha cambiado, o leerlo y guardarlo en ella si ha cambiado.
+	 * @note	Solo se aplica a LectorPLY.leerModelo(Path, OpcionesPLY) y a LectorPLY.leer(Path, OpcionesPLY); los recursos de Android se leen siempre.
+	 * @see		CachePLY
+	 */
+
+	public void cache (boolean cache){
+		this.cache = cache;
+	}
+
+
+	/**
+	 * @brief	Devuelve si los modelos leídos de una ruta se guardan en una caché binaria.
+	 * @return	true si se utiliza la caché; false en caso contrario.
+	 */
+
+	public boolean cache(){
+		return cache;
+	}
+
+
+	/**
+	 * @brief	Introduce el directorio de la caché binaria.
+	 * @param	in	directorioCache Directorio donde se guardan los ficheros de la caché (por ejemplo, Context.getCacheDir()); null para guardarlos junto a los ficheros ply.
+	 */
+
+	public void directorioCache (Path directorioCache){
+		this.directorioCache = directorioCache;
+	}
+
+
+	/**
+	 * @brief	Devuelve el directorio de la caché binaria.
+	 * @return	El directorio; null si la caché se guarda junto a los ficheros ply.
+	 */
+
+	public Path directorioCache(){
+		return directorioCache;
+	}
+
+}
@@ -0,0 +1,128 @@
+/**
+ * @class	anibal.ingenieroenfurecido.utilidades.OperacionesEscalares
+ * @brief	Implementación escalar de las operaciones en bloque de BufferVectores.
+ * @author	Aníbal García García
+ * @date	17/10/2026
+ * @see		OperacionesVectores
+ * @note	Bucles sencillos sobre el array, sin crear objetos, que el compilador JIT puede vectorizar en parte.
+				Es la implementación en Android y cuando la API Vector de Java no está disponible.
+ * @note	Copyright 2014 Aníbal García García <anibal_garcia_garcia@outlook.com>
+ * @note	This program is free software: you can redistribute it and/or modify
+			it under the terms of the GNU General Public License as published by
+			the Free Software Foundation, either version 3 of the License, or
+			(at your option) any later version.
+ * @note	This program is distributed in the hope that it will be useful,
+			but WITHOUT ANY WARRANTY; without even the implied warranty of
+			MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+			GNU General Public License for more details.
+ * @note	You should have received a copy of the GNU General Public License
+			along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package utilidades;
+
+
+class OperacionesEscalares implements OperacionesVectores {
+
+	@Override
+	public void sumar (float[] datos, float[] otros, int desde, int hasta){
+		for (int i = desde; i < hasta; i++)
+			datos[i] += otros[i];
+	}
+
+
+	@Override
+	public void restar (float[] datos, float[] otros, int desde, int hasta){
+		for (int i = desde; i < hasta; i++)
+			datos[i] -= otros[i];
+	}
+
+
+	@Override
+	public void trasladar (float[] datos, float x, float y, float z, int desde, int hasta){
+		for (int i = desde; i < hasta; i += 3){
+			datos[i] += x;      // x
+			datos[i + 1] += y;  // y
+			datos[i + 2] += z;  // z
+		}
+	}
+
+
+	@Override
+	public void multiplicar (float[] datos, float factor, int desde, int hasta){
+		for (int i = desde; i < hasta; i++)
+			datos[i] *= factor;
+	}
+
+
+	@Override
+	public void normalizar (float[] datos, int desde, int hasta){
+		for (int i = desde; i < hasta; i += 3){
+			float x = datos[i], y = datos[i + 1], z = datos[i + 2];
+			float modulo2 = x * x + y * y + z * z;
+
+			if (modulo2 > 0){
+				float inverso = 1 / (float) Math.sqrt(modulo2);
+
+				datos[i] = x * inverso;      // x
+				datos[i + 1] = y * inverso;  // y
+				datos[i + 2] = z * inverso;  // z
+			}
+		}
+	}
+
+
+	@Override
+	public void renormalizar (float[] datos, int desde, int hasta){
+		for (int i = desde; i < hasta; i += 3){
+			float x = datos[i], y = datos[i + 1], z = datos[i + 2];
+			float factor = 1.5f - 0.5f * (x * x + y * y + z * z);  // 1 paso de Newton-Raphson de 1 / sqrt(m) desde 1
+
+			datos[i] = x * factor;      // x
+			datos[i + 1] = y * factor;  // y
+			datos[i + 2] = z * factor;  // z
+		}
+	}
+
+
+	@Override
+	public void modulo (float[] datos, int desde, int hasta, float[] modulos, int posicion){
+		for (int i = desde, j = posicion; i < hasta; i += 3, j++){
+			float x = datos[i], y = datos[i + 1], z = datos[i + 2];
+
+			modulos[j] = (float) Math.sqrt(x * x + y * y + z * z);
+		}
+	}
+
+
+	@Override
+	public void productoEscalar (float[] datos, float[] otros, int desde, int hasta, float[] productos, int posicion){
+		for (int i = desde, j = posicion; i < hasta; i += 3, j++)
+			productos[j] = datos[i] * otros[i] + datos[i + 1] * otros[i + 1] + datos[i + 2] * otros[i + 2];
+	}
+
+
+	@Override
+	public void productoVectorial (float[] datos, float[] otros, int desde, int hasta){
+		for (int i = desde; i < hasta; i += 3){
+			float x = datos[i], y = datos[i + 1], z = datos[i + 2];
+			float ox = otros[i], oy = otros[i + 1], oz = otros[i + 2];
+
+			datos[i] = y * oz - z * oy;      // x
+			datos[i + 1] = z * ox - x * oz;  // y
+			datos[i + 2] = x * oy - y * ox;  // z
+		}
+	}
+
+
+	@Override
+	public void rotar (float[] datos, int p, int q, float seno, float coseno, int desde, int hasta){
+		for (int i = desde; i < hasta; i += 3){
+			float a = datos[i + p], b = datos[i + q];
+
+			datos[i + p] = a * coseno - b * seno;
+			datos[i + q] = a * seno + b * coseno;
+		}
+	}
+
+}
@@ -0,0 +1,146 @@
+/**
+ * @class	anibal.ingenieroenfurecido.utilidades.OperacionesVectores
+ * @brief	Implementación de las operaciones en bloque de BufferVectores.
+ * @author	Aníbal García García
+ * @date	17/10/2026
+ * @see		BufferVectores
+ * @see		OperacionesEscalares
+ * @note	Trabaja directamente sobre el array de BufferVectores, con las coordenadas x, y y z de cada vector seguidas.
+				Los rangos se indican en floats (desde y hasta son múltiplos de 3) y ya están comprobados.
+ * @note	Hay una implementación escalar, que funciona en cualquier máquina virtual, y otra con la API Vector de Java (OperacionesSIMD, en src-jvm),
+				que BufferVectores carga al arrancar si está disponible. Ambas dan exactamente los mismos resultados.
+ * @note	Copyright 2014 Aníbal García García <anibal_garcia_garcia@outlook.com>
+ * @note	This program is free software: you can redistribute it and/or modify
+			it under the terms of the GNU General Public License as published by
+			the Free Software Foundation, either version 3 of the License, or
+			(at your option) any later version.
+ * @note	This program is distributed in the hope that it will be useful,
+			but WITHOUT ANY WARRANTY; without even the implied warranty of
+			MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+			GNU General Public License for more details.
+ * @note	You should have received a copy of the GNU General Public License
+			along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package utilidades;
+
+
+interface OperacionesVectores {
+
+	/**
+	 * @brief	Suma a cada coordenada la de la misma posición de otro array.
+	 * @param	in,out	datos Coordenadas de los vectores.
+	 * @param	in	otros Coordenadas de los vectores a sumar.
+	 * @param	in	desde 1ª coordenada del rango.
+	 * @param	in	hasta Coordenada siguiente a la última del rango.
+	 */
+
+	void sumar (float[] datos, float[] otros, int desde, int hasta);
+
+
+	/**
+	 * @brief	Resta a cada coordenada la de la misma posición de otro array.
+	 * @param	in,out	datos Coordenadas de los vectores.
+	 * @param	in	otros Coordenadas de los vectores a restar.
+	 * @param	in	desde 1ª coordenada del rango.
+	 * @param	in	hasta Coordenada siguiente a la última del rango.
+	 */
+
+	void restar (float[] datos, float[] otros, int desde, int hasta);
+
+
+	/**
+	 * @brief	Suma un mismo vector a cada vector.
+	 * @param	in,out	datos Coordenadas de los vectores.
+	 * @param	in	x Coordenada x del vector a sumar.
+	 * @param	in	y Coordenada y del vector a sumar.
+	 * @param	in	z Coordenada z del vector a sumar.
+	 * @param	in	desde 1ª coordenada del rango.
+	 * @param	in	hasta Coordenada siguiente a la última del rango.
+	 */
+
+	void trasladar (float[] datos, float x, float y, float z, int desde, int hasta);
+
+
+	/**
+	 * @brief	Multiplica cada coordenada por un número.
+	 * @param	in,out	datos Coordenadas de los vectores.
+	 * @param	in	factor Número por el cual multiplicar.
+	 * @param	in	desde 1ª coordenada del rango.
+	 * @param	in	hasta Coordenada siguiente a la última del rango.
+	 */
+
+	void multiplicar (float[] datos, float factor, int desde, int hasta);
+
+
+	/**
+	 * @brief	Normaliza cada vector, dejando igual los de módulo 0.
+	 * @param	in,out	datos Coordenadas de los vectores.
+	 * @param	in	desde 1ª coordenada del rango.
+	 * @param	in	hasta Coordenada siguiente a la última del rango.
+	 */
+
+	void normalizar (float[] datos, int desde, int hasta);
+
+
+	/**
+	 * @brief	Normaliza de forma aproximada cada vector casi unitario, multiplicándolo por (3 - m) / 2 siendo m el cuadrado de su módulo.
+	 * @param	in,out	datos Coordenadas de los vectores.
+	 * @param	in	desde 1ª coordenada del rango.
+	 * @param	in	hasta Coordenada siguiente a la última del rango.
+	 */
+
+	void renormalizar (float[] datos, int desde, int hasta);
+
+
+	/**
+	 * @brief	Calcula el módulo de cada vector.
+	 * @param	in	datos Coordenadas de los vectores.
+	 * @param	in	desde 1ª coordenada del rango.
+	 * @param	in	hasta Coordenada siguiente a la última del rango.
+	 * @param	out	modulos Módulo de cada vector.
+	 * @param	in	posicion Posición de modulos donde se guarda el 1º.
+	 */
+
+	void modulo (float[] datos, int desde, int hasta, float[] modulos, int posicion);
+
+
+	/**
+	 * @brief	Calcula el producto escalar de cada vector con el de la misma posición de otro array.
+	 * @param	in	datos Coordenadas de los vectores.
+	 * @param	in	otros Coordenadas de los otros vectores.
+	 * @param	in	desde 1ª coordenada del rango.
+	 * @param	in	hasta Coordenada siguiente a la última del rango.
+	 * @param	out	productos Producto escalar de cada vector.
+	 * @param	in	posicion Posición de productos donde se guarda el 1º.
+	 */
+
+	void productoEscalar (float[] datos, float[] otros, int desde, int hasta, float[] productos, int posicion);
+
+
+	/**
+	 * @brief	Calcula el producto vectorial de cada vector con el de la misma posición de otro array, almacenando el resultado en el 1º.
+	 * @param	in,out	datos Coordenadas de los vectores.
+	 * @param	in	otros Coordenadas de los otros vectores.
+	 * @param	in	desde 1ª coordenada del rango.
+	 * @param	in	hasta Coordenada siguiente a la última del rango.
+	 */
+
+	void productoVectorial (float[] datos, float[] otros, int desde, int hasta);
+
+
+	/**
+	 * @brief	Rota cada vector en el plano de dos de sus coordenadas.
+	 * @param	in,out	datos Coordenadas de los vectores.
+	 * @param	in	p 1ª coordenada del plano (0 para x, 1 para y y 2 para z).
+	 * @param	in	q 2ª coordenada del plano.
+	 * @param	in	seno Seno del ángulo.
+	 * @param	in	coseno Coseno del ángulo.
+	 * @param	in	desde 1ª coordenada del rango.
+	 * @param	in	hasta Coordenada siguiente a la última del rango.
+	 * @note	[p, q] pasa a ser [p * cos(angulo) - q * sin(angulo), p * sin(angulo) + q * cos(angulo)].
+	 */
+
+	void rotar (float[] datos, int p, int q, float seno, float coseno, int desde, int hasta);
+
+}
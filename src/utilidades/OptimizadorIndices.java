@@ -0,0 +1,385 @@
+/**
+ * @class	anibal.ingenieroenfurecido.utilidades.OptimizadorIndices
+ * @brief	Reordena los triángulos y los vértices de un modelo para aprovechar las cachés de la GPU.
+ * @author	Aníbal García García
+ * @date	17/10/2026
+ * @see		LectorPLY
+ * @see		SoldadorVertices
+ * @note	Trabaja sobre los arrays que devuelve LectorPLY.leer(), con las caras ya divididas en triángulos.
+ * @note	1º reordena los triángulos con el algoritmo de Tom Forsyth ("Linear-Speed Vertex Cache Optimisation"): simula una caché LRU de vértices
+				y emite en cada paso el triángulo con más puntuación, que premia los vértices que están en la caché y los que tienen pocos triángulos
+				pendientes. Después reordena los vértices en el orden en que los usan los triángulos, para que se lean seguidos de memoria.
+ * @note	La mejora se mide con el ACMR (número medio de vértices transformados por triángulo) en una caché FIFO, como la de las GPU móviles:
+				3 es el peor caso y 0,5 el mínimo teórico de una malla regular.
+ * @note	Conviene aplicarlo después de SoldadorVertices, porque los vértices repetidos no se pueden reutilizar de la caché.
+ * @note	Copyright 2014 Aníbal García García <anibal_garcia_garcia@outlook.com>
+ * @note	This program is free software: you can redistribute it and/or modify
+			it under the terms of the GNU General Public License as published by
+			the Free Software Foundation, either version 3 of the License, or
+			(at your option) any later version.
+ * @note	This program is distributed in the hope that it will be useful,
+			but WITHOUT ANY WARRANTY; without even the implied warranty of
+			MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+			GNU General Public License for more details.
+ * @note	You should have received a copy of the GNU General Public License
+			along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package utilidades;
+
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+
+public final class OptimizadorIndices {
+
+	/// Tag para el log.
+	private static final String TAG = "OptimizadorIndices";
+
+	/// Tamaño de la caché FIFO con la que se mide el ACMR.
+	public static final int tamanoCacheFIFO = 32;
+
+	/// Tamaño de la caché LRU que simula el algoritmo de Forsyth.
+	private static final int tamanoCacheLRU = 32;
+
+	/// Constantes de la puntuación de Forsyth.
+	private static final float puntuacionUltimoTriangulo = 0.75f;  // Vértices del último triángulo emitido
+	private static final float potenciaCache = 1.5f;
+	private static final float escalaValencia = 2.0f;
+	private static final float potenciaValencia = -0.5f;
+
+	/// Máxima valencia con puntuación precalculada; las mayores usan la última.
+	private static final int maximaValencia = 64;
+
+	/// Puntuación de cada posición de la caché LRU.
+	private static final float[] puntuacionCache = new float[tamanoCacheLRU];
+
+	/// Puntuación de cada número de triángulos pendientes de un vértice.
+	private static final float[] puntuacionValencia = new float[maximaValencia + 1];
+
+	static{
+		for (int i = 0; i < tamanoCacheLRU; i++)
+			puntuacionCache[i] = (i < 3) ? puntuacionUltimoTriangulo : (float) Math.pow(1 - (i - 3) / (float) (tamanoCacheLRU - 3), potenciaCache);
+
+		for (int i = 1; i <= maximaValencia; i++)
+			puntuacionValencia[i] = escalaValencia * (float) Math.pow(i, potenciaValencia);
+	}
+
+
+
+	/**
+	 * @brief	Constructor.
+	 * @note	Todos los métodos son estáticos.
+	 */
+
+	private OptimizadorIndices(){
+	}
+
+
+	/**
+	 * @brief	Reordena los triángulos y los vértices de un modelo leído con LectorPLY.leer().
+	 * @param	in,out	modelo ArrayList devuelto por LectorPLY.leer(), con los vértices (float[]) y los índices de los triángulos (short[] o int[]).
+	 * @return	Un array con el ACMR antes y después de reordenar.
+	 * @note	Los vértices y los índices se reordenan en los mismos arrays.
+	 */
+
+	public static float[] optimizar (ArrayList <Object> modelo){
+		if (modelo.get(1) instanceof short[])
+			return optimizar((float[]) modelo.get(0), (short[]) modelo.get(1));
+
+
+		return optimizar((float[]) modelo.get(0), (int[]) modelo.get(1));
+	}
+
+
+	/**
+	 * @brief	Reordena los triángulos y los vértices de un modelo.
+	 * @param	in,out	vertices Coordenadas x, y y z de cada vértice, que se reordenan en el orden en que los usan los triángulos.
+	 * @param	in,out	indices Índices de los vértices de cada triángulo, que se reordenan.
+	 * @return	Un array con el ACMR antes y después de reordenar.
+	 * @note	Los vértices que no usa ningún triángulo se quedan al final, en su orden.
+	 */
+
+	public static float[] optimizar (float[] vertices, int[] indices){
+		float antes, despues;
+
+
+		comprobar(vertices.length / 3, indices);
+		antes = acmr(indices, tamanoCacheFIFO);
+		ordenarTriangulos(vertices.length / 3, indices);
+		ordenarVertices(vertices, indices);
+
+		despues = acmr(indices, tamanoCacheFIFO);
+
+		Logger.getLogger(TAG).log(Level.INFO, "ACMR (caché FIFO de " + tamanoCacheFIFO + " vértices): " + antes + " antes y " + despues + " después de reordenar " + (indices.length / 3) + " triángulos");
+
+
+		return new float[]{antes, despues};
+	}
+
+
+	/**
+	 * @brief	Reordena los triángulos y los vértices de un modelo.
+	 * @param	in,out	vertices Coordenadas x, y y z de cada vértice, que se reordenan en el orden en que los usan los triángulos.
+	 * @param	in,out	indices Índices de los vértices de cada triángulo (sin signo, como los de LectorPLY), que se reordenan.
+	 * @return	Un array con el ACMR antes y después de reordenar.
+	 * @note	Los vértices que no usa ningún triángulo se quedan al final, en su orden.
+	 */
+
+	public static float[] optimizar (float[] vertices, short[] indices){
+		int[] enteros = new int[indices.length];
+
+
+		for (int i = 0; i < indices.length; i++)
+			enteros[i] = indices[i] & 0xFFFF;
+
+		float[] resultado = optimizar(vertices, enteros);  // optimizar(float[], int[])
+
+		for (int i = 0; i < indices.length; i++)
+			indices[i] = (short) enteros[i];
+
+
+		return resultado;
+	}
+
+
+	/**
+	 * @brief	Calcula el ACMR de unos triángulos en una caché FIFO.
+	 * @param	in	indices Índices de los vértices de cada triángulo.
+	 * @param	in	tamanoCache Número de vértices de la caché.
+	 * @return	El número medio de vértices que no están en la caché por triángulo (entre 0 y 3); 0 si no hay triángulos.
+	 */
+
+	public static float acmr (int[] indices, int tamanoCache){
+		int[] cache = new int[tamanoCache];
+		int numero = 0, siguiente = 0;  // Vértices en la caché y posición del siguiente a sustituir
+		long fallos = 0;
+
+
+		if (indices.length < 3)
+			return 0;
+
+		for (int indice : indices){
+			boolean encontrado = false;
+
+			for (int j = 0; j < numero  &&  !encontrado; j++)
+				encontrado = (cache[j] == indice);
+
+			if (encontrado)
+				continue;
+
+			fallos++;
+			cache[siguiente] = indice;
+			siguiente = (siguiente + 1) % tamanoCache;
+			numero = Math.min(numero + 1, tamanoCache);
+		}
+
+
+		return fallos / (float) (indices.length / 3);
+	}
+
+
+	/**
+	 * @brief	Comprueba que los índices forman triángulos de vértices que existen.
+	 * @param	in	num_vertices Número de vértices.
+	 * @param	in	indices Índices de los vértices de cada triángulo.
+	 */
+
+	private static void comprobar (int num_vertices, int[] indices){
+		if (indices.length % 3 != 0)
+			throw new IllegalArgumentException("El número de índices (" + indices.length + ") no es múltiplo de 3: las caras deben ser triángulos.");
+
+		for (int indice : indices)
+			if (indice < 0  ||  indice >= num_vertices)
+				throw new IllegalArgumentException("Índice de vértice fuera de rango: " + indice + " (el modelo tiene " + num_vertices + " vértices).");
+	}
+
+
+	/**
+	 * @brief	Reordena los triángulos con el algoritmo de Forsyth.
+	 * @param	in	num_vertices Número de vértices.
+	 * @param	in,out	indices Índices de los vértices de cada triángulo.
+	 */
+
+	private static void ordenarTriangulos (int num_vertices, int[] indices){
+		int num_triangulos = indices.length / 3;
+		int[] inicio = new int[num_vertices + 1];  // Triángulos de cada vértice (en formato CSR)
+		int[] pendientes = new int[num_vertices];  // Triángulos aún no emitidos de cada vértice
+		int[] posicion = new int[num_vertices];    // Posición de cada vértice en la caché LRU; -1 si no está
+		float[] puntuacion = new float[num_vertices];
+		float[] puntuacion_triangulo = new float[num_triangulos];
+		boolean[] emitido = new boolean[num_triangulos];
+		int[] cache = new int[tamanoCacheLRU + 3], cache_nueva = new int[tamanoCacheLRU + 3];
+		int num_cache = 0;
+		int[] resultado = new int[indices.length];
+		int mejor = -1;  // Triángulo a emitir
+		int cursor = 0;  // Triángulos anteriores ya emitidos, para buscar otro cuando no hay candidatos en la caché
+
+
+		if (num_triangulos == 0)
+			return;
+
+		// Triángulos de cada vértice
+		for (int indice : indices)
+			pendientes[indice]++;
+
+		for (int v = 0; v < num_vertices; v++)
+			inicio[v + 1] = inicio[v] + pendientes[v];
+
+		int[] triangulos = new int[indices.length];
+		int[] lleno = new int[num_vertices];
+
+		for (int t = 0; t < num_triangulos; t++)
+			for (int k = 0; k < 3; k++){
+				int v = indices[t * 3 + k];
+
+				triangulos[inicio[v] + lleno[v]++] = t;
+			}
+
+		// Puntuaciones iniciales
+		for (int v = 0; v < num_vertices; v++){
+			posicion[v] = -1;
+			puntuacion[v] = puntuacionVertice(-1, pendientes[v]);
+		}
+
+		for (int t = 0; t < num_triangulos; t++){
+			puntuacion_triangulo[t] = puntuacion[indices[t * 3]] + puntuacion[indices[t * 3 + 1]] + puntuacion[indices[t * 3 + 2]];
+
+			if (mejor < 0  ||  puntuacion_triangulo[t] > puntuacion_triangulo[mejor])
+				mejor = t;
+		}
+
+		for (int emitidos = 0; emitidos < num_triangulos; emitidos++){
+			if (mejor < 0){  // Ningún triángulo de la caché: el siguiente pendiente en el orden original
+				while (emitido[cursor])
+					cursor++;
+
+				mejor = cursor;
+			}
+
+			// Emito el triángulo
+			emitido[mejor] = true;
+			System.arraycopy(indices, mejor * 3, resultado, emitidos * 3, 3);
+
+			int num_cache_nueva = 0;
+
+			for (int k = 0; k < 3; k++){
+				int v = indices[mejor * 3 + k];
+
+				// Lo quito de los triángulos pendientes del vértice
+				for (int j = inicio[v]; j < inicio[v] + pendientes[v]; j++)
+					if (triangulos[j] == mejor){
+						triangulos[j] = triangulos[inicio[v] + pendientes[v] - 1];
+						pendientes[v]--;
+
+						break;
+					}
+
+				if (!(num_cache_nueva > 0  &&  cache_nueva[0] == v)  &&  !(num_cache_nueva > 1  &&  cache_nueva[1] == v))  // Los vértices del triángulo, al principio de la caché (sin repetirlos)
+					cache_nueva[num_cache_nueva++] = v;
+			}
+
+			for (int j = 0; j < num_cache; j++)  // El resto de la caché anterior detrás
+				if (!enTriangulo(indices, mejor, cache[j]))
+					cache_nueva[num_cache_nueva++] = cache[j];
+
+			// Actualizo las puntuaciones de los vértices de la caché (y de los que salen de ella) y de sus triángulos
+			mejor = -1;
+
+			for (int j = 0; j < num_cache_nueva; j++){
+				int v = cache_nueva[j];
+
+				posicion[v] = (j < tamanoCacheLRU) ? j : -1;
+				puntuacion[v] = puntuacionVertice(posicion[v], pendientes[v]);
+			}
+
+			for (int j = 0; j < num_cache_nueva; j++){
+				int v = cache_nueva[j];
+
+				for (int i = inicio[v]; i < inicio[v] + pendientes[v]; i++){
+					int t = triangulos[i];
+
+					puntuacion_triangulo[t] = puntuacion[indices[t * 3]] + puntuacion[indices[t * 3 + 1]] + puntuacion[indices[t * 3 + 2]];
+
+					if (mejor < 0  ||  puntuacion_triangulo[t] > puntuacion_triangulo[mejor])
+						mejor = t;
+				}
+			}
+
+			// Intercambio las cachés
+			int[] auxiliar = cache;
+
+			cache = cache_nueva;
+			cache_nueva = auxiliar;
+			num_cache = Math.min(num_cache_nueva, tamanoCacheLRU);
+		}
+
+		System.arraycopy(resultado, 0, indices, 0, indices.length);
+	}
+
+
+	/**
+	 * @brief	Indica si un vértice es de un triángulo.
+	 * @param	in	indices Índices de los vértices de cada triángulo.
+	 * @param	in	triangulo Triángulo.
+	 * @param	in	vertice Vértice.
+	 * @return	true si el vértice es de el triángulo; false en caso contrario.
+	 */
+
+	private static boolean enTriangulo (int[] indices, int triangulo, int vertice){
+		return indices[triangulo * 3] == vertice  ||  indices[triangulo * 3 + 1] == vertice  ||  indices[triangulo * 3 + 2] == vertice;
+	}
+
+
+	/**
+	 * @brief	Calcula la puntuación de Forsyth de un vértice.
+	 * @param	in	posicion Posición del vértice en la caché LRU; -1 si no está.
+	 * @param	in	pendientes Número de triángulos aún no emitidos del vértice.
+	 * @return	La puntuación; 0 si no le quedan triángulos.
+	 */
+
+	private static float puntuacionVertice (int posicion, int pendientes){
+		if (pendientes == 0)
+			return 0;
+
+
+		return ((posicion < 0) ? 0 : puntuacionCache[posicion]) + puntuacionValencia[Math.min(pendientes, maximaValencia)];
+	}
+
+
+	/**
+	 * @brief	Reordena los vértices en el orden en que los usan los triángulos.
+	 * @param	in,out	vertices Coordenadas x, y y z de cada vértice.
+	 * @param	in,out	indices Índices de los vértices de cada triángulo, que se cambian a los nuevos.
+	 */
+
+	private static void ordenarVertices (float[] vertices, int[] indices){
+		int num_vertices = vertices.length / 3;
+		int[] nuevo_indice = new int[num_vertices];
+		float[] copia = vertices.clone();
+		int siguiente = 0;
+
+
+		Arrays.fill(nuevo_indice, -1);
+
+		for (int i = 0; i < indices.length; i++){
+			int v = indices[i];
+
+			if (nuevo_indice[v] < 0)  // 1er uso del vértice
+				nuevo_indice[v] = siguiente++;
+
+			indices[i] = nuevo_indice[v];
+		}
+
+		for (int v = 0; v < num_vertices; v++){
+			if (nuevo_indice[v] < 0)  // Vértice sin triángulos, al final
+				nuevo_indice[v] = siguiente++;
+
+			System.arraycopy(copia, v * 3, vertices, nuevo_indice[v] * 3, 3);
+		}
+	}
+
+}
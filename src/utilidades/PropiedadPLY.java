@@ -0,0 +1,192 @@
+/**
+ * @class	anibal.ingenieroenfurecido.utilidades.PropiedadPLY
+ * @brief	Describe una propiedad de un elemento de un fichero ply.
+ * @author	Aníbal García García
+ * @date	17/10/2026
+ * @see		ElementoPLY
+ * @see		LectorPLY
+ * @note	Copyright 2014 Aníbal García García <anibal_garcia_garcia@outlook.com>
+ * @note	This program is free software: you can redistribute it and/or modify
+			it under the terms of the GNU General Public License as published by
+			the Free Software Foundation, either version 3 of the License, or
+			(at your option) any later version.
+ * @note	This program is distributed in the hope that it will be useful,
+			but WITHOUT ANY WARRANTY; without even the implied warranty of
+			MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+			GNU General Public License for more details.
+ * @note	You should have received a copy of the GNU General Public License
+			along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package utilidades;
+
+
+public final class PropiedadPLY {
+
+	/// Tipos de dato de las propiedades.
+	public static final int TIPO_CHAR = 0;    // char, int8
+	public static final int TIPO_UCHAR = 1;   // uchar, uint8
+	public static final int TIPO_SHORT = 2;   // short, int16
+	public static final int TIPO_USHORT = 3;  // ushort, uint16
+	public static final int TIPO_INT = 4;     // int, int32
+	public static final int TIPO_UINT = 5;    // uint, uint32
+	public static final int TIPO_FLOAT = 6;   // float, float32
+	public static final int TIPO_DOUBLE = 7;  // double, float64
+
+	/// Tamaño en bytes de cada tipo de dato.
+	private static final int[] tamanos = {1, 1, 2, 2, 4, 4, 4, 8};
+
+	/// Menor valor que se puede representar con cada tipo de dato.
+	private static final double[] minimos = {Byte.MIN_VALUE, 0, Short.MIN_VALUE, 0, Integer.MIN_VALUE, 0, -Float.MAX_VALUE, -Double.MAX_VALUE};
+
+	/// Mayor valor que se puede representar con cada tipo de dato.
+	private static final double[] maximos = {Byte.MAX_VALUE, 0xFF, Short.MAX_VALUE, 0xFFFF, Integer.MAX_VALUE, 0xFFFFFFFFL, Float.MAX_VALUE, Double.MAX_VALUE};
+
+	/// Nombre de cada tipo de dato en la cabecera.
+	private static final String[] nombresTipos = {"char", "uchar", "short", "ushort", "int", "uint", "float", "double"};
+
+	/// Nombre de la propiedad.
+	private final String nombre;
+
+	/// Tipo de dato de la propiedad (o de los elementos de la lista).
+	private final int tipo;
+
+	/// Tipo de dato de la longitud de la lista; -1 si la propiedad no es una lista.
+	private final int tipoLongitud;
+
+
+
+	/**
+	 * @brief	Constructor.
+	 * @param	in	nombre Nombre de la propiedad.
+	 * @param	in	tipo Tipo de dato de la propiedad.
+	 * @note	Constructor para propiedades escalares.
+	 * @see		PropiedadPLY(String, int, int)
+	 */
+
+	PropiedadPLY (String nombre, int tipo){
+		this(nombre, -1, tipo);  // PropiedadPLY(String, int, int)
+	}
+
+
+	/**
+	 * @brief	Constructor.
+	 * @param	in	nombre Nombre de la propiedad.
+	 * @param	in	tipoLongitud Tipo de dato de la longitud de la lista.
+	 * @param	in	tipo Tipo de dato de los elementos de la lista.
+	 * @note	Constructor para propiedades de tipo lista.
+	 * @see		PropiedadPLY(String, int)
+	 */
+
+	PropiedadPLY (String nombre, int tipoLongitud, int tipo){
+		this.nombre = nombre;
+		this.tipoLongitud = tipoLongitud;
+		this.tipo = tipo;
+	}
+
+
+	/**
+	 * @brief	Obtiene el tipo de dato a partir de su nombre en la cabecera.
+	 * @param	in	nombre Nombre del tipo de dato (por ejemplo "float" o "uint8").
+	 * @return	El tipo de dato; -1 si el nombre no corresponde a ningún tipo.
+	 */
+
+	static int tipo (String nombre){
+		switch (nombre){
+			case "char":  case "int8":     return TIPO_CHAR;
+			case "uchar": case "uint8":    return TIPO_UCHAR;
+			case "short": case "int16":    return TIPO_SHORT;
+			case "ushort": case "uint16":  return TIPO_USHORT;
+			case "int":   case "int32":    return TIPO_INT;
+			case "uint":  case "uint32":   return TIPO_UINT;
+			case "float": case "float32":  return TIPO_FLOAT;
+			case "double": case "float64": return TIPO_DOUBLE;
+			default:                       return -1;
+		}
+	}
+
+
+	/**
+	 * @brief	Devuelve el nombre de un tipo de dato para la cabecera.
+	 * @param	in	tipo Tipo de dato.
+	 * @return	El nombre del tipo de dato (por ejemplo "float").
+	 */
+
+	static String nombreTipo (int tipo){
+		return nombresTipos[tipo];
+	}
+
+
+	/**
+	 * @brief	Devuelve el tamaño en bytes de un tipo de dato.
+	 * @param	in	tipo Tipo de dato.
+	 * @return	El tamaño en bytes del tipo de dato.
+	 */
+
+	public static int tamano (int tipo){
+		return tamanos[tipo];
+	}
+
+
+	/**
+	 * @brief	Devuelve el menor valor de un tipo de dato.
+	 * @param	in	tipo Tipo de dato.
+	 * @return	El menor valor que se puede representar con el tipo de dato.
+	 */
+
+	static double minimo (int tipo){
+		return minimos[tipo];
+	}
+
+
+	/**
+	 * @brief	Devuelve el mayor valor de un tipo de dato.
+	 * @param	in	tipo Tipo de dato.
+	 * @return	El mayor valor que se puede representar con el tipo de dato.
+	 */
+
+	static double maximo (int tipo){
+		return maximos[tipo];
+	}
+
+
+	/**
+	 * @brief	Indica si la propiedad es una lista.
+	 * @return	true si la propiedad es una lista; false en caso contrario.
+	 */
+
+	public boolean esLista(){
+		return tipoLongitud >= 0;
+	}
+
+
+	/**
+	 * @brief	Devuelve el nombre de la propiedad.
+	 * @return	El nombre de la propiedad.
+	 */
+
+	public String nombre(){
+		return nombre;
+	}
+
+
+	/**
+	 * @brief	Devuelve el tipo de dato de la propiedad.
+	 * @return	El tipo de dato de la propiedad o de los elementos de la lista.
+	 */
+
+	public int tipo(){
+		return tipo;
+	}
+
+
+	/**
+	 * @brief	Devuelve el tipo de dato de la longitud de la lista.
+	 * @return	El tipo de dato de la longitud de la lista; -1 si la propiedad no es una lista.
+	 */
+
+	public int tipoLongitud(){
+		return tipoLongitud;
+	}
+
+}
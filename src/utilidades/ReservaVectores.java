@@ -0,0 +1,177 @@
+/**
+ * @class	anibal.ingenieroenfurecido.utilidades.ReservaVectores
+ * @brief	Reserva de vectores y vértices temporales de cada hilo.
+ * @author	Aníbal García García
+ * @date	17/10/2026
+ * @see		Vector
+ * @see		Vertice
+ * @note	Junto con los métodos estáticos de Vector y Vertice que reciben el destino, permite que el código que se ejecuta en cada fotograma
+				no cree objetos: los temporales se piden a la reserva del hilo y se devuelven todos a la vez al terminar.
+ * @note	Funciona como una pila: marca() guarda la posición actual, vector() y vertice() dan objetos a partir de ella y liberar(marca)
+				devuelve todos los dados desde la marca. Los objetos se crean la 1ª vez que se piden y después se reutilizan.
+ * @note	Cada hilo tiene su propia reserva (hilo()), por lo que no hace falta sincronizar. Un objeto de la reserva no debe guardarse
+				ni pasarse a otro hilo después de liberarlo, ya que se volverá a dar con otras coordenadas.
+ * @note	Copyright 2014 Aníbal García García <anibal_garcia_garcia@outlook.com>
+ * @note	This program is free software: you can redistribute it and/or modify
+			it under the terms of the GNU General Public License as published by
+			the Free Software Foundation, either version 3 of the License, or
+			(at your option) any later version.
+ * @note	This program is distributed in the hope that it will be useful,
+			but WITHOUT ANY WARRANTY; without even the implied warranty of
+			MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+			GNU General Public License for more details.
+ * @note	You should have received a copy of the GNU General Public License
+			along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package utilidades;
+
+
+import java.util.Arrays;
+
+
+public final class ReservaVectores {
+
+	/// Número de vectores y vértices que se reservan al principio.
+	private static final int tamanoInicial = 16;
+
+	/// Reserva de cada hilo.
+	private static final ThreadLocal <ReservaVectores> reservas = new ThreadLocal <ReservaVectores>(){
+		@Override
+		protected ReservaVectores initialValue(){
+			return new ReservaVectores();
+		}
+	};
+
+	/// Vectores de la reserva.
+	private Vector[] vectores = new Vector[tamanoInicial];
+
+	/// Vértices de la reserva.
+	private Vertice[] vertices = new Vertice[tamanoInicial];
+
+	/// Número de vectores dados.
+	private int numVectores;
+
+	/// Número de vértices dados.
+	private int numVertices;
+
+
+
+	/**
+	 * @brief	Constructor.
+	 * @note	Las reservas se obtienen con hilo().
+	 */
+
+	private ReservaVectores(){
+	}
+
+
+	/**
+	 * @brief	Devuelve la reserva del hilo actual.
+	 * @return	La reserva del hilo que llama al método.
+	 */
+
+	public static ReservaVectores hilo(){
+		return reservas.get();
+	}
+
+
+	/**
+	 * @brief	Marca la posición actual de la reserva.
+	 * @return	La marca, que se pasa a liberar() para devolver los objetos dados después de ella.
+	 */
+
+	public int marca(){
+		return numVectores << 16 | numVertices;
+	}
+
+
+	/**
+	 * @brief	Devuelve a la reserva todos los vectores y vértices dados desde una marca.
+	 * @param	in	marca Marca devuelta por marca().
+	 * @note	Las marcas se liberan en orden inverso al que se obtienen.
+	 */
+
+	public void liberar (int marca){
+		int num_vectores = marca >>> 16;
+		int num_vertices = marca & 0xFFFF;
+
+
+		if (num_vectores > numVectores || num_vertices > numVertices)
+			throw new IllegalStateException("Marca " + marca + " posterior a la posición actual de la reserva.");
+
+		numVectores = num_vectores;
+		numVertices = num_vertices;
+	}
+
+
+	/**
+	 * @brief	Da un vector de la reserva.
+	 * @return	Un vector con las coordenadas a 0, que pertenece a la reserva hasta que se libere.
+	 */
+
+	public Vector vector(){
+		if (numVectores == vectores.length)
+			vectores = Arrays.copyOf(vectores, crecer(vectores.length));
+
+		Vector vector = vectores[numVectores];
+
+		if (vector == null)  // 1ª vez que se da esta posición
+			vector = vectores[numVectores] = new Vector();
+
+		else{
+			vector.x(0);
+			vector.y(0);
+			vector.z(0);
+		}
+
+		numVectores++;
+
+
+		return vector;
+	}
+
+
+	/**
+	 * @brief	Da un vértice de la reserva.
+	 * @return	Un vértice con las coordenadas a 0, que pertenece a la reserva hasta que se libere.
+	 */
+
+	public Vertice vertice(){
+		if (numVertices == vertices.length)
+			vertices = Arrays.copyOf(vertices, crecer(vertices.length));
+
+		Vertice vertice = vertices[numVertices];
+
+		if (vertice == null)  // 1ª vez que se da esta posición
+			vertice = vertices[numVertices] = new Vertice();
+
+		else{
+			vertice.x(0);
+			vertice.y(0);
+			vertice.z(0);
+		}
+
+		numVertices++;
+
+
+		return vertice;
+	}
+
+
+	/**
+	 * @brief	Calcula el nuevo tamaño de un array de la reserva.
+	 * @param	in	tamano Tamaño actual.
+	 * @return	El doble del tamaño actual.
+	 * @note	Las marcas guardan cada posición en 16 bits, por lo que la reserva no puede pasar de 65535 objetos de cada tipo.
+	 */
+
+	private static int crecer (int tamano){
+		if (tamano >= 0xFFFF)
+			throw new IllegalStateException("Reserva llena: no se liberan los objetos dados.");
+
+
+		return Math.min(tamano * 2, 0xFFFF);
+	}
+
+}
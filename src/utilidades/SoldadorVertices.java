@@ -0,0 +1,236 @@
+/**
+ * @class	anibal.ingenieroenfurecido.utilidades.SoldadorVertices
+ * @brief	Une los vértices repetidos de un modelo.
+ * @author	Aníbal García García
+ * @date	17/10/2026
+ * @see		LectorPLY
+ * @note	Trabaja sobre los arrays que devuelve LectorPLY.leer(): une los vértices que están a una distancia menor o igual que epsilon,
+				compacta los vértices que quedan al principio del array de vértices y cambia los índices de las caras en el mismo array.
+ * @note	Los vértices se buscan con una tabla hash de direccionamiento abierto sobre una rejilla de celdas de lado epsilon, guardada en arrays
+				de ints, por lo que no se crea ningún objeto por vértice (Vertice no redefine hashCode()). Cada vértice solo se compara con los
+				ya conservados de su celda y de las 26 vecinas; con epsilon igual a 0 solo se unen los vértices con las mismas coordenadas.
+ * @note	Las celdas se numeran con longs, calculados en doubles, y su hash mezcla los 64 bits, de modo que las coordenadas lejos del
+				origen con un epsilon pequeño no acaban todas en la misma celda. Si aun así la celda no cabe (la coordenada es más de 2^62
+				veces epsilon), los floats vecinos ya están a más de epsilon, y la celda de esa coordenada es su propio valor.
+ * @note	Cada vértice se une al vértice conservado más cercano, y los vértices conservados mantienen el orden en el que aparecen en el modelo.
+				Las caras que quedan degeneradas (con vértices repetidos) no se eliminan.
+ * @note	Copyright 2014 Aníbal García García <anibal_garcia_garcia@outlook.com>
+ * @note	This program is free software: you can redistribute it and/or modify
+			it under the terms of the GNU General Public License as published by
+			the Free Software Foundation, either version 3 of the License, or
+			(at your option) any later version.
+ * @note	This program is distributed in the hope that it will be useful,
+			but WITHOUT ANY WARRANTY; without even the implied warranty of
+			MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+			GNU General Public License for more details.
+ * @note	You should have received a copy of the GNU General Public License
+			along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package utilidades;
+
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+
+public final class SoldadorVertices {
+
+	/// Posición libre de la tabla hash.
+	private static final int LIBRE = -1;
+
+	/// Mayor celda (en valor absoluto) calculada con epsilon; a partir de ella cada valor de la coordenada es una celda.
+	private static final double maximaCelda = 0x1p62;
+
+
+
+	/**
+	 * @brief	Constructor.
+	 * @note	Todos los métodos son estáticos.
+	 */
+
+	private SoldadorVertices(){
+	}
+
+
+	/**
+	 * @brief	Une los vértices repetidos de un modelo leído con LectorPLY.leer().
+	 * @param	in,out	modelo ArrayList devuelto por LectorPLY.leer(), con los vértices (float[]) y los índices de las caras (short[] o int[]).
+	 * @param	in	epsilon Distancia máxima entre dos vértices para unirlos (0 para unir solo los vértices con las mismas coordenadas).
+	 * @return	El número de vértices del modelo después de unirlos.
+	 * @note	El 1º elemento se sustituye por un array con solo los vértices que quedan; los índices se cambian en el mismo array.
+	 */
+
+	public static int soldar (ArrayList <Object> modelo, float epsilon){
+		float[] vertices = (float[]) modelo.get(0);
+		int num_vertices;
+
+
+		if (modelo.get(1) instanceof short[])
+			num_vertices = soldar(vertices, (short[]) modelo.get(1), epsilon);
+
+		else
+			num_vertices = soldar(vertices, (int[]) modelo.get(1), epsilon);
+
+		if (num_vertices * 3 < vertices.length)
+			modelo.set(0, Arrays.copyOf(vertices, num_vertices * 3));
+
+
+		return num_vertices;
+	}
+
+
+	/**
+	 * @brief	Une los vértices repetidos de un modelo.
+	 * @param	in,out	vertices Coordenadas x, y y z de cada vértice; los vértices que quedan se compactan al principio del array.
+	 * @param	in,out	indices Índices de los vértices de las caras, que se cambian a los de los vértices que quedan.
+	 * @param	in	epsilon Distancia máxima entre dos vértices para unirlos (0 para unir solo los vértices con las mismas coordenadas).
+	 * @return	El número de vértices que quedan; sus coordenadas son los primeros 3 * n floats del array (Arrays.copyOf() para recortarlo).
+	 */
+
+	public static int soldar (float[] vertices, int[] indices, float epsilon){
+		int[] nuevo_indice = new int[vertices.length / 3];
+		int num_vertices = agrupar(vertices, epsilon, nuevo_indice);
+
+
+		for (int i = 0; i < indices.length; i++)
+			indices[i] = nuevo_indice[indices[i]];
+
+
+		return num_vertices;
+	}
+
+
+	/**
+	 * @brief	Une los vértices repetidos de un modelo.
+	 * @param	in,out	vertices Coordenadas x, y y z de cada vértice; los vértices que quedan se compactan al principio del array.
+	 * @param	in,out	indices Índices de los vértices de las caras (sin signo, como los de LectorPLY), que se cambian a los de los vértices que quedan.
+	 * @param	in	epsilon Distancia máxima entre dos vértices para unirlos (0 para unir solo los vértices con las mismas coordenadas).
+	 * @return	El número de vértices que quedan; sus coordenadas son los primeros 3 * n floats del array (Arrays.copyOf() para recortarlo).
+	 */
+
+	public static int soldar (float[] vertices, short[] indices, float epsilon){
+		int[] nuevo_indice = new int[vertices.length / 3];
+		int num_vertices = agrupar(vertices, epsilon, nuevo_indice);
+
+
+		for (int i = 0; i < indices.length; i++)
+			indices[i] = (short) nuevo_indice[indices[i] & 0xFFFF];
+
+
+		return num_vertices;
+	}
+
+
+	/**
+	 * @brief	Agrupa los vértices que están a una distancia menor o igual que epsilon.
+	 * @param	in,out	vertices Coordenadas x, y y z de cada vértice; los vértices conservados se compactan al principio del array.
+	 * @param	in	epsilon Distancia máxima entre dos vértices para unirlos.
+	 * @param	out	nuevo_indice Índice de cada vértice original entre los vértices conservados.
+	 * @return	El número de vértices conservados.
+	 * @note	Los vértices conservados se numeran en orden de aparición, por lo que el nuevo índice nunca es mayor que el original
+				y se pueden compactar sobre el mismo array sin pisar vértices que aún no se han visto.
+	 */
+
+	private static int agrupar (float[] vertices, float epsilon, int[] nuevo_indice){
+		int num_vertices = nuevo_indice.length;
+		boolean exacto = !(epsilon > 0);  // Solo coordenadas iguales (también con epsilon NaN)
+		float epsilon2 = exacto ? 0 : epsilon * epsilon;
+		double inverso = exacto ? 0 : 1.0 / epsilon;  // Inverso del lado de las celdas
+		int vecinas = exacto ? 0 : 1;  // Celdas vecinas en cada eje
+		int[] tabla = new int[Integer.highestOneBit(Math.max(num_vertices, 1) * 2 - 1) << 1];  // Potencia de 2 de al menos el doble de vértices
+		int mascara = tabla.length - 1;
+		int conservados = 0;
+
+
+		Arrays.fill(tabla, LIBRE);
+
+		for (int i = 0; i < num_vertices; i++){  // Para cada vértice
+			float x = vertices[i * 3], y = vertices[i * 3 + 1], z = vertices[i * 3 + 2];
+			long cx = celda(x, inverso, exacto), cy = celda(y, inverso, exacto), cz = celda(z, inverso, exacto);
+			int cercano = LIBRE;
+			float distancia_cercano = Float.POSITIVE_INFINITY;
+
+			// Vértice conservado más cercano en la celda y sus vecinas
+			for (int dx = -vecinas; dx <= vecinas; dx++)
+				for (int dy = -vecinas; dy <= vecinas; dy++)
+					for (int dz = -vecinas; dz <= vecinas; dz++)
+						for (int p = hash(cx + dx, cy + dy, cz + dz) & mascara; tabla[p] != LIBRE; p = (p + 1) & mascara){  // Sondeo lineal
+							int j = tabla[p];
+							float ex = vertices[j * 3] - x, ey = vertices[j * 3 + 1] - y, ez = vertices[j * 3 + 2] - z;
+							float distancia = ex * ex + ey * ey + ez * ez;
+
+							if (distancia <= epsilon2  &&  distancia < distancia_cercano){
+								cercano = j;
+								distancia_cercano = distancia;
+							}
+						}
+
+			if (cercano != LIBRE){  // Se une al vértice cercano
+				nuevo_indice[i] = cercano;
+
+				continue;
+			}
+
+			// Se conserva: lo compacto y lo añado a su celda
+			vertices[conservados * 3] = x;
+			vertices[conservados * 3 + 1] = y;
+			vertices[conservados * 3 + 2] = z;
+
+			int p = hash(cx, cy, cz) & mascara;
+
+			while (tabla[p] != LIBRE)
+				p = (p + 1) & mascara;
+
+			tabla[p] = conservados;
+			nuevo_indice[i] = conservados++;
+		}
+
+
+		return conservados;
+	}
+
+
+	/**
+	 * @brief	Devuelve la celda de la rejilla de una coordenada.
+	 * @param	in	coordenada Coordenada del vértice.
+	 * @param	in	inverso Inverso del lado de las celdas.
+	 * @param	in	exacto true si cada valor de la coordenada es una celda (epsilon igual a 0).
+	 * @return	La celda en el eje de la coordenada.
+	 * @note	Las celdas de más de maximaCelda (y las de las coordenadas NaN) se sustituyen por los bits de la coordenada: los floats vecinos
+				están a más de epsilon, así que no hace falta compararlos, y las colisiones con otras celdas solo cuestan comparaciones.
+	 */
+
+	private static long celda (float coordenada, double inverso, boolean exacto){
+		double celda = Math.floor(coordenada * inverso);
+
+
+		if (exacto  ||  !(Math.abs(celda) < maximaCelda))
+			return Float.floatToIntBits(coordenada + 0.0f);  // + 0.0f convierte -0.0 en 0.0
+
+
+		return (long) celda;
+	}
+
+
+	/**
+	 * @brief	Calcula el hash de una celda de la rejilla.
+	 * @param	in	cx Celda en el eje x.
+	 * @param	in	cy Celda en el eje y.
+	 * @param	in	cz Celda en el eje z.
+	 * @return	El hash de la celda, con los bits mezclados para repartir bien las celdas consecutivas.
+	 */
+
+	private static int hash (long cx, long cy, long cz){
+		long h = cx * 0x9E3779B97F4A7C15L ^ cy * 0xC2B2AE3D27D4EB4FL ^ cz * 0x165667B19E3779F9L;
+
+
+		h ^= h >>> 32;
+		h *= 0xD6E8FEB86659FD93L;
+		h ^= h >>> 32;
+
+
+		return (int) h;
+	}
+
+}
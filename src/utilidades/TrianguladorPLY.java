@@ -0,0 +1,309 @@
+/**
+ * @class	anibal.ingenieroenfurecido.utilidades.TrianguladorPLY
+ * @brief	Divide en triángulos las caras de un modelo a medida que se leen.
+ * @author	Aníbal García García
+ * @date	17/10/2026
+ * @see		LectorPLY
+ * @see		OpcionesPLY
+ * @note	Cada cara se guarda con vaciar() y anadir() y se escribe con triangular() directamente en los índices del modelo,
+				sin un buffer intermedio con los polígonos.
+ * @note	En abanico, la cara de n vértices da los triángulos (0, j, j + 1) para j de 1 a n - 2, que solo son correctos si es convexa.
+				Con el recorte de orejas la cara se proyecta sobre el plano en el que más se extiende y se cortan sus vértices convexos
+				que no tienen ningún otro vértice dentro, por lo que también admite caras cóncavas. Ambos conservan el sentido de giro de la cara.
+ * @note	No es seguro entre hilos; en la lectura en paralelo cada hilo utiliza el suyo.
+ * @note	Copyright 2014 Aníbal García García <anibal_garcia_garcia@outlook.com>
+ * @note	This program is free software: you can redistribute it and/or modify
+			it under the terms of the GNU General Public License as published by
+			the Free Software Foundation, either version 3 of the License, or
+			(at your option) any later version.
+ * @note	This program is distributed in the hope that it will be useful,
+			but WITHOUT ANY WARRANTY; without even the implied warranty of
+			MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+			GNU General Public License for more details.
+ * @note	You should have received a copy of the GNU General Public License
+			along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package utilidades;
+
+
+final class TrianguladorPLY {
+
+	/// Triangulación (OpcionesPLY.TRIANGULACION_*).
+	private final int triangulacion;
+
+	/// Vértices ya leídos, para el recorte de orejas; null si no se conocen (se triangula en abanico).
+	private final VerticesPLY vertices;
+
+	/// Índices de los vértices de la cara en curso.
+	private int[] cara = new int[8];
+
+	/// Número de vértices de la cara en curso.
+	private int numVerticesCara;
+
+	/// Proyección de los vértices de la cara sobre un plano, para el recorte de orejas.
+	private float[] proyeccionU = new float[8], proyeccionV = new float[8];
+
+	/// Lista circular de los vértices de la cara que quedan por recortar.
+	private int[] anterior = new int[8], siguiente = new int[8];
+
+
+
+	/**
+	 * @brief	Constructor.
+	 * @param	in	triangulacion OpcionesPLY.TRIANGULACION_NINGUNA, TRIANGULACION_ABANICO o TRIANGULACION_OREJAS.
+	 * @param	in	vertices Vértices ya leídos; null si aún no se han leído.
+	 */
+
+	TrianguladorPLY (int triangulacion, VerticesPLY vertices){
+		this.triangulacion = triangulacion;
+		this.vertices = vertices;
+	}
+
+
+	/**
+	 * @brief	Devuelve la triangulación.
+	 * @return	OpcionesPLY.TRIANGULACION_NINGUNA, TRIANGULACION_ABANICO o TRIANGULACION_OREJAS.
+	 */
+
+	int triangulacion(){
+		return triangulacion;
+	}
+
+
+	/**
+	 * @brief	Devuelve el número de índices que da una cara.
+	 * @param	in	triangulacion OpcionesPLY.TRIANGULACION_NINGUNA, TRIANGULACION_ABANICO o TRIANGULACION_OREJAS.
+	 * @param	in	num_vertices_cara Número de vértices de la cara.
+	 * @return	El número de índices: los vértices de la cara sin triangular, o 3 por triángulo (0 si la cara tiene menos de 3 vértices).
+	 */
+
+	static int numIndices (int triangulacion, int num_vertices_cara){
+		if (triangulacion == OpcionesPLY.TRIANGULACION_NINGUNA)
+			return num_vertices_cara;
+
+
+		return (num_vertices_cara < 3) ? 0 : (num_vertices_cara - 2) * 3;
+	}
+
+
+	/**
+	 * @brief	Empieza una cara nueva.
+	 * @param	in	num_vertices_cara Número de vértices de la cara.
+	 */
+
+	void vaciar (int num_vertices_cara){
+		if (num_vertices_cara > cara.length){  // Si no cabe, se reserva espacio de sobra
+			int tamano = Math.max(num_vertices_cara, cara.length * 2);
+
+			cara = new int[tamano];
+			proyeccionU = new float[tamano];
+			proyeccionV = new float[tamano];
+			anterior = new int[tamano];
+			siguiente = new int[tamano];
+		}
+
+		numVerticesCara = 0;
+	}
+
+
+	/**
+	 * @brief	Añade un vértice a la cara en curso.
+	 * @param	in	indice Índice del vértice.
+	 */
+
+	void anadir (int indice){
+		cara[numVerticesCara++] = indice;
+	}
+
+
+	/**
+	 * @brief	Escribe los índices de la cara en curso.
+	 * @param	out	indices Índices del modelo.
+	 * @param	in	posicion Posición del 1º índice de la cara.
+	 * @return	El número de índices escritos, igual a numIndices().
+	 */
+
+	int triangular (IndicesPLY indices, int posicion){
+		int n = numVerticesCara;
+
+
+		if (triangulacion == OpcionesPLY.TRIANGULACION_NINGUNA){  // La cara tal cual
+			for (int j = 0; j < n; j++)
+				indices.poner(posicion + j, cara[j]);
+
+
+			return n;
+		}
+
+		if (n < 3)  // Cara degenerada, sin triángulos
+			return 0;
+
+		if (n == 3  ||  triangulacion == OpcionesPLY.TRIANGULACION_ABANICO  ||  vertices == null  ||  !proyectar())
+			abanico(indices, posicion);
+
+		else
+			orejas(indices, posicion);
+
+
+		return (n - 2) * 3;
+	}
+
+
+	/**
+	 * @brief	Triangula la cara en curso en abanico desde su 1º vértice.
+	 * @param	out	indices Índices del modelo.
+	 * @param	in	posicion Posición del 1º índice de la cara.
+	 */
+
+	private void abanico (IndicesPLY indices, int posicion){
+		for (int j = 1; j < numVerticesCara - 1; j++, posicion += 3){
+			indices.poner(posicion, cara[0]);
+			indices.poner(posicion + 1, cara[j]);
+			indices.poner(posicion + 2, cara[j + 1]);
+		}
+	}
+
+
+	/**
+	 * @brief	Proyecta la cara en curso sobre el plano de los ejes en el que más se extiende.
+	 * @return	true si la cara tiene área; false si es degenerada (todos sus vértices en una recta).
+	 * @note	La normal se calcula con el método de Newell, que también vale para caras cóncavas o no del todo planas.
+				La proyección se orienta para que la cara gire en sentido antihorario.
+	 */
+
+	private boolean proyectar(){
+		float nx = 0, ny = 0, nz = 0;
+		int eje_u, eje_v;
+
+
+		// Normal de la cara
+		for (int j = 0, k = numVerticesCara - 1; j < numVerticesCara; k = j++){
+			float xj = vertices.coordenada(cara[j], 0), yj = vertices.coordenada(cara[j], 1), zj = vertices.coordenada(cara[j], 2);
+			float xk = vertices.coordenada(cara[k], 0), yk = vertices.coordenada(cara[k], 1), zk = vertices.coordenada(cara[k], 2);
+
+			nx += (yk - yj) * (zk + zj);
+			ny += (zk - zj) * (xk + xj);
+			nz += (xk - xj) * (yk + yj);
+		}
+
+		// Plano de proyección, perpendicular a la mayor componente de la normal
+		float ax = Math.abs(nx), ay = Math.abs(ny), az = Math.abs(nz);
+
+		if (ax >= ay  &&  ax >= az){
+			eje_u = (nx > 0) ? 1 : 2;
+			eje_v = (nx > 0) ? 2 : 1;
+		}
+
+		else if (ay >= az){
+			eje_u = (ny > 0) ? 2 : 0;
+			eje_v = (ny > 0) ? 0 : 2;
+		}
+
+		else{
+			eje_u = (nz > 0) ? 0 : 1;
+			eje_v = (nz > 0) ? 1 : 0;
+		}
+
+		if (Math.max(ax, Math.max(ay, az)) == 0)  // Cara sin área
+			return false;
+
+		for (int j = 0; j < numVerticesCara; j++){
+			proyeccionU[j] = vertices.coordenada(cara[j], eje_u);
+			proyeccionV[j] = vertices.coordenada(cara[j], eje_v);
+		}
+
+
+		return true;
+	}
+
+
+	/**
+	 * @brief	Triangula la cara en curso recortando sus orejas.
+	 * @param	out	indices Índices del modelo.
+	 * @param	in	posicion Posición del 1º índice de la cara.
+	 * @note	Si no se encuentra ninguna oreja (cara que se corta a sí misma o con vértices repetidos), el resto se triangula en abanico.
+	 */
+
+	private void orejas (IndicesPLY indices, int posicion){
+		int restantes = numVerticesCara;
+		int actual = 0;
+		int intentos = 0;  // Vértices probados desde la última oreja
+
+
+		for (int j = 0; j < numVerticesCara; j++){
+			anterior[j] = (j == 0) ? numVerticesCara - 1 : j - 1;
+			siguiente[j] = (j == numVerticesCara - 1) ? 0 : j + 1;
+		}
+
+		while (restantes > 3){
+			int a = anterior[actual], c = siguiente[actual];
+
+			if (esOreja(a, actual, c)){  // Recorto el vértice
+				indices.poner(posicion, cara[a]);
+				indices.poner(posicion + 1, cara[actual]);
+				indices.poner(posicion + 2, cara[c]);
+				posicion += 3;
+
+				siguiente[a] = c;
+				anterior[c] = a;
+				restantes--;
+				intentos = 0;
+				actual = a;  // El vértice anterior puede haberse convertido en oreja
+			}
+
+			else if (++intentos > restantes){  // No queda ninguna oreja
+				for (int b = siguiente[actual]; siguiente[b] != actual; b = siguiente[b], posicion += 3){
+					indices.poner(posicion, cara[actual]);
+					indices.poner(posicion + 1, cara[b]);
+					indices.poner(posicion + 2, cara[siguiente[b]]);
+				}
+
+				return;
+			}
+
+			else
+				actual = c;
+		}
+
+		// Último triángulo
+		indices.poner(posicion, cara[anterior[actual]]);
+		indices.poner(posicion + 1, cara[actual]);
+		indices.poner(posicion + 2, cara[siguiente[actual]]);
+	}
+
+
+	/**
+	 * @brief	Indica si el triángulo de tres vértices consecutivos de la cara es una oreja.
+	 * @param	in	a Vértice anterior.
+	 * @param	in	b Vértice que se recortaría.
+	 * @param	in	c Vértice siguiente.
+	 * @return	true si b es convexo y ningún otro vértice que queda está dentro del triángulo; false en caso contrario.
+	 */
+
+	private boolean esOreja (int a, int b, int c){
+		if (giro(a, b, c) <= 0)  // Vértice cóncavo o alineado
+			return false;
+
+		for (int p = siguiente[c]; p != a; p = siguiente[p])  // Para cada vértice que queda fuera del triángulo
+			if (giro(a, b, p) >= 0  &&  giro(b, c, p) >= 0  &&  giro(c, a, p) >= 0)  // Si está dentro o en el borde
+				return false;
+
+
+		return true;
+	}
+
+
+	/**
+	 * @brief	Calcula el sentido de giro de tres vértices proyectados de la cara.
+	 * @param	in	a 1º vértice.
+	 * @param	in	b 2º vértice.
+	 * @param	in	c 3º vértice.
+	 * @return	Positivo si giran en sentido antihorario, negativo si giran en sentido horario y 0 si están alineados.
+	 */
+
+	private float giro (int a, int b, int c){
+		return (proyeccionU[b] - proyeccionU[a]) * (proyeccionV[c] - proyeccionV[a]) - (proyeccionV[b] - proyeccionV[a]) * (proyeccionU[c] - proyeccionU[a]);
+	}
+
+}
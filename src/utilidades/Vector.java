@@ -25,7 +25,6 @@ import java.util.logging.Logger;
 
 import static java.lang.Math.PI;
 import static java.lang.Math.cos;
-import static java.lang.Math.pow;
 import static java.lang.Math.sin;
 import static java.lang.Math.sqrt;
 
@@ -264,6 +263,83 @@ public final class Vector implements Cloneable {
 	}
 
 
+	/**
+	 * @brief	Suma 2 vectores sin crear objetos.
+	 * @param	in	vector1 1º vector a sumar.
+	 * @param	in	vector2 2º vector a sumar.
+	 * @param	out	destino Vector donde se guarda el resultado (puede ser uno de los operandos).
+	 * @return	El vector destino; null en caso de que algún parámetro sea nulo, sin cambiar el destino.
+	 * @see		sumar(Vector, Vector)
+	 */
+
+	static public Vector sumar (Vector vector1, Vector vector2, Vector destino){
+		if (vector1 == null || vector2 == null || destino == null)  // Si algún parámetro es nulo
+			return null;
+
+		destino.x = vector1.x + vector2.x;  // x
+		destino.y = vector1.y + vector2.y;  // y
+		destino.z = vector1.z + vector2.z;  // z
+
+		return destino;
+	}
+
+
+	/**
+	 * @brief	Suma 2 vértices sin crear objetos.
+	 * @param	in	vertice1 1º vértice a sumar.
+	 * @param	in	vertice2 2º vértice a sumar.
+	 * @param	out	destino Vector donde se guarda el resultado (puede ser uno de los operandos).
+	 * @return	El vector destino; null en caso de que algún parámetro sea nulo, sin cambiar el destino.
+	 * @see		sumar(Vertice, Vertice)
+	 */
+
+	static public Vector sumar (Vertice vertice1, Vertice vertice2, Vector destino){
+		if (vertice1 == null || vertice2 == null || destino == null)  // Si algún parámetro es nulo
+			return null;
+
+		destino.x = vertice1.x() + vertice2.x();  // x
+		destino.y = vertice1.y() + vertice2.y();  // y
+		destino.z = vertice1.z() + vertice2.z();  // z
+
+		return destino;
+	}
+
+
+	/**
+	 * @brief	Suma 1 vector y 1 vértice sin crear objetos.
+	 * @param	in	vector Vector a sumar.
+	 * @param	in	vertice Vértice a sumar.
+	 * @param	out	destino Vector donde se guarda el resultado (puede ser uno de los operandos).
+	 * @return	El vector destino; null en caso de que algún parámetro sea nulo, sin cambiar el destino.
+	 * @see		sumar(Vector, Vertice)
+	 */
+
+	static public Vector sumar (Vector vector, Vertice vertice, Vector destino){
+		if (vector == null || vertice == null || destino == null)  // Si algún parámetro es nulo
+			return null;
+
+		destino.x = vector.x + vertice.x();  // x
+		destino.y = vector.y + vertice.y();  // y
+		destino.z = vector.z + vertice.z();  // z
+
+		return destino;
+	}
+
+
+	/**
+	 * @brief	Suma 1 vértice y 1 vector sin crear objetos.
+	 * @param	in	vertice Vértice a sumar.
+	 * @param	in	vector Vector a sumar.
+	 * @param	out	destino Vector donde se guarda el resultado (puede ser uno de los operandos).
+	 * @return	El vector destino; null en caso de que algún parámetro sea nulo, sin cambiar el destino.
+	 * @see		sumar(Vertice, Vector)
+	 */
+
+	static public Vector sumar (Vertice vertice, Vector vector, Vector destino){
+		return sumar(vector, vertice, destino);  // sumar(Vector, Vertice, Vector)
+	}
+
+
 	/**
 	 * @brief	Resta al vector otro vector.
 	 * @param	in	vector Vector a restar.
@@ -384,6 +460,90 @@ public final class Vector implements Cloneable {
 	}
 
 
+	/**
+	 * @brief	Resta 2 vectores sin crear objetos.
+	 * @param	in	vector1 1º vector a restar.
+	 * @param	in	vector2 2º vector a restar.
+	 * @param	out	destino Vector donde se guarda el resultado (puede ser uno de los operandos).
+	 * @return	El vector destino; null en caso de que algún parámetro sea nulo, sin cambiar el destino.
+	 * @see		restar(Vector, Vector)
+	 */
+
+	static public Vector restar (Vector vector1, Vector vector2, Vector destino){
+		if (vector1 == null || vector2 == null || destino == null)  // Si algún parámetro es nulo
+			return null;
+
+		destino.x = vector1.x - vector2.x;  // x
+		destino.y = vector1.y - vector2.y;  // y
+		destino.z = vector1.z - vector2.z;  // z
+
+		return destino;
+	}
+
+
+	/**
+	 * @brief	Resta 2 vértices sin crear objetos.
+	 * @param	in	vertice1 1º vértice a restar.
+	 * @param	in	vertice2 2º vértice a restar.
+	 * @param	out	destino Vector donde se guarda el resultado (puede ser uno de los operandos).
+	 * @return	El vector destino; null en caso de que algún parámetro sea nulo, sin cambiar el destino.
+	 * @see		restar(Vertice, Vertice)
+	 */
+
+	static public Vector restar (Vertice vertice1, Vertice vertice2, Vector destino){
+		if (vertice1 == null || vertice2 == null || destino == null)  // Si algún parámetro es nulo
+			return null;
+
+		destino.x = vertice1.x() - vertice2.x();  // x
+		destino.y = vertice1.y() - vertice2.y();  // y
+		destino.z = vertice1.z() - vertice2.z();  // z
+
+		return destino;
+	}
+
+
+	/**
+	 * @brief	Resta 1 vector y 1 vértice sin crear objetos.
+	 * @param	in	vector Vector a restar.
+	 * @param	in	vertice Vértice a restar.
+	 * @param	out	destino Vector donde se guarda el resultado (puede ser uno de los operandos).
+	 * @return	El vector destino; null en caso de que algún parámetro sea nulo, sin cambiar el destino.
+	 * @see		restar(Vector, Vertice)
+	 */
+
+	static public Vector restar (Vector vector, Vertice vertice, Vector destino){
+		if (vector == null || vertice == null || destino == null)  // Si algún parámetro es nulo
+			return null;
+
+		destino.x = vector.x - vertice.x();  // x
+		destino.y = vector.y - vertice.y();  // y
+		destino.z = vector.z - vertice.z();  // z
+
+		return destino;
+	}
+
+
+	/**
+	 * @brief	Resta 1 vértice y 1 vector sin crear objetos.
+	 * @param	in	vertice Vértice a restar.
+	 * @param	in	vector Vector a restar.
+	 * @param	out	destino Vector donde se guarda el resultado (puede ser uno de los operandos).
+	 * @return	El vector destino; null en caso de que algún parámetro sea nulo, sin cambiar el destino.
+	 * @see		restar(Vertice, Vector)
+	 */
+
+	static public Vector restar (Vertice vertice, Vector vector, Vector destino){
+		if (vertice == null || vector == null || destino == null)  // Si algún parámetro es nulo
+			return null;
+
+		destino.x = vertice.x() - vector.x;  // x
+		destino.y = vertice.y() - vector.y;  // y
+		destino.z = vertice.z() - vector.z;  // z
+
+		return destino;
+	}
+
+
 	/**
 	 * @brief	Multiplica el vector por un número.
 	 * @param	in	numero Número por el cual multiplicar.
@@ -476,16 +636,109 @@ public final class Vector implements Cloneable {
 	}
 
 
+	/**
+	 * @brief	Multiplica un vector por un número sin crear objetos.
+	 * @param	in	vector Vector a multiplicar.
+	 * @param	in	numero Número por el cual multiplicar.
+	 * @param	out	destino Vector donde se guarda el resultado (puede ser uno de los operandos).
+	 * @return	El vector destino; null en caso de que algún parámetro sea nulo, sin cambiar el destino.
+	 * @see		multiplicar(Vector, double)
+	 */
+
+	static public Vector multiplicar (Vector vector, double numero, Vector destino){
+		if (vector == null || destino == null)  // Si algún parámetro es nulo
+			return null;
+
+		destino.x = (float) (vector.x * numero);  // x
+		destino.y = (float) (vector.y * numero);  // y
+		destino.z = (float) (vector.z * numero);  // z
+
+		return destino;
+	}
+
+
+	/**
+	 * @brief	Multiplica un vértice por un número sin crear objetos.
+	 * @param	in	vertice Vértice a multiplicar.
+	 * @param	in	numero Número por el cual multiplicar.
+	 * @param	out	destino Vector donde se guarda el resultado (puede ser uno de los operandos).
+	 * @return	El vector destino; null en caso de que algún parámetro sea nulo, sin cambiar el destino.
+	 * @see		multiplicar(Vertice, double)
+	 */
+
+	static public Vector multiplicar (Vertice vertice, double numero, Vector destino){
+		if (vertice == null || destino == null)  // Si algún parámetro es nulo
+			return null;
+
+		destino.x = (float) (vertice.x() * numero);  // x
+		destino.y = (float) (vertice.y() * numero);  // y
+		destino.z = (float) (vertice.z() * numero);  // z
+
+		return destino;
+	}
+
+
 	/**
 	 * @brief	Normaliza el vector.
+	 * @note	Calcula el inverso del módulo una vez y multiplica las coordenadas por él. Si el cuadrado del módulo no es un float normal
+				(coordenadas menores que 1e-19 o mayores que 1e19), el inverso se calcula en double para que no se desborde. Si el módulo
+				es 0 las coordenadas quedan NaN; para esos vectores, utilizar normalizarSeguro().
+	 * @see		normalizarSeguro()
 	 */
 
 	public void normalizar(){
-		float modulo = modulo();
+		float modulo_cuadrado = moduloCuadrado();
 
-		x /= modulo;  // x
-		y /= modulo;  // y
-		z /= modulo;  // z
+		if (modulo_cuadrado >= Float.MIN_NORMAL && modulo_cuadrado < Float.POSITIVE_INFINITY){  // Caso normal, en float
+			float inverso = 1 / (float) sqrt(modulo_cuadrado);
+
+			x *= inverso;  // x
+			y *= inverso;  // y
+			z *= inverso;  // z
+
+			return;
+		}
+
+		// El cuadrado del módulo es subnormal, 0 o se ha desbordado en float: calculo el inverso en double
+		double inverso = 1 / sqrt((double) x * x + (double) y * y + (double) z * z);
+
+		x = (float) (x * inverso);  // x
+		y = (float) (y * inverso);  // y
+		z = (float) (z * inverso);  // z
+	}
+
+
+	/**
+	 * @brief	Normaliza el vector si su módulo no es 0.
+	 * @return	true si se ha normalizado; false si el módulo es 0 (o alguna coordenada es infinita o NaN), en cuyo caso el vector no cambia.
+	 * @note	Si el cuadrado del módulo no es un float normal (coordenadas menores que 1e-19 o mayores que 1e19), se calcula en double.
+	 * @see		normalizar()
+	 */
+
+	public boolean normalizarSeguro(){
+		float modulo_cuadrado = moduloCuadrado();
+
+		if (modulo_cuadrado >= Float.MIN_NORMAL && modulo_cuadrado < Float.POSITIVE_INFINITY){  // Caso normal, en float
+			float inverso = 1 / (float) sqrt(modulo_cuadrado);
+
+			x *= inverso;  // x
+			y *= inverso;  // y
+			z *= inverso;  // z
+
+			return true;
+		}
+
+		// El cuadrado del módulo es subnormal, 0 o se ha desbordado en float (o alguna coordenada es NaN o infinita): lo calculo en double
+		double modulo = sqrt((double) x * x + (double) y * y + (double) z * z);
+
+		if (!(modulo > 0 && modulo < Double.POSITIVE_INFINITY))  // Si el vector es nulo, infinito o NaN
+			return false;
+
+		x = (float) (x / modulo);  // x
+		y = (float) (y / modulo);  // y
+		z = (float) (z / modulo);  // z
+
+		return true;
 	}
 
 
@@ -493,10 +746,24 @@ public final class Vector implements Cloneable {
 	 * @brief	Calcula el módulo del vector.
 	 * @return	El módulo del vector.
 	 * @note	Utiliza la fórmula de la distancia euclídea siendo uno de los puntos 0.
+	 * @note	Los cuadrados se suman en double, así que no se desbordan ni se anulan aunque las coordenadas pasen de 1e19 o no lleguen a 1e-19.
+	 * @see		moduloCuadrado()
 	 */
 
 	public float modulo(){
-		return (float) sqrt(pow(x, 2) + pow(y, 2) + pow(z, 2));  // Raiz cuadrada de x^2 + y^2 + z^2
+		return (float) sqrt((double) x * x + (double) y * y + (double) z * z);  // Raiz cuadrada de x^2 + y^2 + z^2
+	}
+
+
+	/**
+	 * @brief	Calcula el cuadrado del módulo del vector.
+	 * @return	x^2 + y^2 + z^2.
+	 * @note	No calcula la raíz cuadrada: para comparar longitudes o distancias basta con comparar sus cuadrados.
+	 * @see		modulo()
+	 */
+
+	public float moduloCuadrado(){
+		return x * x + y * y + z * z;
 	}
 
 
@@ -539,18 +806,47 @@ public final class Vector implements Cloneable {
 	}
 
 
+	/**
+	 * @brief	Calcula el producto vectorial de 2 vectores sin crear objetos.
+	 * @param	in	vector1 1º vector para calcular el producto vectorial.
+	 * @param	in	vector2 2º vector para calcular el producto vectorial.
+	 * @param	out	destino Vector donde se guarda el resultado (puede ser uno de los operandos).
+	 * @return	El vector destino; null en caso de que algún parámetro sea nulo, sin cambiar el destino.
+	 * @see		productoVectorial(Vector, Vector)
+	 */
+
+	static public Vector productoVectorial (Vector vector1, Vector vector2, Vector destino){
+		if (vector1 == null || vector2 == null || destino == null)  // Si algún parámetro es nulo
+			return null;
+
+		float nueva_x = vector1.y * vector2.z - vector1.z * vector2.y;  // x
+		float nueva_y = vector1.z * vector2.x - vector1.x * vector2.z;  // y
+		float nueva_z = vector1.x * vector2.y - vector1.y * vector2.x;  // z
+
+		// Actualizo las coordenadas después de calcularlas, por si el destino es uno de los operandos
+		destino.x = nueva_x;
+		destino.y = nueva_y;
+		destino.z = nueva_z;
+
+		return destino;
+	}
+
+
 	/**
 	 * @brief	Rota el vector en el eje X.
 	 * @param	in	angulo Ángulo a rotar en grados sexagesimales.
+	 * @see		Matriz3.rotacionEjeX(double)
 	 */
 
 	public void rotarEjeX (double angulo){
 		angulo = angulo * (PI / 180);  // Paso el ángulo a radianes
+		double seno = sin(angulo);      // Calculo el seno y el coseno una sola vez
+		double coseno = cos(angulo);
 
 		// [x, y * cos(angulo) - z * sin(angulo), y * sin(angulo) + z * cos(angulo)]
 		float nueva_x = x;
-		float nueva_y = (float) (y * cos(angulo) - z * sin(angulo));
-		float nueva_z = (float) (y * sin(angulo) + z * cos(angulo));
+		float nueva_y = (float) (y * coseno - z * seno);
+		float nueva_z = (float) (y * seno + z * coseno);
 
 		// Actualizo las coordenadas
 		x = nueva_x;
@@ -562,15 +858,18 @@ public final class Vector implements Cloneable {
 	/**
 	 * @brief	Rota el vector en el eje Y.
 	 * @param	in	angulo Ángulo a rotar en grados sexagesimales.
+	 * @see		Matriz3.rotacionEjeY(double)
 	 */
 
 	public void rotarEjeY (double angulo){
 		angulo = angulo * (PI / 180);  // Paso el ángulo a radianes
+		double seno = sin(angulo);      // Calculo el seno y el coseno una sola vez
+		double coseno = cos(angulo);
 
 		// [x * cos(angulo) + z * sin(angulo), y, -x * sin(angulo) + z * cos(angulo)]
-		float nueva_x = (float) (x * cos(angulo) + z * sin(angulo));
+		float nueva_x = (float) (x * coseno + z * seno);
 		float nueva_y = y;
-		float nueva_z = (float) (- x * sin(angulo) + z * cos(angulo));
+		float nueva_z = (float) (- x * seno + z * coseno);
 
 		// Actualizo las coordenadas
 		x = nueva_x;
@@ -582,14 +881,17 @@ public final class Vector implements Cloneable {
 	/**
 	 * @brief	Rota el vector en el eje Z.
 	 * @param	in	angulo Ángulo a rotar en grados sexagesimales.
+	 * @see		Matriz3.rotacionEjeZ(double)
 	 */
 
 	public void rotarEjeZ (double angulo){
 		angulo = angulo * (PI / 180);  // Paso el ángulo a radianes
+		double seno = sin(angulo);      // Calculo el seno y el coseno una sola vez
+		double coseno = cos(angulo);
 
 		// [x * cos(angulo) - y * sin(angulo), x * sin(angulo) + y * cos(angulo), z]
-		float nueva_x = (float) (x * cos(angulo) - y * sin(angulo));
-		float nueva_y = (float) (x * sin(angulo) + y * cos(angulo));
+		float nueva_x = (float) (x * coseno - y * seno);
+		float nueva_y = (float) (x * seno + y * coseno);
 		float nueva_z = z;
 
 		// Actualizo las coordenadas
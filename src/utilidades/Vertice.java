@@ -258,6 +258,83 @@ public final class Vertice implements Cloneable {
 	}
 
 
+	/**
+	 * @brief	Suma 2 vértices sin crear objetos.
+	 * @param	in	vertice1 1º vértice a sumar.
+	 * @param	in	vertice2 2º vértice a sumar.
+	 * @param	out	destino Vértice donde se guarda el resultado (puede ser uno de los operandos).
+	 * @return	El vértice destino; null en caso de que algún parámetro sea nulo, sin cambiar el destino.
+	 * @see		sumar(Vertice, Vertice)
+	 */
+
+	static public Vertice sumar (Vertice vertice1, Vertice vertice2, Vertice destino){
+		if (vertice1 == null || vertice2 == null || destino == null)  // Si algún parámetro es nulo
+			return null;
+
+		destino.x = vertice1.x + vertice2.x;  // x
+		destino.y = vertice1.y + vertice2.y;  // y
+		destino.z = vertice1.z + vertice2.z;  // z
+
+		return destino;
+	}
+
+
+	/**
+	 * @brief	Suma 2 vectores sin crear objetos.
+	 * @param	in	vector1 1º vector a sumar.
+	 * @param	in	vector2 2º vector a sumar.
+	 * @param	out	destino Vértice donde se guarda el resultado (puede ser uno de los operandos).
+	 * @return	El vértice destino; null en caso de que algún parámetro sea nulo, sin cambiar el destino.
+	 * @see		sumar(Vector, Vector)
+	 */
+
+	static public Vertice sumar (Vector vector1, Vector vector2, Vertice destino){
+		if (vector1 == null || vector2 == null || destino == null)  // Si algún parámetro es nulo
+			return null;
+
+		destino.x = vector1.x() + vector2.x();  // x
+		destino.y = vector1.y() + vector2.y();  // y
+		destino.z = vector1.z() + vector2.z();  // z
+
+		return destino;
+	}
+
+
+	/**
+	 * @brief	Suma 1 vértice y 1 vector sin crear objetos.
+	 * @param	in	vertice Vértice a sumar.
+	 * @param	in	vector Vector a sumar.
+	 * @param	out	destino Vértice donde se guarda el resultado (puede ser uno de los operandos).
+	 * @return	El vértice destino; null en caso de que algún parámetro sea nulo, sin cambiar el destino.
+	 * @see		sumar(Vertice, Vector)
+	 */
+
+	static public Vertice sumar (Vertice vertice, Vector vector, Vertice destino){
+		if (vertice == null || vector == null || destino == null)  // Si algún parámetro es nulo
+			return null;
+
+		destino.x = vertice.x + vector.x();  // x
+		destino.y = vertice.y + vector.y();  // y
+		destino.z = vertice.z + vector.z();  // z
+
+		return destino;
+	}
+
+
+	/**
+	 * @brief	Suma 1 vector y 1 vértice sin crear objetos.
+	 * @param	in	vector Vector a sumar.
+	 * @param	in	vertice Vértice a sumar.
+	 * @param	out	destino Vértice donde se guarda el resultado (puede ser uno de los operandos).
+	 * @return	El vértice destino; null en caso de que algún parámetro sea nulo, sin cambiar el destino.
+	 * @see		sumar(Vector, Vertice)
+	 */
+
+	static public Vertice sumar (Vector vector, Vertice vertice, Vertice destino){
+		return sumar(vertice, vector, destino);  // sumar(Vertice, Vector, Vertice)
+	}
+
+
 	/**
 	 * @brief	Resta al vértice otro vértice.
 	 * @param	in	vertice Vértice a restar.
@@ -379,6 +456,90 @@ public final class Vertice implements Cloneable {
 	}
 
 
+	/**
+	 * @brief	Resta 2 vértices sin crear objetos.
+	 * @param	in	vertice1 1º vértice a restar.
+	 * @param	in	vertice2 2º vértice a restar.
+	 * @param	out	destino Vértice donde se guarda el resultado (puede ser uno de los operandos).
+	 * @return	El vértice destino; null en caso de que algún parámetro sea nulo, sin cambiar el destino.
+	 * @see		restar(Vertice, Vertice)
+	 */
+
+	static public Vertice restar (Vertice vertice1, Vertice vertice2, Vertice destino){
+		if (vertice1 == null || vertice2 == null || destino == null)  // Si algún parámetro es nulo
+			return null;
+
+		destino.x = vertice1.x - vertice2.x;  // x
+		destino.y = vertice1.y - vertice2.y;  // y
+		destino.z = vertice1.z - vertice2.z;  // z
+
+		return destino;
+	}
+
+
+	/**
+	 * @brief	Resta 2 vectores sin crear objetos.
+	 * @param	in	vector1 1º vector a restar.
+	 * @param	in	vector2 2º vector a restar.
+	 * @param	out	destino Vértice donde se guarda el resultado (puede ser uno de los operandos).
+	 * @return	El vértice destino; null en caso de que algún parámetro sea nulo, sin cambiar el destino.
+	 * @see		restar(Vector, Vector)
+	 */
+
+	static public Vertice restar (Vector vector1, Vector vector2, Vertice destino){
+		if (vector1 == null || vector2 == null || destino == null)  // Si algún parámetro es nulo
+			return null;
+
+		destino.x = vector1.x() - vector2.x();  // x
+		destino.y = vector1.y() - vector2.y();  // y
+		destino.z = vector1.z() - vector2.z();  // z
+
+		return destino;
+	}
+
+
+	/**
+	 * @brief	Resta 1 vértice y 1 vector sin crear objetos.
+	 * @param	in	vertice Vértice a restar.
+	 * @param	in	vector Vector a restar.
+	 * @param	out	destino Vértice donde se guarda el resultado (puede ser uno de los operandos).
+	 * @return	El vértice destino; null en caso de que algún parámetro sea nulo, sin cambiar el destino.
+	 * @see		restar(Vertice, Vector)
+	 */
+
+	static public Vertice restar (Vertice vertice, Vector vector, Vertice destino){
+		if (vertice == null || vector == null || destino == null)  // Si algún parámetro es nulo
+			return null;
+
+		destino.x = vertice.x - vector.x();  // x
+		destino.y = vertice.y - vector.y();  // y
+		destino.z = vertice.z - vector.z();  // z
+
+		return destino;
+	}
+
+
+	/**
+	 * @brief	Resta 1 vector y 1 vértice sin crear objetos.
+	 * @param	in	vector Vector a restar.
+	 * @param	in	vertice Vértice a restar.
+	 * @param	out	destino Vértice donde se guarda el resultado (puede ser uno de los operandos).
+	 * @return	El vértice destino; null en caso de que algún parámetro sea nulo, sin cambiar el destino.
+	 * @see		restar(Vector, Vertice)
+	 */
+
+	static public Vertice restar (Vector vector, Vertice vertice, Vertice destino){
+		if (vector == null || vertice == null || destino == null)  // Si algún parámetro es nulo
+			return null;
+
+		destino.x = vector.x() - vertice.x;  // x
+		destino.y = vector.y() - vertice.y;  // y
+		destino.z = vector.z() - vertice.z;  // z
+
+		return destino;
+	}
+
+
 	/**
 	 * @brief	Multiplica el vértice por un número.
 	 * @param	in	numero Número por el cual multiplicar.
@@ -471,6 +632,48 @@ public final class Vertice implements Cloneable {
 	}
 
 
+	/**
+	 * @brief	Multiplica un vértice por un número sin crear objetos.
+	 * @param	in	vertice Vértice a multiplicar.
+	 * @param	in	numero Número por el cual multiplicar.
+	 * @param	out	destino Vértice donde se guarda el resultado (puede ser uno de los operandos).
+	 * @return	El vértice destino; null en caso de que algún parámetro sea nulo, sin cambiar el destino.
+	 * @see		multiplicar(Vertice, double)
+	 */
+
+	static public Vertice multiplicar (Vertice vertice, double numero, Vertice destino){
+		if (vertice == null || destino == null)  // Si algún parámetro es nulo
+			return null;
+
+		destino.x = (float) (vertice.x * numero);  // x
+		destino.y = (float) (vertice.y * numero);  // y
+		destino.z = (float) (vertice.z * numero);  // z
+
+		return destino;
+	}
+
+
+	/**
+	 * @brief	Multiplica un vector por un número sin crear objetos.
+	 * @param	in	vector Vector a multiplicar.
+	 * @param	in	numero Número por el cual multiplicar.
+	 * @param	out	destino Vértice donde se guarda el resultado (puede ser uno de los operandos).
+	 * @return	El vértice destino; null en caso de que algún parámetro sea nulo, sin cambiar el destino.
+	 * @see		multiplicar(Vector, double)
+	 */
+
+	static public Vertice multiplicar (Vector vector, double numero, Vertice destino){
+		if (vector == null || destino == null)  // Si algún parámetro es nulo
+			return null;
+
+		destino.x = (float) (vector.x() * numero);  // x
+		destino.y = (float) (vector.y() * numero);  // y
+		destino.z = (float) (vector.z() * numero);  // z
+
+		return destino;
+	}
+
+
 	/// Devuelve un String que contiene una descripción concisa y legible por humanos de este vértice.
 
 	@Override
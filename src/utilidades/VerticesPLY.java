@@ -0,0 +1,517 @@
+/**
+ * @class	anibal.ingenieroenfurecido.utilidades.VerticesPLY
+ * @brief	Buffers de los atributos de los vértices de un modelo y lugar donde se guarda cada propiedad del elemento "vertex".
+ * @author	Aníbal García García
+ * @date	17/10/2026
+ * @see		LectorPLY
+ * @see		OpcionesPLY
+ * @note	Las propiedades se buscan por su nombre, en cualquier orden: x, y y z para las coordenadas; nx, ny y nz para las normales;
+				red, green, blue y alpha para los colores; y u y v (o s y t, texture_u y texture_v...) para las coordenadas de textura.
+ * @note	Los atributos se guardan en un buffer por atributo o intercalados en un único buffer (x y z nx ny nz r g b [a] u v por vértice).
+ * @note	Los colores enteros se normalizan entre 0 y 1 (se dividen entre 255 o entre 65535).
+ * @note	Los valores se escriben con posiciones absolutas, por lo que varios hilos pueden escribir a la vez vértices distintos.
+ * @note	Copyright 2014 Aníbal García García <anibal_garcia_garcia@outlook.com>
+ * @note	This program is free software: you can redistribute it and/or modify
+			it under the terms of the GNU General Public License as published by
+			the Free Software Foundation, either version 3 of the License, or
+			(at your option) any later version.
+ * @note	This program is distributed in the hope that it will be useful,
+			but WITHOUT ANY WARRANTY; without even the implied warranty of
+			MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+			GNU General Public License for more details.
+ * @note	You should have received a copy of the GNU General Public License
+			along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package utilidades;
+
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+
+final class VerticesPLY {
+
+	/// Etiqueta con el nombre de la clase.
+	private static final String TAG = "VerticesPLY";
+
+	/// Coordenadas por vértice.
+	static final int coordenadasPorVertice = 3;  // Vértices con 3 coordenadas (x, y y z)
+
+	/// Nombres admitidos de cada componente de cada atributo.
+	private static final String[][] nombresCoordenadas = {{"x"}, {"y"}, {"z"}};
+	private static final String[][] nombresNormales = {{"nx"}, {"ny"}, {"nz"}};
+	private static final String[][] nombresColores = {{"red", "diffuse_red"}, {"green", "diffuse_green"}, {"blue", "diffuse_blue"}, {"alpha", "diffuse_alpha"}};
+	private static final String[][] nombresTexturas = {{"u", "s", "texture_u", "texture_s"}, {"v", "t", "texture_v", "texture_t"}};
+
+	/// Número de vértices.
+	private final int numVertices;
+
+	/// Coordenadas de los vértices, o todos los atributos si están intercalados.
+	private final FloatBuffer vertices;
+
+	/// Normales, colores y coordenadas de textura; null si no se leen o están intercalados.
+	private FloatBuffer normales, colores, texturas;
+
+	/// Si los atributos están intercalados en el buffer de los vértices.
+	private final boolean intercalado;
+
+	/// Floats por vértice en el buffer de los vértices.
+	private int paso;
+
+	/// Posición de cada atributo dentro de los floats de un vértice; -1 si el modelo no lo tiene.
+	private int desplazamientoNormales = -1, desplazamientoColores = -1, desplazamientoTexturas = -1;
+
+	/// Componentes de los colores (3 sin alfa y 4 con alfa); 0 si el modelo no tiene colores.
+	private int componentesColor;
+
+	/// Propiedades del elemento "vertex".
+	private final PropiedadPLY[] propiedades;
+
+	/// Buffer donde se guarda cada propiedad; null si la propiedad no se utiliza.
+	private final FloatBuffer[] destinos;
+
+	/// Floats por vértice en el buffer de cada propiedad.
+	private final int[] pasos;
+
+	/// Posición de cada propiedad dentro de los floats de un vértice.
+	private final int[] desplazamientos;
+
+	/// Factor por el que se multiplica cada propiedad (para normalizar los colores).
+	private final float[] escalas;
+
+	/// Menor valor de cada propiedad una vez escalada: 0 en los colores con signo, cuyos negativos se recortan; -infinito en el resto.
+	private final float[] minimos;
+
+	/// Última propiedad que se utiliza; en los ficheros ascii el resto de la línea se descarta sin leerla.
+	private int ultima = -1;
+
+	/// Caja que envuelve los vértices leídos (esquina mínima y esquina máxima).
+	private final float[] caja = Envolvente.cajaVacia();
+
+
+
+	/**
+	 * @brief	Constructor.
+	 * @param	in	elemento Elemento "vertex" de la cabecera.
+	 * @param	in	opciones Opciones de lectura (atributos, disposición, buffers directos y buffer de destino).
+	 */
+
+	VerticesPLY (ElementoPLY elemento, OpcionesPLY opciones){
+		int[] coordenadas, normales_vertice = null, colores_vertice = null, texturas_vertice = null;
+
+
+		numVertices = elemento.numero();
+		propiedades = elemento.propiedades().toArray(new PropiedadPLY[0]);
+		destinos = new FloatBuffer[propiedades.length];
+		pasos = new int[propiedades.length];
+		desplazamientos = new int[propiedades.length];
+		escalas = new float[propiedades.length];
+		minimos = new float[propiedades.length];
+		intercalado = opciones.intercalado();
+
+
+		// Búsqueda de las propiedades de cada atributo
+		coordenadas = buscar(nombresCoordenadas, coordenadasPorVertice);
+
+		if (coordenadas == null){  // Sin x, y y z se utilizan las 3 primeras propiedades escalares
+			coordenadas = new int[coordenadasPorVertice];
+
+			for (int j = 0, c = 0; c < coordenadasPorVertice; j++){
+				if (j == propiedades.length)
+					LectorPLY.error("El elemento 'vertex' tiene menos de " + coordenadasPorVertice + " propiedades.");  // Error
+
+				if (!propiedades[j].esLista())
+					coordenadas[c++] = j;
+			}
+
+			Logger.getLogger(TAG).log(Level.WARNING, "El elemento 'vertex' no tiene las propiedades 'x', 'y' y 'z'; se utilizan las 3 primeras.");
+		}
+
+		if ((opciones.atributos() & OpcionesPLY.ATRIBUTO_NORMALES) != 0)
+			normales_vertice = buscar(nombresNormales, 3);
+
+		if ((opciones.atributos() & OpcionesPLY.ATRIBUTO_COLORES) != 0){
+			colores_vertice = buscar(nombresColores, 4);  // Con alfa
+
+			if (colores_vertice == null)
+				colores_vertice = buscar(nombresColores, 3);  // Sin alfa
+		}
+
+		if ((opciones.atributos() & OpcionesPLY.ATRIBUTO_TEXTURAS) != 0)
+			texturas_vertice = buscar(nombresTexturas, 2);
+
+
+		// Disposición de los atributos dentro de un vértice
+		paso = coordenadasPorVertice;
+
+		if (normales_vertice != null){
+			desplazamientoNormales = paso;
+			paso += normales_vertice.length;
+		}
+
+		if (colores_vertice != null){
+			componentesColor = colores_vertice.length;
+			desplazamientoColores = paso;
+			paso += componentesColor;
+		}
+
+		if (texturas_vertice != null){
+			desplazamientoTexturas = paso;
+			paso += texturas_vertice.length;
+		}
+
+		if ((long) numVertices * paso > (opciones.directos() ? Integer.MAX_VALUE / 4 : Integer.MAX_VALUE))  // Si los atributos no caben en un buffer
+			LectorPLY.error("El modelo tiene " + numVertices + " vértices; sus atributos no caben en un buffer.");  // Error
+
+		if (!intercalado)  // Cada atributo en su buffer, desde el comienzo
+			paso = coordenadasPorVertice;
+
+
+		// Buffers de los atributos
+		vertices = reservar(numVertices * paso, opciones.directos(), opciones.destinoVertices());
+		destinar(coordenadas, vertices, 0, false);
+
+		if (normales_vertice != null)
+			normales = destinar(normales_vertice, null, desplazamientoNormales, false);
+
+		if (colores_vertice != null)
+			colores = destinar(colores_vertice, null, desplazamientoColores, true);
+
+		if (texturas_vertice != null)
+			texturas = destinar(texturas_vertice, null, desplazamientoTexturas, false);
+
+		if (!intercalado){  // Cada atributo empieza al comienzo de su buffer
+			desplazamientoNormales = (normales != null) ? 0 : -1;
+			desplazamientoColores = (colores != null) ? 0 : -1;
+			desplazamientoTexturas = (texturas != null) ? 0 : -1;
+		}
+	}
+
+
+	/**
+	 * @brief	Busca las propiedades escalares de las componentes de un atributo.
+	 * @param	in	nombres Nombres admitidos de cada componente.
+	 * @param	in	componentes Número de componentes a buscar.
+	 * @return	La posición de la propiedad de cada componente; null si falta alguna.
+	 */
+
+	private int[] buscar (String[][] nombres, int componentes){
+		int[] posiciones = new int[componentes];
+
+
+		for (int c = 0; c < componentes; c++){
+			posiciones[c] = -1;
+
+			for (int j = 0; j < propiedades.length  &&  posiciones[c] < 0; j++)
+				for (String nombre : nombres[c])
+					if (!propiedades[j].esLista()  &&  propiedades[j].nombre().equals(nombre))
+						posiciones[c] = j;
+
+			if (posiciones[c] < 0)  // Si falta alguna componente
+				return null;
+		}
+
+
+		return posiciones;
+	}
+
+
+	/**
+	 * @brief	Indica dónde se guarda cada componente de un atributo.
+	 * @param	in	componentes Posición de la propiedad de cada componente.
+	 * @param	in	buffer Buffer del atributo; null para reservar uno si los atributos no están intercalados.
+	 * @param	in	desplazamiento Posición del atributo dentro de los floats de un vértice intercalado.
+	 * @param	in	color true si el atributo es un color y hay que normalizarlo.
+	 * @return	El buffer del atributo; null si los atributos están intercalados.
+	 */
+
+	private FloatBuffer destinar (int[] componentes, FloatBuffer buffer, int desplazamiento, boolean color){
+		FloatBuffer propio = null;
+
+
+		if (buffer == null  &&  !intercalado)  // Buffer propio del atributo
+			buffer = propio = reservar(numVertices * componentes.length, vertices.isDirect(), null);
+
+		for (int c = 0; c < componentes.length; c++){
+			int j = componentes[c];
+
+			destinos[j] = intercalado ? vertices : buffer;
+			pasos[j] = intercalado ? paso : componentes.length;
+			desplazamientos[j] = intercalado ? desplazamiento + c : c;
+			escalas[j] = color ? escalaColor(propiedades[j].tipo()) : 1.0f;
+			minimos[j] = (color  &&  (propiedades[j].tipo() == PropiedadPLY.TIPO_CHAR  ||  propiedades[j].tipo() == PropiedadPLY.TIPO_SHORT)) ? 0.0f : Float.NEGATIVE_INFINITY;
+			ultima = Math.max(ultima, j);
+		}
+
+
+		return propio;
+	}
+
+
+	/**
+	 * @brief	Devuelve el factor que normaliza un color entre 0 y 1 según su tipo de dato.
+	 * @param	in	tipo Tipo de dato del color.
+	 * @return	El inverso del mayor valor del tipo (1/255 para uchar, 1/127 para char, 1/65535 para ushort y 1/32767 para short) y 1 para el resto.
+	 * @note	En los tipos con signo, los colores negativos se recortan a 0 al leerlos, de modo que todos quedan entre 0 y 1.
+	 */
+
+	private static float escalaColor (int tipo){
+		switch (tipo){
+			case PropiedadPLY.TIPO_CHAR:
+			case PropiedadPLY.TIPO_UCHAR:
+			case PropiedadPLY.TIPO_SHORT:
+			case PropiedadPLY.TIPO_USHORT:
+				return 1.0f / (float) PropiedadPLY.maximo(tipo);
+
+			default:  // Colores reales, ya normalizados
+				return 1.0f;
+		}
+	}
+
+
+	/**
+	 * @brief	Reserva un buffer de floats.
+	 * @param	in	tamano Número de floats.
+	 * @param	in	directo true para un buffer directo en el orden nativo; false para un buffer respaldado por un array.
+	 * @param	in	destino Buffer a reutilizar si tiene capacidad suficiente; puede ser null.
+	 * @return	El buffer de destino si tiene capacidad suficiente; si no, un buffer nuevo.
+	 */
+
+	static FloatBuffer reservar (int tamano, boolean directo, FloatBuffer destino){
+		FloatBuffer buffer = destino;
+
+
+		if (buffer == null  ||  buffer.capacity() < tamano){  // Si no hay buffer de destino o es pequeño
+			if (directo)
+				buffer = ByteBuffer.allocateDirect(tamano * 4).order(ByteOrder.nativeOrder()).asFloatBuffer();
+
+			else
+				buffer = FloatBuffer.wrap(new float[tamano]);
+		}
+
+		buffer.clear();  // Las escrituras absolutas no pueden pasar del límite
+
+
+		return buffer;
+	}
+
+
+	/**
+	 * @brief	Recorta el valor escalado de una propiedad a su mínimo.
+	 * @param	in	valor Valor ya escalado.
+	 * @param	in	propiedad Posición de la propiedad.
+	 * @return	El valor, o 0 si es un color negativo de un tipo con signo.
+	 */
+
+	private float recortar (float valor, int propiedad){
+		return (valor < minimos[propiedad]) ? minimos[propiedad] : valor;
+	}
+
+
+	/**
+	 * @brief	Lee un vértice de un fichero ply ascii.
+	 * @param	in,out	entrada Entrada de la que se lee el fichero.
+	 * @param	in	vertice Posición del vértice.
+	 * @note	Deja la entrada detrás de la última propiedad que se utiliza; el resto de la línea lo descarta quien llama.
+	 */
+
+	void leerAscii (EntradaPLY entrada, int vertice){
+		for (int j = 0; j <= ultima; j++){  // Para cada propiedad hasta la última que se utiliza
+			FloatBuffer destino = destinos[j];
+
+			if (destino != null)
+				destino.put(vertice * pasos[j] + desplazamientos[j], recortar(entrada.leerFloat() * escalas[j], j));
+
+			else if (propiedades[j].esLista())  // Lista que no se utiliza
+				for (long k = entrada.leerEntero(); k > 0; k--)
+					entrada.saltarToken();
+
+			else  // Propiedad que no se utiliza
+				entrada.saltarToken();
+		}
+	}
+
+
+	/**
+	 * @brief	Lee un vértice de un fichero ply binario.
+	 * @param	in,out	entrada Entrada de la que se lee el fichero.
+	 * @param	in	vertice Posición del vértice.
+	 * @note	Lee todas las propiedades del vértice, de modo que la entrada queda al comienzo del siguiente.
+	 */
+
+	void leerBinario (EntradaPLY entrada, int vertice){
+		for (int j = 0; j < propiedades.length; j++){  // Para cada propiedad del vértice
+			FloatBuffer destino = destinos[j];
+
+			if (destino != null)
+				destino.put(vertice * pasos[j] + desplazamientos[j], recortar((float) entrada.leerValor(propiedades[j].tipo()) * escalas[j], j));
+
+			else
+				LectorPLY.saltarPropiedadBinaria(entrada, propiedades[j]);
+		}
+	}
+
+
+	/**
+	 * @brief	Devuelve una coordenada de un vértice ya leído.
+	 * @param	in	vertice Posición del vértice.
+	 * @param	in	componente Coordenada (0 para x, 1 para y y 2 para z).
+	 * @return	El valor de la coordenada.
+	 */
+
+	float coordenada (int vertice, int componente){
+		return vertices.get(vertice * paso + componente);
+	}
+
+
+	/**
+	 * @brief	Amplía una caja con las coordenadas de un vértice ya leído.
+	 * @param	in	vertice Posición del vértice.
+	 * @param	in,out	caja Caja a ampliar (la de los vértices, o la de un trozo con la lectura en paralelo).
+	 * @note	Se llama justo después de leer el vértice, con sus coordenadas aún en la caché del procesador.
+	 */
+
+	void ampliarCaja (int vertice, float[] caja){
+		int posicion = vertice * paso;
+
+
+		Envolvente.ampliar(caja, vertices.get(posicion), vertices.get(posicion + 1), vertices.get(posicion + 2));
+	}
+
+
+	/**
+	 * @brief	Prepara los buffers para leerlos una vez leídos todos los vértices.
+	 * @return	Los propios vértices.
+	 */
+
+	VerticesPLY terminar(){
+		vertices.position(0).limit(numVertices * paso);
+
+		if (normales != null)
+			normales.position(0).limit(numVertices * 3);
+
+		if (colores != null)
+			colores.position(0).limit(numVertices * componentesColor);
+
+		if (texturas != null)
+			texturas.position(0).limit(numVertices * 2);
+
+
+		return this;
+	}
+
+
+	/**
+	 * @brief	Devuelve el buffer de los vértices (coordenadas o todos los atributos intercalados).
+	 * @return	El buffer de los vértices (coordenadas o todos los atributos intercalados).
+	 */
+
+	FloatBuffer vertices(){
+		return vertices;
+	}
+
+
+	/**
+	 * @brief	Devuelve el buffer de las normales.
+	 * @return	El buffer de las normales; null si no hay o están intercaladas.
+	 */
+
+	FloatBuffer normales(){
+		return normales;
+	}
+
+
+	/**
+	 * @brief	Devuelve el buffer de los colores.
+	 * @return	El buffer de los colores; null si no hay o están intercalados.
+	 */
+
+	FloatBuffer colores(){
+		return colores;
+	}
+
+
+	/**
+	 * @brief	Devuelve el buffer de las coordenadas de textura.
+	 * @return	El buffer de las coordenadas de textura; null si no hay o están intercaladas.
+	 */
+
+	FloatBuffer texturas(){
+		return texturas;
+	}
+
+
+	/**
+	 * @brief	Devuelve si los atributos están intercalados.
+	 * @return	true si están intercalados; false si cada atributo tiene su buffer.
+	 */
+
+	boolean intercalado(){
+		return intercalado;
+	}
+
+
+	/**
+	 * @brief	Devuelve los floats por vértice del buffer de los vértices.
+	 * @return	Los floats por vértice del buffer de los vértices.
+	 */
+
+	int paso(){
+		return paso;
+	}
+
+
+	/**
+	 * @brief	Devuelve la posición de las normales dentro de un vértice.
+	 * @return	La posición de las normales dentro de un vértice; -1 si no hay.
+	 */
+
+	int desplazamientoNormales(){
+		return desplazamientoNormales;
+	}
+
+
+	/**
+	 * @brief	Devuelve la posición de los colores dentro de un vértice.
+	 * @return	La posición de los colores dentro de un vértice; -1 si no hay.
+	 */
+
+	int desplazamientoColores(){
+		return desplazamientoColores;
+	}
+
+
+	/**
+	 * @brief	Devuelve la posición de las coordenadas de textura dentro de un vértice.
+	 * @return	La posición de las coordenadas de textura dentro de un vértice; -1 si no hay.
+	 */
+
+	int desplazamientoTexturas(){
+		return desplazamientoTexturas;
+	}
+
+
+	/**
+	 * @brief	Devuelve el número de componentes de los colores.
+	 * @return	3 sin alfa, 4 con alfa y 0 si no hay colores.
+	 */
+
+	int componentesColor(){
+		return componentesColor;
+	}
+
+
+	/**
+	 * @brief	Devuelve la caja de los vértices leídos.
+	 * @return	La caja de los vértices leídos (esquina mínima y esquina máxima).
+	 */
+
+	float[] caja(){
+		return caja;
+	}
+
+}